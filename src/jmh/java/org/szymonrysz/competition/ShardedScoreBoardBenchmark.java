@@ -0,0 +1,81 @@
+package org.szymonrysz.competition;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Score updates with every thread working on its own competition, and reads of the merged global summary.
+ * Compare the update throughput across thread counts, e.g. {@code -t 1} against {@code -t 4}: with
+ * {@code competitions} at least the thread count, threads share no locks and throughput should grow with them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardedScoreBoardBenchmark {
+
+    private static final int GAMES_PER_COMPETITION = 1_000;
+
+    @Param({"16"})
+    private int competitions;
+
+    private ShardedScoreBoard board;
+    private UUID[][] gameIds;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new ShardedScoreBoard(Clock.systemUTC());
+        gameIds = new UUID[competitions][GAMES_PER_COMPETITION];
+        for (int competition = 0; competition < competitions; competition++) {
+            for (int i = 0; i < GAMES_PER_COMPETITION; i++) {
+                gameIds[competition][i] = board.startGame("Competition " + competition,
+                        new Team("Home " + i), new Team("Away " + i)).id();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCompetition {
+        private UUID[] gameIds;
+
+        @Setup(Level.Trial)
+        public void setUp(ShardedScoreBoardBenchmark benchmark) {
+            gameIds = benchmark.gameIds[benchmark.threadIds.getAndIncrement() % benchmark.competitions];
+        }
+    }
+
+    @Benchmark
+    public GameDto updateScoreInOwnCompetition(ThreadCompetition competition) {
+        var random = ThreadLocalRandom.current();
+        return board.updateScore(competition.gameIds[random.nextInt(competition.gameIds.length)],
+                new Score(random.nextInt(10), random.nextInt(10)));
+    }
+
+    @Benchmark
+    public List<GameDto> globalSummaryTop10() {
+        return board.getSummary(10);
+    }
+}
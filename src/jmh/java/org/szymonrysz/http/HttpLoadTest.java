@@ -0,0 +1,180 @@
+package org.szymonrysz.http;
+
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.metrics.LatencyHistogram;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardService;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link ScoreBoardHttpServer} over loopback with closed-loop clients while scores change in the
+ * background, and reports the requests per second and the latency percentiles seen by the clients.
+ * <p>
+ * Every client mixes summary, top-10 and per-team requests and revalidates with the last ETag it got, so
+ * the result covers both fresh bodies and {@code 304}s. Not a JMH benchmark, as the figures are end-to-end
+ * over sockets. Run from the benchmarks jar:
+ * {@code java -Dsun.net.httpserver.nodelay=true -cp target/benchmarks.jar org.szymonrysz.http.HttpLoadTest
+ * [clients] [seconds] [boardSize] [updatesPerSecond]}
+ */
+public final class HttpLoadTest {
+
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final int VIEWS = 3;
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        var seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        var boardSize = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        var updatesPerSecond = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        var service = new ScoreBoardServiceImpl(new ConcurrentGameRepository(), Clock.systemUTC(),
+                new GameConverter());
+        var gameIds = populate(service, boardSize);
+        try (var server = new ScoreBoardHttpServer(service,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            var baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+            var load = new Load(baseUri, boardSize);
+
+            var updater = new Thread(() -> updateScores(service, gameIds, updatesPerSecond), "score-updater");
+            updater.setDaemon(true);
+            updater.start();
+
+            var threads = new ArrayList<Thread>();
+            for (int i = 0; i < clients; i++) {
+                var seed = i;
+                var thread = new Thread(() -> load.run(seed), "http-client-" + i);
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+
+            LockSupport.parkNanos(WARMUP_NANOS);
+            var serialisationsBefore = server.getSerialisationCount();
+            load.startMeasuring();
+            var start = System.nanoTime();
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(seconds));
+            load.stop();
+            var elapsedNanos = System.nanoTime() - start;
+            for (var thread : threads) {
+                thread.join();
+            }
+
+            var latency = load.latency.snapshot();
+            System.out.printf("clients %d, board %d games, %d updates/s, %d s%n",
+                    clients, boardSize, updatesPerSecond, seconds);
+            System.out.printf("requests %d, %.0f req/s, 200: %d, 304: %d, other: %d, serialisations: %d%n",
+                    latency.count(), latency.count() * 1e9 / elapsedNanos, load.ok.sum(), load.notModified.sum(),
+                    load.other.sum(), server.getSerialisationCount() - serialisationsBefore);
+            System.out.printf("latency us: mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                    latency.mean() / 1e3, latency.p50() / 1e3, latency.p90() / 1e3, latency.p99() / 1e3,
+                    latency.p999() / 1e3, latency.max() / 1e3);
+        }
+    }
+
+    private static UUID[] populate(ScoreBoardService service, int boardSize) {
+        var gameIds = new UUID[boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            gameIds[i] = service.startGame(new Team("Home " + i), new Team("Away " + i)).id();
+        }
+        return gameIds;
+    }
+
+    private static void updateScores(ScoreBoardService service, UUID[] gameIds, int updatesPerSecond) {
+        if (updatesPerSecond <= 0) {
+            return;
+        }
+        var random = new SplittableRandom(42);
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / updatesPerSecond;
+        var scores = new int[gameIds.length];
+        while (true) {
+            var game = random.nextInt(gameIds.length);
+            service.updateScore(gameIds[game], new Score(++scores[game], 0));
+            LockSupport.parkNanos(intervalNanos);
+        }
+    }
+
+    private static final class Load {
+
+        private final HttpClient client = HttpClient.newHttpClient();
+        private final String baseUri;
+        private final int boardSize;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder other = new LongAdder();
+        private volatile boolean measuring;
+        private volatile boolean stopped;
+
+        private Load(String baseUri, int boardSize) {
+            this.baseUri = baseUri;
+            this.boardSize = boardSize;
+        }
+
+        void startMeasuring() {
+            measuring = true;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        // The ETag is the board version, so one per view is enough to revalidate any team's game.
+        void run(int seed) {
+            var random = new SplittableRandom(seed);
+            var etags = new String[VIEWS];
+            while (!stopped) {
+                var view = random.nextInt(VIEWS);
+                var path = switch (view) {
+                    case 0 -> ScoreBoardHttpServer.SUMMARY_PATH;
+                    case 1 -> ScoreBoardHttpServer.SUMMARY_PATH + "?limit=10";
+                    default -> ScoreBoardHttpServer.TEAMS_PATH + "Home%20" + random.nextInt(boardSize);
+                };
+                var request = HttpRequest.newBuilder(URI.create(baseUri + path));
+                if (etags[view] != null) {
+                    request.header("If-None-Match", etags[view]);
+                }
+
+                var start = System.nanoTime();
+                HttpResponse<byte[]> response;
+                try {
+                    response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                } catch (Exception e) {
+                    if (measuring) {
+                        other.increment();
+                    }
+                    continue;
+                }
+                var elapsedNanos = System.nanoTime() - start;
+                etags[view] = response.headers().firstValue("ETag").orElse(etags[view]);
+
+                if (measuring) {
+                    latency.record(elapsedNanos);
+                    switch (response.statusCode()) {
+                        case 200 -> ok.increment();
+                        case 304 -> notModified.increment();
+                        default -> other.increment();
+                    }
+                }
+            }
+        }
+    }
+}
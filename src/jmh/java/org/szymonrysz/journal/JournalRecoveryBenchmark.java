@@ -0,0 +1,104 @@
+package org.szymonrysz.journal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.InMemoryGameRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to rebuild the board from a journal of 1M records: 1k games started, updated many times
+ * and finished in rounds, the way a long-running process would have written it. With snapshots on,
+ * the history is compacted into a snapshot of the last round's live games plus a short tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalRecoveryBenchmark {
+
+    private static final int RECORDS = 1_000_000;
+    private static final int GAMES_PER_ROUND = 1_000;
+    private static final int UPDATES_PER_GAME = 48;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private Path directory;
+    private Path journalDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-recovery-benchmark");
+        journalDirectory = directory.resolve("journal");
+        try (var repository = JournalingGameRepository.open(journalDirectory, new InMemoryGameRepository(new HashMap<>()),
+                FsyncPolicy.NEVER)) {
+            var records = 0;
+            for (int round = 0; records < RECORDS; round++) {
+                var games = new Game[GAMES_PER_ROUND];
+                for (int i = 0; i < GAMES_PER_ROUND && records < RECORDS; i++, records++) {
+                    games[i] = repository.saveIfTeamsAvailable(Game.builder()
+                            .homeTeam(new Team("Home " + round + "-" + i))
+                            .awayTeam(new Team("Away " + round + "-" + i))
+                            .score(new Score(0, 0))
+                            .createdAt(Instant.now())
+                            .build()).orElseThrow();
+                }
+                for (int update = 1; update <= UPDATES_PER_GAME; update++) {
+                    for (int i = 0; i < GAMES_PER_ROUND && records < RECORDS; i++, records++) {
+                        games[i].setScore(new Score(update / 2, update - update / 2));
+                        repository.save(games[i]);
+                    }
+                }
+                if (records >= RECORDS) {
+                    break;
+                }
+                for (int i = 0; i < GAMES_PER_ROUND && records < RECORDS; i++, records++) {
+                    repository.deleteById(games[i].getId());
+                }
+            }
+            if (snapshot) {
+                repository.takeSnapshot();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(journalDirectory)) {
+            for (var file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(journalDirectory);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public InMemoryGameRepository recover() throws IOException {
+        var repository = new InMemoryGameRepository(new HashMap<>());
+        JournalingGameRepository.open(journalDirectory, repository, FsyncPolicy.NEVER).close();
+        return repository;
+    }
+}
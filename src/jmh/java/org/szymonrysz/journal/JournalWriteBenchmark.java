@@ -0,0 +1,97 @@
+package org.szymonrysz.journal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of journaled score updates per fsync policy, with one and with several writers
+ * (concurrent writers share fsyncs under {@link FsyncPolicy#ALWAYS}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class JournalWriteBenchmark {
+
+    private static final int GAMES = 1_000;
+
+    @Param({"ALWAYS", "PERIODIC", "NEVER"})
+    private FsyncPolicy fsyncPolicy;
+
+    private Path directory;
+    private JournalingGameRepository repository;
+    private Game[] games;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        repository = JournalingGameRepository.open(directory.resolve("journal"), new ConcurrentGameRepository(),
+                fsyncPolicy);
+        games = new Game[GAMES];
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = repository.saveIfTeamsAvailable(Game.builder()
+                    .homeTeam(new Team("Home " + i))
+                    .awayTeam(new Team("Away " + i))
+                    .score(new Score(0, 0))
+                    .createdAt(Instant.now())
+                    .build()).orElseThrow();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        var journalDirectory = directory.resolve("journal");
+        try (var files = Files.list(journalDirectory)) {
+            for (var file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(journalDirectory);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Game saveSingleWriter() {
+        return updateRandomGame();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Game saveEightWriters() {
+        return updateRandomGame();
+    }
+
+    private Game updateRandomGame() {
+        var random = ThreadLocalRandom.current();
+        var game = games[random.nextInt(GAMES)];
+        game.setScore(new Score(random.nextInt(10), random.nextInt(10)));
+        return repository.save(game);
+    }
+}
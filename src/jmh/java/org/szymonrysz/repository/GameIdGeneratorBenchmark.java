@@ -0,0 +1,55 @@
+package org.szymonrysz.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating a game id, alone and with eight threads generating at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameIdGeneratorBenchmark {
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    private GameIdGenerator gameIdGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameIdGenerator = switch (generator) {
+            case "random" -> new RandomGameIdGenerator();
+            case "time-ordered" -> new TimeOrderedGameIdGenerator();
+            default -> throw new IllegalArgumentException("Unknown generator " + generator + ".");
+        };
+    }
+
+    @Benchmark
+    public UUID nextId() {
+        return gameIdGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID nextIdContended() {
+        return gameIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,75 @@
+package org.szymonrysz.repository;
+
+import org.szymonrysz.model.Team;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Heap kept live by the teams of many games, before and after team names were interned: {@code names} keeps
+ * the team every request came with and indexes live games by name; {@code registry} keeps the canonical team
+ * from {@link TeamRegistry} and indexes live games by team id in {@link TeamOccupancy}.
+ * <p>
+ * Not a JMH benchmark, as heap occupancy is not a per-operation figure. {@link TeamLookupBenchmark} measures
+ * the lookup side. Run from the benchmarks jar, on the parallel collector, which reports heap usage after a full
+ * collection exactly even for the large arrays kept here:
+ * {@code java -Xmx2g -XX:+UseParallelGC -cp target/benchmarks.jar org.szymonrysz.repository.TeamIndexFootprint [games] [teams]}
+ */
+public final class TeamIndexFootprint {
+
+    private TeamIndexFootprint() {
+    }
+
+    public static void main(String[] args) {
+        var games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var teams = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        System.out.printf("%-10s %14s%n", "index", "heap used MB");
+        System.out.printf("%-10s %14.1f%n", "names", measureNames(games, teams) / 1024.0 / 1024.0);
+        System.out.printf("%-10s %14.1f%n", "registry", measureRegistry(games, teams) / 1024.0 / 1024.0);
+    }
+
+    private static long measureNames(int games, int teams) {
+        var baseline = usedHeapAfterGc();
+        var gameTeams = new Team[games * 2];
+        var gamesByTeamName = new HashMap<String, UUID>();
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < gameTeams.length; i++) {
+            gameTeams[i] = new Team(new String("Team " + random.nextInt(teams)));
+            gamesByTeamName.put(gameTeams[i].name(), UUID.randomUUID());
+        }
+        var usedHeap = usedHeapAfterGc() - baseline;
+        Reference.reachabilityFence(gameTeams);
+        Reference.reachabilityFence(gamesByTeamName);
+        return usedHeap;
+    }
+
+    private static long measureRegistry(int games, int teams) {
+        var baseline = usedHeapAfterGc();
+        var gameTeams = new Team[games * 2];
+        var teamRegistry = new TeamRegistry();
+        var teamOccupancy = new TeamOccupancy();
+        var random = new SplittableRandom(42);
+        for (int i = 0; i < gameTeams.length; i++) {
+            var teamId = teamRegistry.register(new String("Team " + random.nextInt(teams)));
+            gameTeams[i] = teamRegistry.teamOf(teamId);
+            teamOccupancy.occupy(teamId, UUID.randomUUID());
+        }
+        var usedHeap = usedHeapAfterGc() - baseline;
+        Reference.reachabilityFence(gameTeams);
+        Reference.reachabilityFence(teamRegistry);
+        Reference.reachabilityFence(teamOccupancy);
+        return usedHeap;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,80 @@
+package org.szymonrysz.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of asking whether a team is playing, before and after team names were interned: {@code names} keys
+ * the live game of every team by its name, as the repositories did before {@link TeamRegistry};
+ * {@code registry} looks the name up in the registry and the id up in {@link TeamOccupancy}. Half of the
+ * teams are playing, and every lookup uses its own copy of the name, as one parsed from a request would be.
+ * <p>
+ * {@link TeamIndexFootprint} measures the heap side of the same change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamLookupBenchmark {
+
+    private static final int LOOKUP_NAMES = 1 << 16;
+
+    @Param({"names", "registry"})
+    private String index;
+
+    @Param({"1000", "100000"})
+    private int teams;
+
+    private final ConcurrentHashMap<String, UUID> gamesByTeamName = new ConcurrentHashMap<>();
+    private final TeamRegistry teamRegistry = new TeamRegistry();
+    private final TeamOccupancy teamOccupancy = new TeamOccupancy();
+    private String[] lookupNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < teams; i += 2) {
+            var gameId = UUID.randomUUID();
+            if (index.equals("names")) {
+                gamesByTeamName.put("Team " + i, gameId);
+                gamesByTeamName.put("Team " + (i + 1), gameId);
+            } else {
+                teamOccupancy.occupy(teamRegistry.register("Team " + i), gameId);
+                teamRegistry.register("Team " + (i + 1));
+            }
+        }
+        var random = new SplittableRandom(42);
+        lookupNames = new String[LOOKUP_NAMES];
+        for (int i = 0; i < LOOKUP_NAMES; i++) {
+            lookupNames[i] = new String("Team " + random.nextInt(teams));
+        }
+    }
+
+    @Benchmark
+    public boolean isPlaying() {
+        var teamName = lookupNames[next++ & (LOOKUP_NAMES - 1)];
+        if (index.equals("names")) {
+            return gamesByTeamName.containsKey(teamName);
+        }
+        var teamId = teamRegistry.findId(teamName);
+        return teamId != TeamRegistry.NOT_REGISTERED && teamOccupancy.isOccupied(teamId);
+    }
+}
@@ -0,0 +1,57 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.repository.InMemoryGameRepository;
+import org.szymonrysz.repository.OffHeapGameRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.UUID;
+
+final class BenchmarkBoards {
+
+    static final String IN_MEMORY = "in-memory";
+    static final String CONCURRENT = "concurrent";
+    static final String OFF_HEAP = "off-heap";
+
+    private BenchmarkBoards() {
+    }
+
+    static GameRepository newRepository(String repository) {
+        return switch (repository) {
+            case IN_MEMORY -> new InMemoryGameRepository(new HashMap<>());
+            case CONCURRENT -> new ConcurrentGameRepository();
+            case OFF_HEAP -> new OffHeapGameRepository();
+            default -> throw new IllegalArgumentException("Unknown repository " + repository + ".");
+        };
+    }
+
+    static ScoreBoardServiceImpl newService(GameRepository repository) {
+        return new ScoreBoardServiceImpl(repository, Clock.systemUTC(), new GameConverter());
+    }
+
+    /**
+     * Fills the repository with the given number of games between distinct teams and returns their ids.
+     * Games go straight to the repository, so setting up a large board does not publish a summary per game.
+     */
+    static UUID[] populate(GameRepository repository, int boardSize) {
+        var gameIds = new UUID[boardSize];
+        var createdAt = Instant.now();
+        for (int i = 0; i < boardSize; i++) {
+            var game = Game.builder()
+                    .homeTeam(new Team("Home " + i))
+                    .awayTeam(new Team("Away " + i))
+                    .score(new Score(0, 0))
+                    .createdAt(createdAt.plusNanos(i))
+                    .build();
+            gameIds[i] = repository.saveIfTeamsAvailable(game).orElseThrow().getId();
+        }
+        return gameIds;
+    }
+}
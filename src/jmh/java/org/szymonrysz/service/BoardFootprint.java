@@ -0,0 +1,86 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.model.Score;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Measures what a large board costs the collector: the heap still in use after populating each repository
+ * and reading the summary once, and the collections and their total time while scores of random games are
+ * updated and the summary is read every {@value #UPDATES_PER_SUMMARY_READ} updates. Everything goes through
+ * {@link ScoreBoardServiceImpl}, so the figures include the snapshot the service keeps of the summary.
+ * <p>
+ * Not a JMH benchmark, as heap occupancy is not a per-operation figure. Run from the benchmarks jar:
+ * {@code java -Xmx4g -cp target/benchmarks.jar org.szymonrysz.service.BoardFootprint [boardSize] [updates] [repository]}
+ */
+public final class BoardFootprint {
+
+    private static final int UPDATES_PER_SUMMARY_READ = 1_000;
+
+    private BoardFootprint() {
+    }
+
+    public static void main(String[] args) {
+        var boardSize = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        var updates = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        var repositories = args.length > 2
+                ? List.of(args[2])
+                : List.of(BenchmarkBoards.IN_MEMORY, BenchmarkBoards.CONCURRENT, BenchmarkBoards.OFF_HEAP);
+
+        System.out.printf("%-12s %14s %10s %12s%n", "repository", "heap used MB", "gc count", "gc time ms");
+        for (var repository : repositories) {
+            measure(repository, boardSize, updates);
+        }
+    }
+
+    private static void measure(String repository, int boardSize, int updates) {
+        var baseline = usedHeapAfterGc();
+        var gameRepository = BenchmarkBoards.newRepository(repository);
+        var gameIds = BenchmarkBoards.populate(gameRepository, boardSize);
+        var service = BenchmarkBoards.newService(gameRepository);
+        service.getSummary();
+        var usedHeap = usedHeapAfterGc() - baseline;
+
+        var gcCountBefore = gcCount();
+        var gcTimeBefore = gcTimeMillis();
+        updateScores(service, gameIds, updates);
+        System.out.printf("%-12s %14.1f %10d %12d%n", repository, usedHeap / 1024.0 / 1024.0,
+                gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+    }
+
+    private static void updateScores(ScoreBoardService service, UUID[] gameIds, int updates) {
+        var random = new SplittableRandom(42);
+        var homeTeamScores = new int[gameIds.length];
+        for (int i = 0; i < updates; i++) {
+            var game = random.nextInt(gameIds.length);
+            service.updateScore(gameIds[game], new Score(++homeTeamScores[game], 0));
+            if (i % UPDATES_PER_SUMMARY_READ == 0) {
+                service.getSummary();
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long gcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
@@ -0,0 +1,112 @@
+package org.szymonrysz.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded throughput of {@link ScoreBoardServiceImpl} over the thread-safe repository:
+ * all threads writing, and read-heavy and write-heavy mixes of summary readers and score writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContendedScoreBoardServiceBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int boardSize;
+
+    private ScoreBoardService service;
+    private UUID[] gameIds;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var gameRepository = BenchmarkBoards.newRepository(BenchmarkBoards.CONCURRENT);
+        gameIds = BenchmarkBoards.populate(gameRepository, boardSize);
+        service = BenchmarkBoards.newService(gameRepository);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadTeams {
+        private Team homeTeam;
+        private Team awayTeam;
+
+        @Setup(Level.Trial)
+        public void setUp(ContendedScoreBoardServiceBenchmark benchmark) {
+            var threadId = benchmark.threadIds.incrementAndGet();
+            homeTeam = new Team("Benchmark home " + threadId);
+            awayTeam = new Team("Benchmark away " + threadId);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public GameDto updateScoreContended() {
+        return updateRandomGame();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void startAndFinishGameContended(ThreadTeams teams) {
+        var game = service.startGame(teams.homeTeam, teams.awayTeam);
+        service.finishGame(game.id());
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public List<GameDto> readHeavySummary() {
+        return service.getSummary();
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public GameDto readHeavyUpdate() {
+        return updateRandomGame();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public List<GameDto> writeHeavySummary() {
+        return service.getSummary();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public GameDto writeHeavyUpdate() {
+        return updateRandomGame();
+    }
+
+    private GameDto updateRandomGame() {
+        var random = ThreadLocalRandom.current();
+        return service.updateScore(gameIds[random.nextInt(boardSize)], new Score(random.nextInt(10), random.nextInt(10)));
+    }
+}
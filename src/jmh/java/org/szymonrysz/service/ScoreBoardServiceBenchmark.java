@@ -0,0 +1,87 @@
+package org.szymonrysz.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of every {@link ScoreBoardService} operation against boards of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreBoardServiceBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int boardSize;
+
+    @Param({BenchmarkBoards.IN_MEMORY, BenchmarkBoards.CONCURRENT})
+    private String repository;
+
+    private ScoreBoardService service;
+    private UUID[] gameIds;
+    private Team homeTeam;
+    private Team awayTeam;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var gameRepository = BenchmarkBoards.newRepository(repository);
+        gameIds = BenchmarkBoards.populate(gameRepository, boardSize);
+        service = BenchmarkBoards.newService(gameRepository);
+        homeTeam = new Team("Benchmark home");
+        awayTeam = new Team("Benchmark away");
+    }
+
+    /**
+     * Starting a game is measured together with finishing it, so the board keeps its size.
+     */
+    @Benchmark
+    public void startAndFinishGame() {
+        var game = service.startGame(homeTeam, awayTeam);
+        service.finishGame(game.id());
+    }
+
+    @Benchmark
+    public GameDto updateScore() {
+        var random = ThreadLocalRandom.current();
+        return service.updateScore(gameIds[random.nextInt(boardSize)], new Score(random.nextInt(10), random.nextInt(10)));
+    }
+
+    @Benchmark
+    public List<GameDto> getSummary() {
+        return service.getSummary();
+    }
+
+    @Benchmark
+    public List<GameDto> getSummaryTop10() {
+        return service.getSummary(10);
+    }
+
+    @Benchmark
+    public void iterateSummary(Blackhole blackhole) {
+        for (var game : service.getSummary()) {
+            blackhole.consume(game);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.szymonrysz.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the summary read paths. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of the visitor
+ * and buffer reads should stay at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryReadBenchmark {
+
+    @Param({"10", "1000"})
+    private int boardSize;
+
+    private ScoreBoardService service;
+    private SummaryBuffer buffer;
+    private Blackhole blackhole;
+    private SummaryVisitor visitor;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        var gameRepository = BenchmarkBoards.newRepository(BenchmarkBoards.IN_MEMORY);
+        BenchmarkBoards.populate(gameRepository, boardSize);
+        service = BenchmarkBoards.newService(gameRepository);
+        buffer = new SummaryBuffer(boardSize);
+        this.blackhole = blackhole;
+        visitor = (rank, game) -> this.blackhole.consume(game.score().homeTeamScore());
+    }
+
+    @Benchmark
+    public void iterateSummaryList(Blackhole blackhole) {
+        for (var game : service.getSummary()) {
+            blackhole.consume(game.score().homeTeamScore());
+        }
+    }
+
+    @Benchmark
+    public void forEachInRankOrder() {
+        service.forEachInRankOrder(visitor);
+    }
+
+    @Benchmark
+    public int readSummaryIntoBuffer() {
+        service.readSummary(buffer);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,126 @@
+package org.szymonrysz.archive;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} decorator that moves deleted, i.e. finished, games into a {@link GameArchive}.
+ * <p>
+ * Changes go through one lock, so the game read for archiving is the final state the delete removes: no score
+ * update lands in between, and a game finished by two callers at once is archived only once. The game is
+ * archived before it is deleted, so an archive that fails leaves it on the board and the finish can be retried.
+ */
+public class ArchivingGameRepository implements GameRepository {
+
+    private final GameRepository delegate;
+    private final GameArchive archive;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ArchivingGameRepository(GameRepository delegate, GameArchive archive) {
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+
+    public GameArchive getArchive() {
+        return archive;
+    }
+
+    @Override
+    public Game save(Game game) {
+        writeLock.lock();
+        try {
+            return delegate.save(game);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        writeLock.lock();
+        try {
+            return delegate.saveIfTeamsAvailable(game);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        writeLock.lock();
+        try {
+            return delegate.saveAllIfTeamsAvailable(games);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        writeLock.lock();
+        try {
+            return delegate.saveAllIfLive(games);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        writeLock.lock();
+        try {
+            var game = delegate.findById(id);
+            game.ifPresent(archive::archive);
+            delegate.deleteById(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int rankOf(UUID id) {
+        return delegate.rankOf(id);
+    }
+
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        return delegate.findAllInRankOrder();
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        return delegate.existsByTeamName(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        return delegate.findByTeamName(teamName);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return delegate.getTeamRegistry();
+    }
+}
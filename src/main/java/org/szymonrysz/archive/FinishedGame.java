@@ -0,0 +1,16 @@
+package org.szymonrysz.archive;
+
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record FinishedGame(
+        UUID id,
+        Team homeTeam,
+        Team awayTeam,
+        Score score,
+        Instant createdAt,
+        Instant finishedAt) {
+}
@@ -0,0 +1,390 @@
+package org.szymonrysz.archive;
+
+import org.szymonrysz.journal.GameMutationCodec;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Store of finished games with indexes by team, by pair of teams and by the time the game finished.
+ * <p>
+ * Every game is appended to a spill file as it is archived; only the most recent ones are also kept on
+ * the heap, in a ring of fixed capacity. Older games are decoded from the file, which is memory-mapped in
+ * fixed-size regions. The indexes live in the file as well: each record points back to the previous game of
+ * its home team, of its away team and of its pair of teams, so the heap only holds the newest record of every
+ * team and pair. Records are appended in the order games finish, so a time range is found by a binary search
+ * over the first record of every region and a scan of record headers from there.
+ * <p>
+ * Teams are told apart by {@link TeamRegistry#keyOf(String)}, pass the board's registry so names the board
+ * treats as one team share one chain. Opening an existing file re-indexes the records in it, with the same
+ * region size and team name normalizer they were written with; a torn record at the end, left by a crash in
+ * the middle of a write, is cut off.
+ */
+public class GameArchive implements AutoCloseable {
+
+    static final int DEFAULT_REGION_SIZE = 1 << 24;
+
+    // [int payload length][int CRC32C of payload][payload]
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    // [long finished at, epoch nanos][long previous of home team][long previous of away team][long previous of pair]
+    private static final int LINKS_SIZE = Long.BYTES * 4;
+    private static final int MAX_RECORD_SIZE = HEADER_SIZE + LINKS_SIZE + GameMutationCodec.MAX_RECORD_SIZE;
+    private static final long NO_RECORD = -1;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final Clock clock;
+    private final TeamRegistry teamRegistry;
+    private final FinishedGame[] hotGames;
+    private final long[] hotOffsets;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final Map<String, Long> lastByTeam = new HashMap<>();
+    private final Map<String, Long> lastByPair = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private long writeOffset;
+    private long lastFinishedAtNanos = Long.MIN_VALUE;
+
+    public GameArchive(Path file, int hotCapacity, Clock clock) throws IOException {
+        this(file, hotCapacity, clock, new TeamRegistry());
+    }
+
+    public GameArchive(Path file, int hotCapacity, Clock clock, TeamRegistry teamRegistry) throws IOException {
+        this(file, hotCapacity, clock, teamRegistry, DEFAULT_REGION_SIZE);
+    }
+
+    GameArchive(Path file, int hotCapacity, Clock clock, int regionSize) throws IOException {
+        this(file, hotCapacity, clock, new TeamRegistry(), regionSize);
+    }
+
+    GameArchive(Path file, int hotCapacity, Clock clock, TeamRegistry teamRegistry, int regionSize)
+            throws IOException {
+        if (hotCapacity <= 0) {
+            throw new IllegalArgumentException("Hot capacity must be positive.");
+        }
+        if (regionSize < MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Region size must fit the largest record.");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.regionSize = regionSize;
+        this.clock = clock;
+        this.teamRegistry = teamRegistry;
+        this.hotGames = new FinishedGame[hotCapacity];
+        this.hotOffsets = new long[hotCapacity];
+        try {
+            reindex();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Archives the game as finished now. Finish times never go backwards, even if the clock does,
+     * so the records stay sorted by time.
+     */
+    public FinishedGame archive(Game game) {
+        lock.writeLock().lock();
+        try {
+            var finishedAtNanos = Math.max(toNanos(Instant.now(clock)), lastFinishedAtNanos);
+            var finishedGame = new FinishedGame(game.getId(), game.getHomeTeam(), game.getAwayTeam(),
+                    game.getScore(), game.getCreatedAt(), fromNanos(finishedAtNanos));
+
+            var homeTeamKey = teamRegistry.keyOf(game.getHomeTeam().name());
+            var awayTeamKey = teamRegistry.keyOf(game.getAwayTeam().name());
+            var pairKey = pairKey(homeTeamKey, awayTeamKey);
+            var offset = append(game, finishedAtNanos, lastByTeam.getOrDefault(homeTeamKey, NO_RECORD),
+                    lastByTeam.getOrDefault(awayTeamKey, NO_RECORD), lastByPair.getOrDefault(pairKey, NO_RECORD));
+            index(finishedGame, offset, finishedAtNanos);
+            return finishedGame;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Games the team played in, in the order they finished.
+     */
+    public List<FinishedGame> findByTeam(String teamName) {
+        lock.readLock().lock();
+        try {
+            var teamKey = teamRegistry.keyOf(teamName);
+            var games = new ArrayList<FinishedGame>();
+            var offset = lastByTeam.getOrDefault(teamKey, NO_RECORD);
+            while (offset != NO_RECORD) {
+                var game = load(offset);
+                games.add(game);
+                offset = link(offset, teamRegistry.keyOf(game.homeTeam().name()).equals(teamKey) ? 1 : 2);
+            }
+            Collections.reverse(games);
+            return games;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Games between the two teams, whichever of them played at home, in the order they finished.
+     */
+    public List<FinishedGame> findHeadToHead(String firstTeamName, String secondTeamName) {
+        lock.readLock().lock();
+        try {
+            var games = new ArrayList<FinishedGame>();
+            var offset = lastByPair.getOrDefault(pairKey(teamRegistry.keyOf(firstTeamName),
+                    teamRegistry.keyOf(secondTeamName)), NO_RECORD);
+            while (offset != NO_RECORD) {
+                games.add(load(offset));
+                offset = link(offset, 3);
+            }
+            Collections.reverse(games);
+            return games;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Games finished at or after {@code from} and before {@code to}, in the order they finished.
+     */
+    public List<FinishedGame> findFinishedBetween(Instant from, Instant to) {
+        lock.readLock().lock();
+        try {
+            var fromNanos = toNanos(from);
+            var toNanos = toNanos(to);
+            var games = new ArrayList<FinishedGame>();
+            var offset = firstRecordOfRegion(lastRegionStartingBefore(fromNanos));
+            for (; offset < writeOffset; offset = nextRecord(offset)) {
+                var finishedAtNanos = link(offset, 0);
+                if (finishedAtNanos >= toNanos) {
+                    break;
+                }
+                if (finishedAtNanos >= fromNanos) {
+                    games.add(load(offset));
+                }
+            }
+            return games;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Maps the regions already in the file and walks their records, rebuilding the heads of the team and pair
+     * chains and the hot ring. Whatever follows the last intact record is zeroed, so a torn write never shows
+     * up as a record later.
+     */
+    private void reindex() throws IOException {
+        var regionCount = (channel.size() + regionSize - 1) / regionSize;
+        for (int region = 0; region < regionCount; region++) {
+            mapNextRegion();
+        }
+        var offset = 0L;
+        while (offset < (long) regions.size() * regionSize) {
+            var payloadLength = validPayloadLength(offset);
+            if (payloadLength < 0) {
+                break;
+            }
+            var game = decode(offset);
+            index(game, offset, link(offset, 0));
+            writeOffset = offset + HEADER_SIZE + payloadLength;
+            offset = nextRecord(offset);
+        }
+
+        if (!regions.isEmpty()) {
+            var lastRegion = (int) (writeOffset / regionSize);
+            if (writeOffset > 0 && writeOffset % regionSize == 0) {
+                lastRegion--;
+            }
+            var tail = regions.get(lastRegion);
+            for (int position = (int) (writeOffset - (long) lastRegion * regionSize); position < regionSize;
+                 position++) {
+                tail.put(position, (byte) 0);
+            }
+            while (regions.size() > lastRegion + 1) {
+                regions.remove(regions.size() - 1);
+            }
+            channel.truncate((long) regions.size() * regionSize);
+        }
+    }
+
+    private void index(FinishedGame game, long offset, long finishedAtNanos) {
+        var homeTeamKey = teamRegistry.keyOf(game.homeTeam().name());
+        var awayTeamKey = teamRegistry.keyOf(game.awayTeam().name());
+        lastByTeam.put(homeTeamKey, offset);
+        lastByTeam.put(awayTeamKey, offset);
+        lastByPair.put(pairKey(homeTeamKey, awayTeamKey), offset);
+        hotGames[size % hotGames.length] = game;
+        hotOffsets[size % hotGames.length] = offset;
+        lastFinishedAtNanos = finishedAtNanos;
+        size++;
+    }
+
+    private FinishedGame load(long offset) {
+        // the ring holds the newest games, their offsets ascending from the oldest one still in it
+        var low = Math.max(size - hotGames.length, 0);
+        var high = size - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var middleOffset = hotOffsets[middle % hotGames.length];
+            if (middleOffset < offset) {
+                low = middle + 1;
+            } else if (middleOffset > offset) {
+                high = middle - 1;
+            } else {
+                return hotGames[middle % hotGames.length];
+            }
+        }
+        return decode(offset);
+    }
+
+    private FinishedGame decode(long offset) {
+        var record = regions.get((int) (offset / regionSize)).duplicate();
+        record.position((int) (offset % regionSize) + HEADER_SIZE + LINKS_SIZE);
+        var game = GameMutationCodec.readGame(record);
+        return new FinishedGame(game.getId(), game.getHomeTeam(), game.getAwayTeam(), game.getScore(),
+                game.getCreatedAt(), fromNanos(link(offset, 0)));
+    }
+
+    // Link 0 is the finish time; 1, 2 and 3 point to the previous record of the home team, away team and pair.
+    private long link(long offset, int link) {
+        return regions.get((int) (offset / regionSize))
+                .getLong((int) (offset % regionSize) + HEADER_SIZE + link * Long.BYTES);
+    }
+
+    /**
+     * @return length of the payload of the intact record at the offset, or {@code -1} when there is none
+     */
+    private int validPayloadLength(long offset) {
+        var region = regions.get((int) (offset / regionSize));
+        var position = (int) (offset % regionSize);
+        var payloadLength = region.getInt(position);
+        if (payloadLength < LINKS_SIZE || payloadLength > MAX_RECORD_SIZE - HEADER_SIZE
+                || position + HEADER_SIZE + payloadLength > regionSize) {
+            return -1;
+        }
+        var crc = new CRC32C();
+        crc.update(region.slice(position + HEADER_SIZE, payloadLength));
+        return region.getInt(position + Integer.BYTES) == (int) crc.getValue() ? payloadLength : -1;
+    }
+
+    // Records never cross a region boundary: one that might not fit starts the next region instead.
+    private long nextRecord(long offset) {
+        var region = regions.get((int) (offset / regionSize));
+        var next = offset + HEADER_SIZE + region.getInt((int) (offset % regionSize));
+        return startOfRecordAt(next);
+    }
+
+    private long startOfRecordAt(long offset) {
+        var positionInRegion = offset % regionSize;
+        return regionSize - positionInRegion < MAX_RECORD_SIZE ? offset - positionInRegion + regionSize : offset;
+    }
+
+    private int lastRegionStartingBefore(long finishedAtNanos) {
+        var low = 0;
+        var high = (int) ((writeOffset + regionSize - 1) / regionSize) - 1;
+        var result = 0;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            if (link(firstRecordOfRegion(middle), 0) < finishedAtNanos) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+
+    private long firstRecordOfRegion(int region) {
+        return (long) region * regionSize;
+    }
+
+    private long append(Game game, long finishedAtNanos, long previousOfHomeTeam, long previousOfAwayTeam,
+                        long previousOfPair) {
+        var offset = startOfRecordAt(writeOffset);
+        if (offset >= (long) regions.size() * regionSize) {
+            mapNextRegion();
+        }
+        var region = regions.get((int) (offset / regionSize));
+        var position = (int) (offset % regionSize);
+        var record = region.duplicate();
+        record.position(position + HEADER_SIZE);
+        record.putLong(finishedAtNanos);
+        record.putLong(previousOfHomeTeam);
+        record.putLong(previousOfAwayTeam);
+        record.putLong(previousOfPair);
+        GameMutationCodec.writeGame(game, record);
+        var payloadLength = record.position() - position - HEADER_SIZE;
+
+        // the length goes in last, so a record is only seen once its payload is complete
+        var crc = new CRC32C();
+        crc.update(region.slice(position + HEADER_SIZE, payloadLength));
+        region.putInt(position + Integer.BYTES, (int) crc.getValue());
+        region.putInt(position, payloadLength);
+        writeOffset = offset + HEADER_SIZE + payloadLength;
+        return offset;
+    }
+
+    private void mapNextRegion() {
+        try {
+            regions.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) regions.size() * regionSize, regionSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String pairKey(String firstTeamKey, String secondTeamKey) {
+        return firstTeamKey.compareTo(secondTeamKey) <= 0
+                ? firstTeamKey + '\0' + secondTeamKey
+                : secondTeamKey + '\0' + firstTeamKey;
+    }
+
+    // Saturates, so that queries may use bounds like Instant.MIN and Instant.MAX.
+    private static long toNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static Instant fromNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+}
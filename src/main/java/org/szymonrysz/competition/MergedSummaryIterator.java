@@ -0,0 +1,77 @@
+package org.szymonrysz.competition;
+
+import org.szymonrysz.model.dto.GameDto;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Walks several summaries, each already in rank order, as one summary in rank order. Only the head of every
+ * summary is compared, so taking the first {@code n} games costs {@code O(n log k)} for {@code k} summaries,
+ * whatever their sizes.
+ */
+class MergedSummaryIterator implements Iterator<GameDto> {
+
+    /**
+     * The order of a single board's summary: total score descending, creation time ascending, then id.
+     */
+    static final Comparator<GameDto> RANK_ORDER = Comparator.comparingInt(MergedSummaryIterator::totalScore)
+            .reversed()
+            .thenComparing(GameDto::createdAt)
+            .thenComparing(GameDto::id);
+
+    private final PriorityQueue<Cursor> heads;
+
+    MergedSummaryIterator(List<List<GameDto>> summaries) {
+        heads = new PriorityQueue<>(Math.max(1, summaries.size()),
+                (first, second) -> RANK_ORDER.compare(first.head(), second.head()));
+        for (var summary : summaries) {
+            if (!summary.isEmpty()) {
+                heads.add(new Cursor(summary));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public GameDto next() {
+        var cursor = heads.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        var game = cursor.head();
+        if (cursor.advance()) {
+            heads.add(cursor);
+        }
+        return game;
+    }
+
+    private static int totalScore(GameDto game) {
+        return game.score().homeTeamScore() + game.score().awayTeamScore();
+    }
+
+    private static final class Cursor {
+
+        private final List<GameDto> summary;
+        private int position;
+
+        private Cursor(List<GameDto> summary) {
+            this.summary = summary;
+        }
+
+        private GameDto head() {
+            return summary.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < summary.size();
+        }
+    }
+}
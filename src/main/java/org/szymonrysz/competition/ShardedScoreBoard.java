@@ -0,0 +1,178 @@
+package org.szymonrysz.competition;
+
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.OverflowPolicy;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.ScoreBoardEventBus;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardService;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+import org.szymonrysz.service.SummaryVisitor;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Score board for many competitions at once. Every competition is a shard: a {@link ScoreBoardService}
+ * of its own, with its own repository, locks and ranking, so games of different competitions never contend.
+ * A team may play in several competitions at the same time, but only in one game within a competition.
+ * <p>
+ * Games are addressed by id after they are started; the board remembers which shard holds each live game
+ * until the shard reports the game finished, however it was finished.
+ * The global summary merges the shards' summaries, each already in rank order, instead of sorting all games.
+ */
+public class ShardedScoreBoard implements AutoCloseable {
+
+    // Lossless: a missed finish would keep the game's shard forever.
+    private static final SubscriptionConfig SUBSCRIPTION_CONFIG = new SubscriptionConfig(1024, OverflowPolicy.BLOCK,
+            true);
+
+    private final Function<String, ScoreBoardService> shardFactory;
+    private final ExecutorService eventExecutor;
+    private final ConcurrentHashMap<String, ScoreBoardService> shards = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ScoreBoardService> gameShards = new ConcurrentHashMap<>();
+
+    /**
+     * Creates shards backed by a {@link ConcurrentGameRepository}, all delivering events on one shared pool.
+     */
+    public ShardedScoreBoard(Clock clock) {
+        this(clock, ScoreBoardEventBus.newEventExecutor());
+    }
+
+    private ShardedScoreBoard(Clock clock, ExecutorService eventExecutor) {
+        this(competition -> new ScoreBoardServiceImpl(new ConcurrentGameRepository(), clock, new GameConverter(),
+                new ScoreBoardEventBus(eventExecutor)), eventExecutor);
+    }
+
+    /**
+     * @param shardFactory creates the board of a competition the first time one of its games is started
+     */
+    public ShardedScoreBoard(Function<String, ScoreBoardService> shardFactory) {
+        this(shardFactory, null);
+    }
+
+    private ShardedScoreBoard(Function<String, ScoreBoardService> shardFactory, ExecutorService eventExecutor) {
+        this.shardFactory = shardFactory;
+        this.eventExecutor = eventExecutor;
+    }
+
+    public GameDto startGame(String competition, Team homeTeam, Team awayTeam) {
+        var shard = shards.computeIfAbsent(competition, this::createShard);
+        var game = shard.startGame(homeTeam, awayTeam);
+        gameShards.put(game.id(), shard);
+        return game;
+    }
+
+    public GameDto updateScore(UUID gameId, Score score) {
+        return shardOf(gameId).updateScore(gameId, score);
+    }
+
+    public void finishGame(UUID gameId) {
+        shardOf(gameId).finishGame(gameId);
+        gameShards.remove(gameId);
+    }
+
+    public Set<String> getCompetitions() {
+        return Set.copyOf(shards.keySet());
+    }
+
+    /**
+     * @return the board of the competition, if any of its games was started
+     */
+    public Optional<ScoreBoardService> getShard(String competition) {
+        return Optional.ofNullable(shards.get(competition));
+    }
+
+    public List<GameDto> getSummary(String competition) {
+        return getShard(competition)
+                .map(ScoreBoardService::getSummary)
+                .orElse(List.of());
+    }
+
+    /**
+     * Summary of all competitions, ranked as a single board would rank the same games. Every shard is read
+     * once, but shards are not read at one instant, so a game moving between reads may be seen in either place.
+     */
+    public List<GameDto> getSummary() {
+        return getSummary(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Top of the global summary; only the first {@code limit} games are merged.
+     */
+    public List<GameDto> getSummary(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be non-negative.");
+        }
+
+        var summaries = shardSummaries();
+        var games = new ArrayList<GameDto>(Math.min(limit, summaries.stream().mapToInt(List::size).sum()));
+        var merged = new MergedSummaryIterator(summaries);
+        while (games.size() < limit && merged.hasNext()) {
+            games.add(merged.next());
+        }
+        return List.copyOf(games);
+    }
+
+    /**
+     * Walks the global summary in order without collecting it into a list.
+     */
+    public void forEachInRankOrder(SummaryVisitor visitor) {
+        var merged = new MergedSummaryIterator(shardSummaries());
+        for (int rank = 1; merged.hasNext(); rank++) {
+            visitor.visit(rank, merged.next());
+        }
+    }
+
+    /**
+     * Closes every shard, and the event pool shared by the shards if the board created them.
+     */
+    @Override
+    public void close() {
+        shards.values().forEach(ScoreBoardService::close);
+        if (eventExecutor != null) {
+            eventExecutor.shutdownNow();
+        }
+    }
+
+    private ScoreBoardService createShard(String competition) {
+        var shard = shardFactory.apply(competition);
+        shard.subscribe(this::forgetFinishedGame, SUBSCRIPTION_CONFIG);
+        return shard;
+    }
+
+    private void forgetFinishedGame(ScoreBoardEvent event) {
+        if (event instanceof GameFinishedEvent) {
+            gameShards.remove(event.game().id());
+        }
+    }
+
+    private List<List<GameDto>> shardSummaries() {
+        var summaries = new ArrayList<List<GameDto>>(shards.size());
+        for (var shard : shards.values()) {
+            summaries.add(shard.getSummary());
+        }
+        return summaries;
+    }
+
+    private ScoreBoardService shardOf(UUID gameId) {
+        var shard = gameShards.get(gameId);
+        if (shard == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return shard;
+    }
+}
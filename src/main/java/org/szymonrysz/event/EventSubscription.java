@@ -0,0 +1,180 @@
+package org.szymonrysz.event;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of one subscriber. Events are delivered in order by at most one task at a time,
+ * which is submitted to the executor only when the queue turns non-empty.
+ * <p>
+ * Offering never waits: a {@link OverflowPolicy#BLOCK} queue takes the event even when full, and the writer
+ * waits for room in {@link #awaitCapacity()} once it no longer holds any lock of the board.
+ */
+class EventSubscription implements Subscription, Runnable {
+
+    private final ScoreBoardListener listener;
+    private final SubscriptionConfig config;
+    private final Executor executor;
+    private final Consumer<EventSubscription> onCancel;
+    private final ArrayDeque<PendingEvent> queue = new ArrayDeque<>();
+    private final Map<UUID, PendingEvent> pendingScoreChanges = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder coalescedEvents = new LongAdder();
+    private volatile boolean cancelled;
+
+    EventSubscription(ScoreBoardListener listener, SubscriptionConfig config, Executor executor,
+                      Consumer<EventSubscription> onCancel) {
+        this.listener = listener;
+        this.config = config;
+        this.executor = executor;
+        this.onCancel = onCancel;
+    }
+
+    void offer(ScoreBoardEvent event) {
+        lock.lock();
+        try {
+            if (cancelled || coalesce(event) || !makeRoom()) {
+                return;
+            }
+            var pendingEvent = new PendingEvent(event);
+            queue.add(pendingEvent);
+            if (config.coalesceScoreChanges() && event instanceof ScoreChangedEvent) {
+                pendingScoreChanges.put(event.game().id(), pendingEvent);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            ScoreBoardEvent event;
+            lock.lock();
+            try {
+                var pendingEvent = queue.poll();
+                if (pendingEvent == null || cancelled) {
+                    draining.set(false);
+                    return;
+                }
+                forget(pendingEvent);
+                if (queue.size() <= config.queueCapacity()) {
+                    notFull.signalAll();
+                }
+                event = pendingEvent.event;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                // a failing listener must not stop the delivery of further events
+            }
+        }
+    }
+
+    /**
+     * Waits until a {@link OverflowPolicy#BLOCK} queue is back within its capacity, or the subscription is
+     * cancelled. Must not be called from the subscriber's own delivery task.
+     */
+    void awaitCapacity() {
+        if (config.overflowPolicy() != OverflowPolicy.BLOCK) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (!cancelled && queue.size() > config.queueCapacity()) {
+                notFull.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            queue.clear();
+            pendingScoreChanges.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        onCancel.accept(this);
+    }
+
+    @Override
+    public long droppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    @Override
+    public long coalescedEvents() {
+        return coalescedEvents.sum();
+    }
+
+    private boolean coalesce(ScoreBoardEvent event) {
+        if (!config.coalesceScoreChanges() || !(event instanceof ScoreChangedEvent scoreChangedEvent)) {
+            return false;
+        }
+
+        var pendingEvent = pendingScoreChanges.get(event.game().id());
+        if (pendingEvent == null) {
+            return false;
+        }
+        pendingEvent.event = ((ScoreChangedEvent) pendingEvent.event).mergeWith(scoreChangedEvent);
+        coalescedEvents.increment();
+        return true;
+    }
+
+    private boolean makeRoom() {
+        while (queue.size() >= config.queueCapacity()) {
+            switch (config.overflowPolicy()) {
+                case DROP_NEWEST -> {
+                    droppedEvents.increment();
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    forget(queue.poll());
+                    droppedEvents.increment();
+                }
+                case BLOCK -> {
+                    return true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void forget(PendingEvent pendingEvent) {
+        if (pendingEvent.event instanceof ScoreChangedEvent) {
+            pendingScoreChanges.remove(pendingEvent.event.game().id(), pendingEvent);
+        }
+    }
+
+    private static final class PendingEvent {
+        private ScoreBoardEvent event;
+
+        private PendingEvent(ScoreBoardEvent event) {
+            this.event = event;
+        }
+    }
+}
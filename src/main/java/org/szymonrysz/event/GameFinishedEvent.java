@@ -0,0 +1,6 @@
+package org.szymonrysz.event;
+
+import org.szymonrysz.model.dto.GameDto;
+
+public record GameFinishedEvent(long version, GameDto game) implements ScoreBoardEvent {
+}
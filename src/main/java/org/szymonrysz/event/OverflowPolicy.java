@@ -0,0 +1,15 @@
+package org.szymonrysz.event;
+
+/**
+ * What happens to a new event when the subscriber's queue is full.
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,
+    DROP_NEWEST,
+    /**
+     * Keeps every event and holds the writer, once its change is published, until the subscriber catches up.
+     * The queue may exceed its capacity by the events of writers publishing at the same time. A listener
+     * subscribed with this policy must not mutate the board from its own delivery thread.
+     */
+    BLOCK
+}
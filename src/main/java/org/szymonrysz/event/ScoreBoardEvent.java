@@ -0,0 +1,13 @@
+package org.szymonrysz.event;
+
+import org.szymonrysz.model.dto.GameDto;
+
+/**
+ * Change of the board. The version is the version of the snapshot that already contains the change.
+ */
+public sealed interface ScoreBoardEvent permits GameStartedEvent, ScoreChangedEvent, GameFinishedEvent {
+
+    long version();
+
+    GameDto game();
+}
@@ -0,0 +1,87 @@
+package org.szymonrysz.event;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans board events out to subscribers. Publishing only enqueues; listeners are called asynchronously
+ * on the executor, each subscriber from one task at a time.
+ * <p>
+ * Boards that run side by side, like the shards of a competition board, should share one executor.
+ */
+public class ScoreBoardEventBus implements AutoCloseable {
+
+    private final CopyOnWriteArrayList<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Delivers events on a thread pool of its own, shut down by {@link #close()}.
+     */
+    public ScoreBoardEventBus() {
+        this(newEventExecutor(), true);
+    }
+
+    /**
+     * Delivers events on the given executor, which stays owned by the caller.
+     */
+    public ScoreBoardEventBus(Executor executor) {
+        this(executor, false);
+    }
+
+    private ScoreBoardEventBus(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownedExecutor = ownsExecutor ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Creates a pool of daemon threads suitable for delivering the events of one or more boards.
+     */
+    public static ExecutorService newEventExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "score-board-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Subscription subscribe(ScoreBoardListener listener, SubscriptionConfig config) {
+        var subscription = new EventSubscription(listener, config, executor, subscriptions::remove);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(ScoreBoardEvent event) {
+        for (var subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Holds the calling writer until every {@link OverflowPolicy#BLOCK} subscriber has room again.
+     * Writers call it after publishing, outside of the board's locks, so a slow subscriber holds back
+     * only the writers feeding it and never readers.
+     */
+    public void awaitCapacity() {
+        for (var subscription : subscriptions) {
+            subscription.awaitCapacity();
+        }
+    }
+
+    /**
+     * Cancels all subscriptions and shuts down the executor, if the bus created it.
+     */
+    @Override
+    public void close() {
+        subscriptions.forEach(EventSubscription::cancel);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.szymonrysz.event;
+
+@FunctionalInterface
+public interface ScoreBoardListener {
+
+    void onEvent(ScoreBoardEvent event);
+}
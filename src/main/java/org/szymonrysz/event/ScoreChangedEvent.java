@@ -0,0 +1,18 @@
+package org.szymonrysz.event;
+
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.dto.GameDto;
+
+/**
+ * Score of a live game has changed. Ranks are 1-based positions in the summary before and after the change.
+ */
+public record ScoreChangedEvent(long version, GameDto game, Score oldScore, int oldRank, int newRank)
+        implements ScoreBoardEvent {
+
+    /**
+     * Folds a later change of the same game into this one, keeping the state from before both changes.
+     */
+    public ScoreChangedEvent mergeWith(ScoreChangedEvent later) {
+        return new ScoreChangedEvent(later.version(), later.game(), oldScore, oldRank, later.newRank());
+    }
+}
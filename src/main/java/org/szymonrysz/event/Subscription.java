@@ -0,0 +1,15 @@
+package org.szymonrysz.event;
+
+public interface Subscription extends AutoCloseable {
+
+    void cancel();
+
+    long droppedEvents();
+
+    long coalescedEvents();
+
+    @Override
+    default void close() {
+        cancel();
+    }
+}
@@ -0,0 +1,25 @@
+package org.szymonrysz.event;
+
+/**
+ * @param queueCapacity         maximum number of events waiting for delivery to one subscriber
+ * @param overflowPolicy        what to do with events that do not fit into the queue
+ * @param coalesceScoreChanges  whether a pending score change of a game absorbs later changes of the same game
+ */
+public record SubscriptionConfig(int queueCapacity, OverflowPolicy overflowPolicy, boolean coalesceScoreChanges) {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    public SubscriptionConfig {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive.");
+        }
+
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null.");
+        }
+    }
+
+    public static SubscriptionConfig defaults() {
+        return new SubscriptionConfig(DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST, true);
+    }
+}
@@ -0,0 +1,33 @@
+package org.szymonrysz.expiry;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class ExpiryConfig {
+
+    /**
+     * How long a game may last from its start, or {@code null} for no limit.
+     */
+    Duration maxGameDuration;
+
+    /**
+     * How long a game may go without a score update (or since its start), or {@code null} for no limit.
+     */
+    Duration idleTimeout;
+
+    /**
+     * Resolution of the timer wheel: games expire at most one tick late.
+     */
+    @Builder.Default
+    Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Number of ticks in one turn of the wheel, a power of two.
+     */
+    @Builder.Default
+    int wheelSize = 512;
+}
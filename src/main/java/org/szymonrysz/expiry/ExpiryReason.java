@@ -0,0 +1,12 @@
+package org.szymonrysz.expiry;
+
+public enum ExpiryReason {
+    /**
+     * The game lasted longer than the maximum game duration.
+     */
+    MAX_DURATION,
+    /**
+     * The score of the game has not been updated for longer than the idle timeout.
+     */
+    IDLE
+}
@@ -0,0 +1,11 @@
+package org.szymonrysz.expiry;
+
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Instant;
+
+/**
+ * A game finished because it expired, with the state it was last seen in.
+ */
+public record GameExpiry(GameDto game, ExpiryReason reason, Instant expiredAt) {
+}
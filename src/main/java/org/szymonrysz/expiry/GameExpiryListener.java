@@ -0,0 +1,7 @@
+package org.szymonrysz.expiry;
+
+@FunctionalInterface
+public interface GameExpiryListener {
+
+    void onExpired(GameExpiry expiry);
+}
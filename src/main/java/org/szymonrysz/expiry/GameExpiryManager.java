@@ -0,0 +1,221 @@
+package org.szymonrysz.expiry;
+
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.GameStartedEvent;
+import org.szymonrysz.event.OverflowPolicy;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.ScoreChangedEvent;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.service.ScoreBoardService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finishes games that exceed the maximum game duration or go without a score update for longer than the
+ * idle timeout, both measured with the board's clock, and reports them to {@link GameExpiryListener}s.
+ * <p>
+ * Every live game has one timeout in a {@link TimerWheel}, set to the earlier of its two deadlines. A score
+ * update only records its time; when the timeout fires, a game updated in the meantime is rescheduled to its
+ * new deadline instead of expiring. A tick therefore costs the games due in it, not a scan of the board.
+ */
+public class GameExpiryManager implements ScoreBoardListener, AutoCloseable {
+
+    // Lossless: a missed start would leave a game that never expires.
+    private static final SubscriptionConfig SUBSCRIPTION_CONFIG = new SubscriptionConfig(1024, OverflowPolicy.BLOCK,
+            true);
+
+    private final ScoreBoardService scoreBoardService;
+    private final Clock clock;
+    private final long maxGameDurationMillis;
+    private final long idleTimeoutMillis;
+    private final TimerWheel<TrackedGame> timerWheel;
+    private final Map<UUID, TrackedGame> trackedGames = new HashMap<>();
+    private final CopyOnWriteArrayList<GameExpiryListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    private ScheduledExecutorService tickScheduler;
+    private Subscription subscription;
+
+    private GameExpiryManager(ScoreBoardService scoreBoardService, Clock clock, ExpiryConfig config) {
+        this.scoreBoardService = scoreBoardService;
+        this.clock = clock;
+        this.maxGameDurationMillis = millisOrUnlimited(config.getMaxGameDuration());
+        this.idleTimeoutMillis = millisOrUnlimited(config.getIdleTimeout());
+        this.timerWheel = new TimerWheel<>(config.getTick().toMillis(), config.getWheelSize(), clock.millis());
+    }
+
+    /**
+     * Starts tracking the games of the board, the ones already live included, and checks for expired games
+     * every tick on a background thread.
+     */
+    public static GameExpiryManager attach(ScoreBoardService scoreBoardService, Clock clock, ExpiryConfig config) {
+        var manager = new GameExpiryManager(scoreBoardService, clock, config);
+        manager.subscription = scoreBoardService.subscribe(manager, SUBSCRIPTION_CONFIG);
+        scoreBoardService.getSnapshot().games().forEach(manager::track);
+
+        manager.tickScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "game-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var tickMillis = config.getTick().toMillis();
+        manager.tickScheduler.scheduleAtFixedRate(manager::tick, tickMillis, tickMillis,
+                TimeUnit.MILLISECONDS);
+        return manager;
+    }
+
+    public void addListener(GameExpiryListener listener) {
+        listeners.add(listener);
+    }
+
+    public int getTrackedGameCount() {
+        synchronized (lock) {
+            return trackedGames.size();
+        }
+    }
+
+    @Override
+    public void onEvent(ScoreBoardEvent event) {
+        if (event instanceof GameStartedEvent started) {
+            track(started.game());
+        } else if (event instanceof ScoreChangedEvent changed) {
+            synchronized (lock) {
+                var trackedGame = trackedGames.get(changed.game().id());
+                if (trackedGame != null) {
+                    trackedGame.game = changed.game();
+                    trackedGame.lastUpdateMillis = clock.millis();
+                }
+            }
+        } else if (event instanceof GameFinishedEvent finished) {
+            synchronized (lock) {
+                var trackedGame = trackedGames.remove(finished.game().id());
+                if (trackedGame != null) {
+                    timerWheel.cancel(trackedGame.timeout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finishes every game due by now and notifies the listeners. Runs every tick; games are finished
+     * outside of the lock, so the board's own events can be handled meanwhile.
+     *
+     * @return the expired games
+     */
+    public List<GameExpiry> expireDueGames() {
+        var expiredGames = new ArrayList<GameExpiry>();
+        synchronized (lock) {
+            var now = clock.millis();
+            timerWheel.advanceTo(now, trackedGame -> {
+                var reason = reasonToExpire(trackedGame, now);
+                if (reason == null) {
+                    trackedGame.timeout = timerWheel.schedule(trackedGame, deadlineOf(trackedGame));
+                } else {
+                    trackedGames.remove(trackedGame.game.id());
+                    expiredGames.add(new GameExpiry(trackedGame.game, reason, clock.instant()));
+                }
+            });
+        }
+
+        var finishedGames = new ArrayList<GameExpiry>(expiredGames.size());
+        for (var expiry : expiredGames) {
+            try {
+                scoreBoardService.finishGame(expiry.game().id());
+                finishedGames.add(expiry);
+                notifyListeners(expiry);
+            } catch (GameNotFoundException e) {
+                // finished by its feed in the meantime
+            }
+        }
+        return finishedGames;
+    }
+
+    @Override
+    public void close() {
+        subscription.cancel();
+        tickScheduler.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            expireDueGames();
+        } catch (RuntimeException e) {
+            // an unexpected failure ends only this tick, not the ticks to come
+        }
+    }
+
+    private void notifyListeners(GameExpiry expiry) {
+        for (var listener : listeners) {
+            try {
+                listener.onExpired(expiry);
+            } catch (RuntimeException e) {
+                // one failing listener must not keep the others from hearing about the expiry
+            }
+        }
+    }
+
+    private void track(GameDto game) {
+        if (maxGameDurationMillis == Long.MAX_VALUE && idleTimeoutMillis == Long.MAX_VALUE) {
+            return;
+        }
+        synchronized (lock) {
+            if (trackedGames.containsKey(game.id())) {
+                return;
+            }
+            var trackedGame = new TrackedGame(game, game.createdAt().toEpochMilli(), clock.millis());
+            trackedGame.timeout = timerWheel.schedule(trackedGame, deadlineOf(trackedGame));
+            trackedGames.put(game.id(), trackedGame);
+        }
+    }
+
+    private ExpiryReason reasonToExpire(TrackedGame trackedGame, long now) {
+        if (now >= saturatedSum(trackedGame.startedAtMillis, maxGameDurationMillis)) {
+            return ExpiryReason.MAX_DURATION;
+        }
+        if (now >= saturatedSum(trackedGame.lastUpdateMillis, idleTimeoutMillis)) {
+            return ExpiryReason.IDLE;
+        }
+        return null;
+    }
+
+    private long deadlineOf(TrackedGame trackedGame) {
+        return Math.min(saturatedSum(trackedGame.startedAtMillis, maxGameDurationMillis),
+                saturatedSum(trackedGame.lastUpdateMillis, idleTimeoutMillis));
+    }
+
+    private static long saturatedSum(long timeMillis, long durationMillis) {
+        var sum = timeMillis + durationMillis;
+        return ((timeMillis ^ sum) & (durationMillis ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long millisOrUnlimited(Duration duration) {
+        return duration == null ? Long.MAX_VALUE : duration.toMillis();
+    }
+
+    private static final class TrackedGame {
+
+        private final long startedAtMillis;
+        private GameDto game;
+        private long lastUpdateMillis;
+        private TimerWheel.Timeout<TrackedGame> timeout;
+
+        private TrackedGame(GameDto game, long startedAtMillis, long lastUpdateMillis) {
+            this.game = game;
+            this.startedAtMillis = startedAtMillis;
+            this.lastUpdateMillis = lastUpdateMillis;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.szymonrysz.expiry;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: a ring of buckets, one per tick, each a doubly linked list of timeouts. Scheduling and
+ * cancelling are {@code O(1)}; advancing by one tick only visits one bucket. Deadlines further away than one
+ * turn of the wheel share buckets with nearer ones and are skipped until their turn comes.
+ * <p>
+ * Not thread-safe.
+ */
+class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive.");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a positive power of two.");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = (Timeout<T>[]) new Timeout[wheelSize];
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules the item to expire on the first tick at or after the deadline; a deadline in the past
+     * expires on the next advance.
+     */
+    Timeout<T> schedule(T item, long deadlineMillis) {
+        var deadlineTick = Math.floorDiv(deadlineMillis, tickMillis) + (deadlineMillis % tickMillis == 0 ? 0 : 1);
+        var timeout = new Timeout<>(item, Math.max(currentTick, deadlineTick));
+        var bucket = (int) (timeout.deadlineTick & mask);
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        buckets[bucket] = timeout;
+        size++;
+        return timeout;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        timeout.cancelled = true;
+        unlink(timeout);
+    }
+
+    /**
+     * Expires everything due up to the given time, in no particular order within a tick.
+     */
+    void advanceTo(long nowMillis, Consumer<T> expired) {
+        var targetTick = nowMillis / tickMillis;
+        if (targetTick < currentTick) {
+            return;
+        }
+        // After a long pause one pass over every bucket is enough, whatever the number of ticks missed.
+        var ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+        for (long tick = currentTick; tick < currentTick + ticks; tick++) {
+            var timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                var next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    timeout.cancelled = true;
+                    unlink(timeout);
+                    expired.accept(timeout.item);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        size--;
+    }
+
+    static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.szymonrysz.history;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * What the board looked like at any moment within a retention horizon.
+ * <p>
+ * Every game keeps a chain of its score changes. Starts and finishes of games go to a separate log, and
+ * checkpoints store the games live at a moment. A point-in-time summary starts from the last checkpoint before
+ * the requested instant, applies the starts and finishes after it, and looks up each live game's score by binary
+ * search in its chain.
+ * <p>
+ * A checkpoint is taken once {@code checkpointInterval} starts and finishes or {@code checkpointInterval} score
+ * versions have been recorded since the previous one, or once the checkpoint period has passed since it.
+ * Checkpoints, log entries and score versions older than the horizon are dropped as new checkpoints are taken,
+ * so a board whose games run for long keeps dropping old scores even when hardly any game starts or finishes.
+ * The oldest queryable instant is that of the oldest kept checkpoint, so up to one checkpoint period more than
+ * the horizon may be kept.
+ */
+public class GameHistory implements ScoreBoardHistory {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1024;
+    // The default checkpoint period is the horizon divided by this.
+    public static final int DEFAULT_CHECKPOINTS_PER_HORIZON = 8;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Comparator<GameDto> RANK_ORDER = Comparator
+            .comparingInt((GameDto game) -> game.score().homeTeamScore() + game.score().awayTeamScore())
+            .reversed()
+            .thenComparing(GameDto::createdAt)
+            .thenComparing(GameDto::id);
+
+    private final Clock clock;
+    private final Duration horizon;
+    private final int checkpointInterval;
+    private final long checkpointPeriodNanos;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, GameVersions> liveGames = new LinkedHashMap<>();
+    private final List<LifecycleEntry> lifecycle = new ArrayList<>();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    // Number of log entries dropped so far; checkpoints point into the log by absolute entry number.
+    private long discardedEntries;
+    private int entriesSinceCheckpoint;
+    private int versionsSinceCheckpoint;
+
+    public GameHistory(Clock clock, Duration horizon) {
+        this(clock, horizon, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public GameHistory(Clock clock, Duration horizon, int checkpointInterval) {
+        this(clock, horizon, checkpointInterval, horizon.dividedBy(DEFAULT_CHECKPOINTS_PER_HORIZON));
+    }
+
+    /**
+     * @param checkpointPeriod longest time between checkpoints while changes are being recorded;
+     *                         {@link Duration#ZERO} checkpoints on the counts alone
+     */
+    public GameHistory(Clock clock, Duration horizon, int checkpointInterval, Duration checkpointPeriod) {
+        if (horizon.isNegative()) {
+            throw new IllegalArgumentException("History horizon must not be negative.");
+        }
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        if (checkpointPeriod.isNegative()) {
+            throw new IllegalArgumentException("Checkpoint period must not be negative.");
+        }
+        this.clock = clock;
+        this.horizon = horizon;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointPeriodNanos = checkpointPeriod.toNanos();
+        checkpoints.add(new Checkpoint(Long.MIN_VALUE, 0, new GameVersions[0]));
+    }
+
+    /**
+     * Records the state of a saved game at the current instant: a start for a game not live yet, otherwise
+     * a new score version if the score has changed. A game saved with different teams is restarted.
+     */
+    public void recordSaved(Game game) {
+        lock.writeLock().lock();
+        try {
+            var now = epochNanosOf(clock.instant());
+            var versions = liveGames.get(game.getId());
+            if (versions != null && !versions.hasTeams(game.getHomeTeam(), game.getAwayTeam())) {
+                finish(versions, now);
+                versions = null;
+            }
+            if (versions == null) {
+                versions = new GameVersions(game.getId(), game.getHomeTeam(), game.getAwayTeam(), game.getCreatedAt());
+                liveGames.put(game.getId(), versions);
+                appendToLifecycle(new LifecycleEntry(now, versions, true));
+            }
+            if (versions.add(now, game.getScore())) {
+                versionsSinceCheckpoint++;
+            }
+            checkpointIfDue(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the finish of a game at the current instant; unknown games are ignored.
+     */
+    public void recordDeleted(UUID id) {
+        lock.writeLock().lock();
+        try {
+            var versions = liveGames.get(id);
+            if (versions != null) {
+                var now = epochNanosOf(clock.instant());
+                finish(versions, now);
+                checkpointIfDue(now);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<GameDto> getSummary(Instant asOf) {
+        var asOfNanos = epochNanosOf(asOf);
+        lock.readLock().lock();
+        try {
+            var checkpoint = checkpoints.get(lastCheckpointAt(asOfNanos));
+            if (checkpoint.takenAtNanos() > asOfNanos) {
+                throw new IllegalArgumentException("History before " + getOldestQueryableInstant() + " is no longer kept.");
+            }
+
+            var games = new LinkedHashMap<UUID, GameVersions>();
+            for (var versions : checkpoint.liveGames()) {
+                games.put(versions.id(), versions);
+            }
+            for (var i = (int) (checkpoint.entryNumber() - discardedEntries); i < lifecycle.size(); i++) {
+                var entry = lifecycle.get(i);
+                if (entry.atNanos() > asOfNanos) {
+                    break;
+                }
+                if (entry.started()) {
+                    games.put(entry.game().id(), entry.game());
+                } else {
+                    games.remove(entry.game().id());
+                }
+            }
+
+            return games.values().stream()
+                    .map(versions -> versions.asOf(asOfNanos))
+                    .sorted(RANK_ORDER)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Instant getOldestQueryableInstant() {
+        lock.readLock().lock();
+        try {
+            var takenAtNanos = checkpoints.get(0).takenAtNanos();
+            return takenAtNanos == Long.MIN_VALUE ? Instant.MIN : instantOf(takenAtNanos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops what is older than the horizon now, without waiting for the next checkpoint.
+     */
+    public void discardExpired() {
+        lock.writeLock().lock();
+        try {
+            discardBefore(epochNanosOf(clock.instant().minus(horizon)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void finish(GameVersions versions, long atNanos) {
+        liveGames.remove(versions.id());
+        appendToLifecycle(new LifecycleEntry(atNanos, versions, false));
+    }
+
+    private void appendToLifecycle(LifecycleEntry entry) {
+        lifecycle.add(entry);
+        entriesSinceCheckpoint++;
+    }
+
+    // Called once a change is fully recorded, so a checkpoint never sees a game without its first score.
+    private void checkpointIfDue(long nowNanos) {
+        var lastCheckpointNanos = checkpoints.get(checkpoints.size() - 1).takenAtNanos();
+        var periodPassed = checkpointPeriodNanos > 0
+                && (lastCheckpointNanos == Long.MIN_VALUE || nowNanos - lastCheckpointNanos >= checkpointPeriodNanos);
+        if (!periodPassed && entriesSinceCheckpoint < checkpointInterval
+                && versionsSinceCheckpoint < checkpointInterval) {
+            return;
+        }
+        checkpoints.add(new Checkpoint(nowNanos, discardedEntries + lifecycle.size(),
+                liveGames.values().toArray(GameVersions[]::new)));
+        entriesSinceCheckpoint = 0;
+        versionsSinceCheckpoint = 0;
+        discardBefore(epochNanosOf(clock.instant().minus(horizon)));
+    }
+
+    // Number of score versions kept for the live games.
+    int scoreVersionCount() {
+        lock.readLock().lock();
+        try {
+            return liveGames.values().stream()
+                    .mapToInt(GameVersions::size)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void discardBefore(long cutoffNanos) {
+        var first = lastCheckpointAt(cutoffNanos);
+        if (first == 0) {
+            return;
+        }
+        checkpoints.subList(0, first).clear();
+        var oldest = checkpoints.get(0);
+        lifecycle.subList(0, (int) (oldest.entryNumber() - discardedEntries)).clear();
+        discardedEntries = oldest.entryNumber();
+
+        // Finished games go away with the checkpoints and log entries referring to them.
+        var keepFromNanos = oldest.takenAtNanos();
+        for (var versions : liveGames.values()) {
+            versions.discardBefore(keepFromNanos);
+        }
+        for (var versions : oldest.liveGames()) {
+            versions.discardBefore(keepFromNanos);
+        }
+    }
+
+    // Index of the last checkpoint taken at or before the time; the first one if none was.
+    private int lastCheckpointAt(long atNanos) {
+        var low = 0;
+        var high = checkpoints.size() - 1;
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+            if (checkpoints.get(middle).takenAtNanos() <= atNanos) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static long epochNanosOf(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    private static Instant instantOf(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    private record LifecycleEntry(long atNanos, GameVersions game, boolean started) {
+    }
+
+    private record Checkpoint(long takenAtNanos, long entryNumber, GameVersions[] liveGames) {
+    }
+}
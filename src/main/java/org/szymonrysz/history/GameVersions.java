@@ -0,0 +1,106 @@
+package org.szymonrysz.history;
+
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Scores of one game over time, as parallel primitive arrays ordered by the time of the change.
+ * The first version is the score the game started with.
+ */
+class GameVersions {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final UUID id;
+    private final Team homeTeam;
+    private final Team awayTeam;
+    private final Instant createdAt;
+    private long[] changedAtNanos = new long[INITIAL_CAPACITY];
+    private int[] homeTeamScores = new int[INITIAL_CAPACITY];
+    private int[] awayTeamScores = new int[INITIAL_CAPACITY];
+    private int size;
+
+    GameVersions(UUID id, Team homeTeam, Team awayTeam, Instant createdAt) {
+        this.id = id;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.createdAt = createdAt;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    boolean hasTeams(Team homeTeam, Team awayTeam) {
+        return this.homeTeam.equals(homeTeam) && this.awayTeam.equals(awayTeam);
+    }
+
+    /**
+     * Appends a version unless the score is the same as in the latest one.
+     *
+     * @return whether a version was appended
+     */
+    boolean add(long atNanos, Score score) {
+        if (size > 0 && homeTeamScores[size - 1] == score.homeTeamScore()
+                && awayTeamScores[size - 1] == score.awayTeamScore()) {
+            return false;
+        }
+        if (size == changedAtNanos.length) {
+            changedAtNanos = Arrays.copyOf(changedAtNanos, size * 2);
+            homeTeamScores = Arrays.copyOf(homeTeamScores, size * 2);
+            awayTeamScores = Arrays.copyOf(awayTeamScores, size * 2);
+        }
+        changedAtNanos[size] = atNanos;
+        homeTeamScores[size] = score.homeTeamScore();
+        awayTeamScores[size] = score.awayTeamScore();
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the game with the score it had at the given time, which must not be before the game started
+     */
+    GameDto asOf(long atNanos) {
+        var version = versionAt(atNanos);
+        return new GameDto(id, homeTeam, awayTeam,
+                new Score(homeTeamScores[version], awayTeamScores[version]), createdAt);
+    }
+
+    /**
+     * Drops the versions superseded before the given time, keeping the one that was current at that time.
+     */
+    void discardBefore(long atNanos) {
+        var first = versionAt(atNanos);
+        if (first == 0) {
+            return;
+        }
+        size -= first;
+        System.arraycopy(changedAtNanos, first, changedAtNanos, 0, size);
+        System.arraycopy(homeTeamScores, first, homeTeamScores, 0, size);
+        System.arraycopy(awayTeamScores, first, awayTeamScores, 0, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Index of the last version changed at or before the time; the first version if none was.
+    private int versionAt(long atNanos) {
+        var low = 0;
+        var high = size - 1;
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+            if (changedAtNanos[middle] <= atNanos) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,132 @@
+package org.szymonrysz.history;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} decorator that records every change in a {@link GameHistory}.
+ * <p>
+ * Changes are applied and recorded under one lock, so two updates of the same game cannot be recorded
+ * in a different order than they took effect.
+ */
+public class HistoryRecordingGameRepository implements GameRepository {
+
+    private final GameRepository delegate;
+    private final GameHistory gameHistory;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public HistoryRecordingGameRepository(GameRepository delegate, GameHistory gameHistory) {
+        this.delegate = delegate;
+        this.gameHistory = gameHistory;
+    }
+
+    @Override
+    public Game save(Game game) {
+        writeLock.lock();
+        try {
+            var savedGame = delegate.save(game);
+            gameHistory.recordSaved(savedGame);
+            return savedGame;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        writeLock.lock();
+        try {
+            var savedGame = delegate.saveIfTeamsAvailable(game);
+            savedGame.ifPresent(gameHistory::recordSaved);
+            return savedGame;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        writeLock.lock();
+        try {
+            if (!delegate.saveAllIfTeamsAvailable(games)) {
+                return false;
+            }
+            games.forEach(gameHistory::recordSaved);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        writeLock.lock();
+        try {
+            if (!delegate.saveAllIfLive(games)) {
+                return false;
+            }
+            games.forEach(gameHistory::recordSaved);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        writeLock.lock();
+        try {
+            delegate.deleteById(id);
+            gameHistory.recordDeleted(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int rankOf(UUID id) {
+        return delegate.rankOf(id);
+    }
+
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        return delegate.findAllInRankOrder();
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        return delegate.existsByTeamName(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        return delegate.findByTeamName(teamName);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return delegate.getTeamRegistry();
+    }
+}
@@ -0,0 +1,24 @@
+package org.szymonrysz.history;
+
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the board looked like in the past. Boards that keep no history simply do not have one, so asking
+ * for a past summary cannot fail for lack of it.
+ */
+public interface ScoreBoardHistory {
+
+    /**
+     * @return games live at the given instant with the scores they had then, in summary order
+     * @throws IllegalArgumentException when the instant is older than the kept history
+     */
+    List<GameDto> getSummary(Instant asOf);
+
+    /**
+     * @return the earliest instant {@link #getSummary(Instant)} can answer for
+     */
+    Instant getOldestQueryableInstant();
+}
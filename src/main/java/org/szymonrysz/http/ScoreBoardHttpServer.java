@@ -0,0 +1,248 @@
+package org.szymonrysz.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.szymonrysz.service.ScoreBoardService;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-only HTTP endpoint of a board, on the JDK's built-in server:
+ * <ul>
+ *     <li>{@code GET /summary} - the whole summary,</li>
+ *     <li>{@code GET /summary?limit=N} - its top {@code N} games,</li>
+ *     <li>{@code GET /teams/{name}} - the game the team is playing, {@code 404} when it is not playing; names
+ *     are matched the way the board's {@link TeamRegistry} matches them.</li>
+ * </ul>
+ * The summary is serialised once per version of the board, the first time a request sees that version, and
+ * every view is written from those bytes. Responses carry the version as their ETag, prefixed with a random
+ * epoch of the server instance so that a restarted server counting versions from zero again never matches
+ * the tags of its predecessor, and a request whose {@code If-None-Match} still matches it gets
+ * {@code 304 Not Modified} without a body.
+ * <p>
+ * The JDK server flushes the headers before the body is written, so unless it sets {@code TCP_NODELAY} every
+ * body waits for the client's delayed ACK, some 40 ms. It only does when the JVM is started with
+ * {@code -Dsun.net.httpserver.nodelay=true}, which deployments of this server are expected to pass.
+ */
+public class ScoreBoardHttpServer implements AutoCloseable {
+
+    static final String SUMMARY_PATH = "/summary";
+    static final String TEAMS_PATH = "/teams/";
+
+    private static final String LIMIT_PARAMETER = "limit=";
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final byte[] ARRAY_END = {']'};
+
+    private final ScoreBoardService scoreBoardService;
+    private final TeamRegistry teamRegistry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Object serialiseLock = new Object();
+    private final LongAdder serialisations = new LongAdder();
+    private final String etagEpoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private volatile SerialisedSummary serialised;
+
+    public ScoreBoardHttpServer(ScoreBoardService scoreBoardService, InetSocketAddress address) throws IOException {
+        this(scoreBoardService, address, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Binds the given address, port {@code 0} picking a free one, and starts serving requests on the given
+     * number of threads.
+     */
+    public ScoreBoardHttpServer(ScoreBoardService scoreBoardService, InetSocketAddress address, int threads)
+            throws IOException {
+        this.scoreBoardService = scoreBoardService;
+        this.teamRegistry = scoreBoardService.getTeamRegistry();
+        var threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "score-board-http-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(address, 0);
+        server.createContext(SUMMARY_PATH, this::handleSummary);
+        server.createContext(TEAMS_PATH, this::handleTeam);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return number of times the summary has been serialised, at most one per version of the board
+     */
+    public long getSerialisationCount() {
+        return serialisations.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try {
+            if (!acceptsMethod(exchange)) {
+                return;
+            }
+            if (!SUMMARY_PATH.equals(exchange.getRequestURI().getPath())) {
+                sendStatus(exchange, 404);
+                return;
+            }
+            int limit;
+            try {
+                limit = parseLimit(exchange.getRequestURI().getRawQuery());
+            } catch (IllegalArgumentException e) {
+                sendStatus(exchange, 400);
+                return;
+            }
+
+            var summary = currentSummary();
+            if (isNotModified(exchange, summary)) {
+                return;
+            }
+            if (limit >= summary.size()) {
+                sendBody(exchange, summary, 0, summary.body().length, false);
+            } else {
+                sendBody(exchange, summary, 0, summary.prefixLength(limit), true);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleTeam(HttpExchange exchange) throws IOException {
+        try {
+            if (!acceptsMethod(exchange)) {
+                return;
+            }
+            var teamName = exchange.getRequestURI().getPath().substring(TEAMS_PATH.length());
+            var summary = currentSummary();
+            var index = teamName.isEmpty() ? -1 : summary.indexOfTeam(teamRegistry.keyOf(teamName));
+            if (index < 0) {
+                sendStatus(exchange, 404);
+                return;
+            }
+            if (isNotModified(exchange, summary)) {
+                return;
+            }
+            var start = summary.gameStarts()[index];
+            sendBody(exchange, summary, start, summary.gameEnds()[index] - start, false);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Returns the serialised summary of the board's current version, serialising it if no request has seen
+     * that version yet. Requests that queue up behind a serialisation find it done and reuse it.
+     */
+    private SerialisedSummary currentSummary() {
+        var snapshot = scoreBoardService.getSnapshot();
+        var current = serialised;
+        if (current != null && current.version() >= snapshot.version()) {
+            return current;
+        }
+        synchronized (serialiseLock) {
+            current = serialised;
+            if (current == null || current.version() < snapshot.version()) {
+                serialisations.increment();
+                current = SummaryJson.serialise(snapshot, etagEpoch, teamRegistry);
+                serialised = current;
+            }
+            return current;
+        }
+    }
+
+    private static boolean acceptsMethod(HttpExchange exchange) throws IOException {
+        var method = exchange.getRequestMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        sendStatus(exchange, 405);
+        return false;
+    }
+
+    /**
+     * @return the requested number of games, or {@link Integer#MAX_VALUE} when the query sets no limit
+     * @throws IllegalArgumentException when the limit is not a non-negative number
+     */
+    static int parseLimit(String query) {
+        if (query == null) {
+            return Integer.MAX_VALUE;
+        }
+        for (var parameter : query.split("&")) {
+            if (parameter.startsWith(LIMIT_PARAMETER)) {
+                var limit = Integer.parseInt(parameter.substring(LIMIT_PARAMETER.length()));
+                if (limit < 0) {
+                    throw new IllegalArgumentException("Limit cannot be negative.");
+                }
+                return limit;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Answers with {@code 304} when the request's {@code If-None-Match} lists the current ETag. Compared weakly,
+     * as the standard asks for this header.
+     */
+    private static boolean isNotModified(HttpExchange exchange, SerialisedSummary summary) throws IOException {
+        var ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch == null || !matches(ifNoneMatch, summary.etag())) {
+            return false;
+        }
+        exchange.getResponseHeaders().set("ETag", summary.etag());
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(304, -1);
+        return true;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sendBody(HttpExchange exchange, SerialisedSummary summary, int offset, int length,
+                                 boolean closeArray) throws IOException {
+        var headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", CONTENT_TYPE);
+        headers.set("ETag", summary.etag());
+        headers.set("Cache-Control", "no-cache");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        exchange.sendResponseHeaders(200, length + (closeArray ? ARRAY_END.length : 0));
+        var body = exchange.getResponseBody();
+        body.write(summary.body(), offset, length);
+        if (closeArray) {
+            body.write(ARRAY_END);
+        }
+    }
+
+    private static void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+}
@@ -0,0 +1,31 @@
+package org.szymonrysz.http;
+
+import java.util.Map;
+
+/**
+ * JSON of one version of the summary: an array of games, with the offset where each game ends, so the top-N
+ * and per-team views are served as slices of the same bytes instead of being serialised on their own.
+ */
+record SerialisedSummary(long version, String etag, byte[] body, int[] gameStarts, int[] gameEnds,
+                         Map<String, Integer> gameIndexByTeam) {
+
+    int size() {
+        return gameEnds.length;
+    }
+
+    /**
+     * @return length of the prefix of {@link #body()} holding the opening bracket and the first {@code limit}
+     * games, to be followed by a closing bracket
+     */
+    int prefixLength(int limit) {
+        return limit == 0 ? 1 : gameEnds[limit - 1];
+    }
+
+    /**
+     * @param teamKey the team's name as keyed by {@link org.szymonrysz.team.TeamRegistry#keyOf(String)}
+     * @return index of the game the team is playing, or {@code -1} when it is not on the board
+     */
+    int indexOfTeam(String teamKey) {
+        return gameIndexByTeam.getOrDefault(teamKey, -1);
+    }
+}
@@ -0,0 +1,120 @@
+package org.szymonrysz.http;
+
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Writes the summary as JSON straight into a byte array. The format is fixed and small enough that a JSON
+ * library would only add a dependency:
+ * <pre>
+ * [{"id":"...","homeTeam":"Mexico","awayTeam":"Canada","homeScore":0,"awayScore":5,"createdAt":"2024-..."}]
+ * </pre>
+ */
+final class SummaryJson {
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int length;
+
+    private SummaryJson(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * @param etagEpoch    tells apart the ETags of server instances, whose board versions may coincide
+     * @param teamRegistry keys the per-team index, so names the board treats as one team find the same game
+     */
+    static SerialisedSummary serialise(ScoreBoardSnapshot snapshot, String etagEpoch, TeamRegistry teamRegistry) {
+        var games = snapshot.games();
+        var json = new SummaryJson(Math.max(64, games.size() * 128));
+        var gameStarts = new int[games.size()];
+        var gameEnds = new int[games.size()];
+        var gameIndexByTeam = new HashMap<String, Integer>(games.size() * 4);
+
+        json.writeByte('[');
+        for (int i = 0; i < games.size(); i++) {
+            if (i > 0) {
+                json.writeByte(',');
+            }
+            var game = games.get(i);
+            gameStarts[i] = json.length;
+            json.writeGame(game);
+            gameEnds[i] = json.length;
+            gameIndexByTeam.put(teamRegistry.keyOf(game.homeTeam().name()), i);
+            gameIndexByTeam.put(teamRegistry.keyOf(game.awayTeam().name()), i);
+        }
+        json.writeByte(']');
+
+        return new SerialisedSummary(snapshot.version(), "\"" + etagEpoch + "-" + snapshot.version() + "\"",
+                Arrays.copyOf(json.buffer, json.length), gameStarts, gameEnds, gameIndexByTeam);
+    }
+
+    private void writeGame(GameDto game) {
+        writeAscii("{\"id\":\"");
+        writeAscii(game.id().toString());
+        writeAscii("\",\"homeTeam\":");
+        writeString(game.homeTeam().name());
+        writeAscii(",\"awayTeam\":");
+        writeString(game.awayTeam().name());
+        writeAscii(",\"homeScore\":");
+        writeAscii(Integer.toString(game.score().homeTeamScore()));
+        writeAscii(",\"awayScore\":");
+        writeAscii(Integer.toString(game.score().awayTeamScore()));
+        writeAscii(",\"createdAt\":\"");
+        writeAscii(game.createdAt().toString());
+        writeAscii("\"}");
+    }
+
+    // Team names are the only free text, so they are the only values that need escaping.
+    private void writeString(String value) {
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writeByte('\\');
+                writeByte(c);
+            } else if (c < 0x20) {
+                writeAscii("\\u00");
+                writeByte(HEX_DIGITS[c >> 4]);
+                writeByte(HEX_DIGITS[c & 0xF]);
+            } else if (c < 0x80) {
+                writeByte(c);
+            } else {
+                var end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+                writeBytes(value.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                i = end - 1;
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[length++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.szymonrysz.journal;
+
+/**
+ * When the journal forces written records to disk.
+ */
+public enum FsyncPolicy {
+    /**
+     * Every change is on disk before the call returns. Writers waiting at the same time share one fsync.
+     */
+    ALWAYS,
+    /**
+     * A background task forces the journal at a fixed interval; a crash may lose the last interval.
+     */
+    PERIODIC,
+    /**
+     * The operating system decides; the journal is only forced when it is closed.
+     */
+    NEVER
+}
@@ -0,0 +1,13 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.repository.GameRepository;
+
+import java.util.UUID;
+
+public record GameDeleted(UUID id) implements GameMutation {
+
+    @Override
+    public void applyTo(GameRepository gameRepository) {
+        gameRepository.deleteById(id);
+    }
+}
@@ -0,0 +1,11 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.repository.GameRepository;
+
+/**
+ * Single change of a repository, as written to the journal.
+ */
+public sealed interface GameMutation permits GameSaved, GameDeleted {
+
+    void applyTo(GameRepository gameRepository);
+}
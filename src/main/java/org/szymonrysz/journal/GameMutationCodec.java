@@ -0,0 +1,132 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary framing of {@link GameMutation}s: {@code [int payload length][int CRC32C of payload][payload]}.
+ * A save carries the whole game (id, team names, score, createdAt), a delete only the id.
+ */
+public final class GameMutationCodec {
+
+    public static final int HEADER_SIZE = Integer.BYTES * 2;
+    public static final int MAX_RECORD_SIZE = 4096;
+
+    private static final byte SAVED = 1;
+    private static final byte DELETED = 2;
+
+    private GameMutationCodec() {
+    }
+
+    /**
+     * Writes one framed record at the buffer's position.
+     *
+     * @throws IllegalArgumentException when a team name is longer than {@link Team#MAX_NAME_BYTES}
+     */
+    public static void encode(GameMutation mutation, ByteBuffer target) {
+        var frameStart = target.position();
+        target.position(frameStart + HEADER_SIZE);
+        if (mutation instanceof GameSaved saved) {
+            target.put(SAVED);
+            writeGame(saved.game(), target);
+        } else if (mutation instanceof GameDeleted deleted) {
+            target.put(DELETED);
+            writeUuid(deleted.id(), target);
+        }
+        var frameEnd = target.position();
+        var payloadLength = frameEnd - frameStart - HEADER_SIZE;
+
+        target.putInt(frameStart, payloadLength);
+        target.putInt(frameStart + Integer.BYTES, checksum(target, frameStart + HEADER_SIZE, payloadLength));
+    }
+
+    /**
+     * Reads one framed record at the buffer's position.
+     *
+     * @return the record, or {@code null} (leaving the position untouched) when the buffer ends mid-record
+     * @throws IllegalArgumentException when the record is corrupted
+     */
+    public static GameMutation decode(ByteBuffer source) {
+        var frameStart = source.position();
+        if (source.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        var payloadLength = source.getInt(frameStart);
+        if (payloadLength <= 0 || payloadLength > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Corrupted record at position " + frameStart + ".");
+        }
+        if (source.remaining() < HEADER_SIZE + payloadLength) {
+            return null;
+        }
+        if (source.getInt(frameStart + Integer.BYTES) != checksum(source, frameStart + HEADER_SIZE, payloadLength)) {
+            throw new IllegalArgumentException("Checksum mismatch of record at position " + frameStart + ".");
+        }
+
+        source.position(frameStart + HEADER_SIZE);
+        var type = source.get();
+        GameMutation mutation = switch (type) {
+            case SAVED -> new GameSaved(readGame(source));
+            case DELETED -> new GameDeleted(readUuid(source));
+            default -> throw new IllegalArgumentException("Unknown record type " + type + ".");
+        };
+        source.position(frameStart + HEADER_SIZE + payloadLength);
+        return mutation;
+    }
+
+    public static void writeGame(Game game, ByteBuffer target) {
+        writeUuid(game.getId(), target);
+        writeString(game.getHomeTeam().name(), target);
+        writeString(game.getAwayTeam().name(), target);
+        target.putInt(game.getScore().homeTeamScore());
+        target.putInt(game.getScore().awayTeamScore());
+        target.putLong(game.getCreatedAt().getEpochSecond());
+        target.putInt(game.getCreatedAt().getNano());
+    }
+
+    public static Game readGame(ByteBuffer source) {
+        return Game.builder()
+                .id(readUuid(source))
+                .homeTeam(new Team(readString(source)))
+                .awayTeam(new Team(readString(source)))
+                .score(new Score(source.getInt(), source.getInt()))
+                .createdAt(Instant.ofEpochSecond(source.getLong(), source.getInt()))
+                .build();
+    }
+
+    private static void writeUuid(UUID id, ByteBuffer target) {
+        target.putLong(id.getMostSignificantBits());
+        target.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer source) {
+        return new UUID(source.getLong(), source.getLong());
+    }
+
+    private static void writeString(String value, ByteBuffer target) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Team.MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Team name cannot be longer than " + Team.MAX_NAME_BYTES + " bytes.");
+        }
+        target.putShort((short) bytes.length);
+        target.put(bytes);
+    }
+
+    private static String readString(ByteBuffer source) {
+        var bytes = new byte[Short.toUnsignedInt(source.getShort())];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,17 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameRepository;
+
+public record GameSaved(Game game) implements GameMutation {
+
+    @Override
+    public void applyTo(GameRepository gameRepository) {
+        // Repositories only update live games through save, so a game seen for the first time is inserted.
+        if (gameRepository.findById(game.getId()).isPresent()) {
+            gameRepository.save(game);
+        } else if (gameRepository.saveIfTeamsAvailable(game).isEmpty()) {
+            throw new IllegalStateException("Teams of the game " + game.getId() + " are already playing.");
+        }
+    }
+}
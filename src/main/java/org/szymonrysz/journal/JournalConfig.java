@@ -0,0 +1,34 @@
+package org.szymonrysz.journal;
+
+import lombok.Builder;
+import lombok.Value;
+import org.szymonrysz.repository.GameIdGenerator;
+import org.szymonrysz.repository.TimeOrderedGameIdGenerator;
+
+import java.time.Duration;
+
+@Value
+@Builder
+public class JournalConfig {
+
+    @Builder.Default
+    FsyncPolicy fsyncPolicy = FsyncPolicy.ALWAYS;
+
+    /**
+     * How often the journal is forced under {@link FsyncPolicy#PERIODIC}.
+     */
+    @Builder.Default
+    Duration syncInterval = Duration.ofMillis(10);
+
+    /**
+     * How often a snapshot is taken in the background, or {@code null} to take them only on demand.
+     */
+    Duration snapshotInterval;
+
+    /**
+     * Gives new games their ids before they are journaled, as the record has to be written before the wrapped
+     * repository sees the game.
+     */
+    @Builder.Default
+    GameIdGenerator gameIdGenerator = new TimeOrderedGameIdGenerator();
+}
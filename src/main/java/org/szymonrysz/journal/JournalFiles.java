@@ -0,0 +1,51 @@
+package org.szymonrysz.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Layout of a journal directory. Segment {@code n} holds the records written after snapshot {@code n}
+ * was taken, so recovery loads the newest snapshot and replays the segments numbered from it onwards.
+ */
+final class JournalFiles {
+
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d{19})\\.journal");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{19})\\.snapshot");
+
+    private JournalFiles() {
+    }
+
+    static Path segment(Path directory, long number) {
+        return directory.resolve(String.format("segment-%019d.journal", number));
+    }
+
+    static Path snapshot(Path directory, long number) {
+        return directory.resolve(String.format("snapshot-%019d.snapshot", number));
+    }
+
+    static Path temporarySnapshot(Path directory, long number) {
+        return directory.resolve(String.format("snapshot-%019d.tmp", number));
+    }
+
+    static List<Long> segmentNumbers(Path directory) throws IOException {
+        return numbers(directory, SEGMENT);
+    }
+
+    static List<Long> snapshotNumbers(Path directory) throws IOException {
+        return numbers(directory, SNAPSHOT);
+    }
+
+    private static List<Long> numbers(Path directory, Pattern pattern) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
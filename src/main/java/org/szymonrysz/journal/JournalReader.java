@@ -0,0 +1,63 @@
+package org.szymonrysz.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+final class JournalReader {
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private JournalReader() {
+    }
+
+    /**
+     * Feeds every intact record of the file to the consumer, in order. A corrupted record is skipped by
+     * scanning forward, one byte at a time, for the next record whose checksum matches, so one bad write does
+     * not take the records after it down with it.
+     *
+     * @return end of the last intact record of the file; anything after it is a torn or corrupted write
+     */
+    static long replay(Path file, Consumer<GameMutation> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            long bufferStart = 0;
+            long validLength = 0;
+            var endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    var recordStart = buffer.position();
+                    GameMutation mutation;
+                    try {
+                        mutation = GameMutationCodec.decode(buffer);
+                    } catch (IllegalArgumentException e) {
+                        buffer.position(recordStart + 1);
+                        continue;
+                    }
+                    if (mutation != null) {
+                        consumer.accept(mutation);
+                        validLength = bufferStart + buffer.position();
+                    } else if (endOfFile) {
+                        // a torn record at the end may still hide a whole one behind its header
+                        buffer.position(recordStart + 1);
+                    } else {
+                        break;
+                    }
+                }
+                bufferStart += buffer.position();
+                buffer.compact();
+            }
+            return validLength;
+        }
+    }
+}
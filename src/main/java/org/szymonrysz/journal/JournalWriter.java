@@ -0,0 +1,126 @@
+package org.szymonrysz.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends records to the end of one journal file. Appends must be serialized by the caller,
+ * waiting for durability may happen concurrently.
+ */
+class JournalWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(
+            GameMutationCodec.HEADER_SIZE + GameMutationCodec.MAX_RECORD_SIZE);
+    private final Object syncLock = new Object();
+    private final ScheduledExecutorService syncScheduler;
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+
+    JournalWriter(Path file, long validLength, FsyncPolicy fsyncPolicy, Duration syncInterval) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.truncate(validLength);
+        this.channel.position(validLength);
+        this.fsyncPolicy = fsyncPolicy;
+        this.writtenPosition = validLength;
+        this.syncedPosition = validLength;
+
+        if (fsyncPolicy == FsyncPolicy.PERIODIC) {
+            syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var intervalNanos = syncInterval.toNanos();
+            syncScheduler.scheduleAtFixedRate(this::sync, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        } else {
+            syncScheduler = null;
+        }
+    }
+
+    /**
+     * @return position in the file right after the appended record
+     */
+    long append(GameMutation mutation) {
+        buffer.clear();
+        GameMutationCodec.encode(mutation, buffer);
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            writtenPosition = channel.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writtenPosition;
+    }
+
+    /**
+     * Returns once the record ending at the given position is as durable as the fsync policy promises.
+     */
+    void awaitDurable(long position) {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS && syncedPosition < position) {
+            sync();
+        }
+    }
+
+    /**
+     * Cuts off the records written after the given position, taking back an append whose change was not applied.
+     * A cut into records that were already forced is forced as well, so they cannot come back after a crash.
+     */
+    void truncate(long position) {
+        synchronized (syncLock) {
+            try {
+                channel.truncate(position);
+                channel.position(position);
+                writtenPosition = position;
+                if (syncedPosition > position) {
+                    channel.force(true);
+                    syncedPosition = position;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    long size() {
+        return writtenPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (syncScheduler != null) {
+            syncScheduler.shutdownNow();
+        }
+        sync();
+        channel.close();
+    }
+
+    // The first waiting writer forces everything written so far; the ones queued behind it usually
+    // find their record already covered.
+    private void sync() {
+        synchronized (syncLock) {
+            var target = writtenPosition;
+            if (syncedPosition >= target) {
+                return;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            syncedPosition = target;
+        }
+    }
+}
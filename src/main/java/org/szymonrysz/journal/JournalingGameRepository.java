@@ -0,0 +1,338 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} decorator that appends every change to a journal before applying it,
+ * and rebuilds the wrapped repository from the journal directory when opened.
+ * <p>
+ * Changes are appended and applied under one lock, so the journal holds them in the order they took
+ * effect; a change the wrapped repository rejects has its record cut off again. New games get their ids
+ * here, as the record needs them before the wrapped repository sees the game. Waiting for the fsync happens
+ * outside of the lock, letting concurrent writers share one fsync.
+ * <p>
+ * A snapshot starts a new journal segment and copies the live games while holding the lock; encoding
+ * and writing the copy happens afterwards, so writers only wait for an in-memory copy of the board.
+ * Once the snapshot is on disk, older segments and snapshots are deleted.
+ */
+public class JournalingGameRepository implements GameRepository, AutoCloseable {
+
+    private static final int SNAPSHOT_BUFFER_SIZE = 1 << 16;
+
+    private final GameRepository delegate;
+    private final Path directory;
+    private final JournalConfig config;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService snapshotScheduler;
+    private volatile JournalWriter journal;
+    private long segmentNumber;
+
+    private JournalingGameRepository(GameRepository delegate, Path directory, JournalConfig config, long segmentNumber,
+                                     JournalWriter journal) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.config = config;
+        this.segmentNumber = segmentNumber;
+        this.journal = journal;
+
+        if (config.getSnapshotInterval() != null) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "journal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var intervalNanos = config.getSnapshotInterval().toNanos();
+            snapshotScheduler.scheduleWithFixedDelay(this::takeScheduledSnapshot, intervalNanos, intervalNanos,
+                    TimeUnit.NANOSECONDS);
+        } else {
+            snapshotScheduler = null;
+        }
+    }
+
+    public static JournalingGameRepository open(Path directory, GameRepository delegate, FsyncPolicy fsyncPolicy)
+            throws IOException {
+        return open(directory, delegate, JournalConfig.builder().fsyncPolicy(fsyncPolicy).build());
+    }
+
+    /**
+     * Loads the newest snapshot into the (empty) delegate, replays the segments written after it and opens
+     * the last segment for appending. A torn record at the end of it, left by a crash in the middle
+     * of a write, is cut off; a corrupted record in the middle is skipped.
+     */
+    public static JournalingGameRepository open(Path directory, GameRepository delegate, JournalConfig config)
+            throws IOException {
+        Files.createDirectories(directory);
+        var snapshotNumbers = JournalFiles.snapshotNumbers(directory);
+        var firstSegment = 0L;
+        if (!snapshotNumbers.isEmpty()) {
+            firstSegment = snapshotNumbers.get(snapshotNumbers.size() - 1);
+            JournalReader.replay(JournalFiles.snapshot(directory, firstSegment), mutation -> mutation.applyTo(delegate));
+        }
+
+        var lastSegment = firstSegment;
+        var validLength = 0L;
+        for (var segment : JournalFiles.segmentNumbers(directory)) {
+            if (segment >= firstSegment) {
+                lastSegment = segment;
+                validLength = JournalReader.replay(JournalFiles.segment(directory, segment),
+                        mutation -> mutation.applyTo(delegate));
+            }
+        }
+
+        var journal = new JournalWriter(JournalFiles.segment(directory, lastSegment), validLength,
+                config.getFsyncPolicy(), config.getSyncInterval());
+        return new JournalingGameRepository(delegate, directory, config, lastSegment, journal);
+    }
+
+    @Override
+    public Game save(Game game) {
+        if (game.getId() == null) {
+            startNewGames(List.of(game), () -> {
+                if (delegate.saveIfTeamsAvailable(game).isEmpty()) {
+                    throw new GameRulesViolationException(WriteAheadSupport.TEAM_UNAVAILABLE_MESSAGE);
+                }
+                return true;
+            });
+            return game;
+        }
+        append(List.of(new GameSaved(game)), () -> {
+            delegate.save(game);
+            return true;
+        });
+        return game;
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        if (isPlaying(game)) {
+            return Optional.empty();
+        }
+        var saved = startNewGames(List.of(game), () -> delegate.saveIfTeamsAvailable(game).isPresent());
+        return saved ? Optional.of(game) : Optional.empty();
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        if (games.isEmpty()) {
+            return delegate.saveAllIfTeamsAvailable(games);
+        }
+        if (games.stream().anyMatch(this::isPlaying)) {
+            return false;
+        }
+        return startNewGames(games, () -> delegate.saveAllIfTeamsAvailable(games));
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        if (games.isEmpty()) {
+            return delegate.saveAllIfLive(games);
+        }
+        return append(games.stream().map(GameSaved::new).toList(), () -> delegate.saveAllIfLive(games));
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        append(List.of(new GameDeleted(id)), () -> {
+            delegate.deleteById(id);
+            return true;
+        });
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int rankOf(UUID id) {
+        return delegate.rankOf(id);
+    }
+
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        return delegate.findAllInRankOrder();
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        return delegate.existsByTeamName(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        return delegate.findByTeamName(teamName);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return delegate.getTeamRegistry();
+    }
+
+    /**
+     * Writes the current board to a snapshot file and deletes the journal segments it makes obsolete.
+     */
+    public void takeSnapshot() {
+        snapshotLock.lock();
+        try {
+            long snapshotNumber;
+            List<Game> games;
+            writeLock.lock();
+            try {
+                journal.close();
+                snapshotNumber = ++segmentNumber;
+                journal = new JournalWriter(JournalFiles.segment(directory, snapshotNumber), 0,
+                        config.getFsyncPolicy(), config.getSyncInterval());
+                games = delegate.findAll()
+                        .map(WriteAheadSupport::copyOf)
+                        .toList();
+            } finally {
+                writeLock.unlock();
+            }
+
+            writeSnapshot(snapshotNumber, games);
+            deleteOlderThan(snapshotNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        snapshotLock.lock();
+        writeLock.lock();
+        try {
+            journal.close();
+        } finally {
+            writeLock.unlock();
+            snapshotLock.unlock();
+        }
+    }
+
+    private void takeScheduledSnapshot() {
+        try {
+            takeSnapshot();
+        } catch (UncheckedIOException e) {
+            // the journal still holds every change, the next interval retries
+        }
+    }
+
+    /**
+     * Writes the mutations ahead of applying the change they describe, then waits for one fsync covering all
+     * of them. Encoding happens first, so a mutation that cannot be journaled fails before anything is written.
+     * When the change throws or reports it was not applied, the records are cut off again.
+     *
+     * @return whether the change was applied
+     */
+    private boolean append(List<? extends GameMutation> mutations, BooleanSupplier change) {
+        JournalWriter writer;
+        var position = -1L;
+        writeLock.lock();
+        try {
+            writer = journal;
+            var previousPosition = writer.size();
+            try {
+                for (var mutation : mutations) {
+                    position = writer.append(mutation);
+                }
+                if (!change.getAsBoolean()) {
+                    writer.truncate(previousPosition);
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                writer.truncate(previousPosition);
+                throw e;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        writer.awaitDurable(position);
+        return true;
+    }
+
+    private boolean startNewGames(List<Game> games, BooleanSupplier change) {
+        return WriteAheadSupport.startNewGames(games, config.getGameIdGenerator(),
+                mutations -> append(mutations, change));
+    }
+
+    // Lets a start that is bound to be rejected skip the write and the truncation that would undo it.
+    private boolean isPlaying(Game game) {
+        return delegate.existsByTeamName(game.getHomeTeam().name())
+                || delegate.existsByTeamName(game.getAwayTeam().name());
+    }
+
+    private void writeSnapshot(long snapshotNumber, List<Game> games) throws IOException {
+        var temporaryFile = JournalFiles.temporarySnapshot(directory, snapshotNumber);
+        try (var channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var buffer = ByteBuffer.allocateDirect(SNAPSHOT_BUFFER_SIZE);
+            for (var game : games) {
+                if (buffer.remaining() < GameMutationCodec.HEADER_SIZE + GameMutationCodec.MAX_RECORD_SIZE) {
+                    flush(buffer, channel);
+                }
+                GameMutationCodec.encode(new GameSaved(game), buffer);
+            }
+            flush(buffer, channel);
+            channel.force(true);
+        }
+        Files.move(temporaryFile, JournalFiles.snapshot(directory, snapshotNumber), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void deleteOlderThan(long snapshotNumber) throws IOException {
+        for (var segment : JournalFiles.segmentNumbers(directory)) {
+            if (segment < snapshotNumber) {
+                Files.deleteIfExists(JournalFiles.segment(directory, segment));
+            }
+        }
+        for (var snapshot : JournalFiles.snapshotNumbers(directory)) {
+            if (snapshot < snapshotNumber) {
+                Files.deleteIfExists(JournalFiles.snapshot(directory, snapshot));
+            }
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
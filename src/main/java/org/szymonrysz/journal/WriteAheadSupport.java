@@ -0,0 +1,54 @@
+package org.szymonrysz.journal;
+
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameIdGenerator;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Steps shared by the {@link org.szymonrysz.repository.GameRepository} decorators that record a change before
+ * the wrapped repository applies it: the journal, and replication on the leader.
+ */
+public final class WriteAheadSupport {
+
+    public static final String TEAM_UNAVAILABLE_MESSAGE = "The team must be available (not currently playing)" +
+            " to start the game.";
+
+    private WriteAheadSupport() {
+    }
+
+    /**
+     * Gives the games without an id one, as the records need them before the wrapped repository sees the games,
+     * and hands the records to the decorator. Games that end up not started get their ids taken back, so they
+     * can be saved again as new ones.
+     *
+     * @param record records the mutations and applies the change, reporting whether it was applied
+     * @return whether the games were started
+     */
+    public static boolean startNewGames(List<Game> games, GameIdGenerator gameIdGenerator,
+                                        Predicate<List<GameSaved>> record) {
+        var withoutIds = games.stream()
+                .filter(game -> game.getId() == null)
+                .toList();
+        withoutIds.forEach(game -> game.setId(gameIdGenerator.nextId()));
+        var started = false;
+        try {
+            started = record.test(games.stream().map(GameSaved::new).toList());
+            return started;
+        } finally {
+            if (!started) {
+                withoutIds.forEach(game -> game.setId(null));
+            }
+        }
+    }
+
+    /**
+     * Copies a stored game for a snapshot that is encoded after the decorator's lock is released. The service
+     * saves copies and never changes a stored game, but {@link Game} is mutable and repository callers may
+     * change an instance they saved; the copy keeps the snapshot at the state it was taken in.
+     */
+    public static Game copyOf(Game game) {
+        return game.toBuilder().build();
+    }
+}
@@ -0,0 +1,7 @@
+package org.szymonrysz.metrics;
+
+/**
+ * Latencies in nanoseconds. Percentiles are upper bounds of the histogram buckets they fall into.
+ */
+public record HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+}
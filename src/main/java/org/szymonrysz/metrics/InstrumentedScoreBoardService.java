@@ -0,0 +1,213 @@
+package org.szymonrysz.metrics;
+
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+import org.szymonrysz.service.BatchItemResult;
+import org.szymonrysz.service.BatchMode;
+import org.szymonrysz.service.ScoreBoardService;
+import org.szymonrysz.service.SnapshotCacheStats;
+import org.szymonrysz.service.SummaryBuffer;
+import org.szymonrysz.service.SummaryVisitor;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link ScoreBoardService} decorator recording the latency and outcome of every call in {@link ScoreBoardMetrics}.
+ * All summary reads are recorded as one {@code getSummary} operation. Recording only bumps
+ * {@link java.util.concurrent.atomic.LongAdder}s, so it neither allocates nor makes callers contend with each other.
+ */
+public class InstrumentedScoreBoardService implements ScoreBoardService {
+
+    private final ScoreBoardService delegate;
+    private final ScoreBoardMetrics metrics;
+
+    public InstrumentedScoreBoardService(ScoreBoardService delegate) {
+        this.delegate = delegate;
+        this.metrics = new ScoreBoardMetrics(delegate::getLiveGameCount, delegate::getSnapshotCacheStats);
+    }
+
+    public ScoreBoardMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public GameDto startGame(Team homeTeam, Team awayTeam) {
+        var start = System.nanoTime();
+        try {
+            var game = delegate.startGame(homeTeam, awayTeam);
+            metrics.startGame().recordSuccess(System.nanoTime() - start);
+            return game;
+        } catch (RuntimeException e) {
+            metrics.startGame().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void finishGame(UUID gameId) {
+        var start = System.nanoTime();
+        try {
+            delegate.finishGame(gameId);
+            metrics.finishGame().recordSuccess(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            metrics.finishGame().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public GameDto updateScore(UUID gameId, Score score) {
+        var start = System.nanoTime();
+        try {
+            var game = delegate.updateScore(gameId, score);
+            metrics.updateScore().recordSuccess(System.nanoTime() - start);
+            return game;
+        } catch (RuntimeException e) {
+            metrics.updateScore().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<BatchItemResult> startGames(List<TeamPair> teams) {
+        return startGames(teams, BatchMode.ALL_OR_NOTHING);
+    }
+
+    @Override
+    public List<BatchItemResult> startGames(List<TeamPair> teams, BatchMode mode) {
+        var start = System.nanoTime();
+        try {
+            var results = delegate.startGames(teams, mode);
+            metrics.startGames().recordSuccess(System.nanoTime() - start);
+            return results;
+        } catch (RuntimeException e) {
+            metrics.startGames().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores) {
+        return updateScores(scores, BatchMode.ALL_OR_NOTHING);
+    }
+
+    @Override
+    public Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores, BatchMode mode) {
+        var start = System.nanoTime();
+        try {
+            var results = delegate.updateScores(scores, mode);
+            metrics.updateScores().recordSuccess(System.nanoTime() - start);
+            return results;
+        } catch (RuntimeException e) {
+            metrics.updateScores().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<GameDto> getSummary() {
+        var start = System.nanoTime();
+        try {
+            var summary = delegate.getSummary();
+            metrics.getSummary().recordSuccess(System.nanoTime() - start);
+            return summary;
+        } catch (RuntimeException e) {
+            metrics.getSummary().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<GameDto> getSummary(int limit) {
+        var start = System.nanoTime();
+        try {
+            var summary = delegate.getSummary(limit);
+            metrics.getSummary().recordSuccess(System.nanoTime() - start);
+            return summary;
+        } catch (RuntimeException e) {
+            metrics.getSummary().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<GameDto> getSummary(int offset, int limit) {
+        var start = System.nanoTime();
+        try {
+            var summary = delegate.getSummary(offset, limit);
+            metrics.getSummary().recordSuccess(System.nanoTime() - start);
+            return summary;
+        } catch (RuntimeException e) {
+            metrics.getSummary().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public ScoreBoardSnapshot getSnapshot() {
+        return delegate.getSnapshot();
+    }
+
+    @Override
+    public long getLiveGameCount() {
+        return delegate.getLiveGameCount();
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return delegate.getTeamRegistry();
+    }
+
+    @Override
+    public SnapshotCacheStats getSnapshotCacheStats() {
+        return delegate.getSnapshotCacheStats();
+    }
+
+    @Override
+    public void forEachInRankOrder(SummaryVisitor visitor) {
+        var start = System.nanoTime();
+        try {
+            delegate.forEachInRankOrder(visitor);
+            metrics.getSummary().recordSuccess(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            metrics.getSummary().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void readSummary(SummaryBuffer buffer) {
+        var start = System.nanoTime();
+        try {
+            delegate.readSummary(buffer);
+            metrics.getSummary().recordSuccess(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            metrics.getSummary().recordFailure(e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Subscription subscribe(ScoreBoardListener listener) {
+        return delegate.subscribe(listener);
+    }
+
+    @Override
+    public Subscription subscribe(ScoreBoardListener listener, SubscriptionConfig config) {
+        return delegate.subscribe(listener, config);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
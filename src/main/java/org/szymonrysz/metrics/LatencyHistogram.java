@@ -0,0 +1,91 @@
+package org.szymonrysz.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the spirit of HdrHistogram: values below 64 ns get their own bucket,
+ * larger ones are split into 32 sub-buckets per power of two, which keeps the relative error around 3%.
+ * <p>
+ * Every bucket is a {@link LongAdder}, so concurrent recordings land in per-thread cells instead of
+ * contending on one counter, and recording allocates nothing once the cells exist.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FIRST_LOGARITHMIC_MAGNITUDE = 6;
+    private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - 1 - FIRST_LOGARITHMIC_MAGNITUDE) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        buckets[bucketOf(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public HistogramSnapshot snapshot() {
+        var counts = new long[BUCKETS];
+        var total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new HistogramSnapshot(
+                total,
+                total == 0 ? 0 : (double) sum.sum() / count.sum(),
+                valueAtPercentile(counts, total, 50),
+                valueAtPercentile(counts, total, 90),
+                valueAtPercentile(counts, total, 99),
+                valueAtPercentile(counts, total, 99.9),
+                max.get()
+        );
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        var magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (magnitude - FIRST_LOGARITHMIC_MAGNITUDE) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        var magnitude = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + FIRST_LOGARITHMIC_MAGNITUDE;
+        var subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        var width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + width - 1;
+    }
+
+    private static long valueAtPercentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        var rank = (long) Math.ceil(total * percentile / 100);
+        var seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return highestValueOf(counts.length - 1);
+    }
+}
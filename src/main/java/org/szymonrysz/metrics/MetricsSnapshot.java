@@ -0,0 +1,14 @@
+package org.szymonrysz.metrics;
+
+import org.szymonrysz.service.SnapshotCacheStats;
+
+import java.util.Map;
+
+/**
+ * @param liveGames     number of games on the board when the snapshot was taken
+ * @param snapshotCache hits and misses of the board's summary snapshot
+ * @param operations    per-operation counters and latencies, keyed by operation name
+ */
+public record MetricsSnapshot(long liveGames, SnapshotCacheStats snapshotCache,
+                              Map<String, OperationSnapshot> operations) {
+}
@@ -0,0 +1,41 @@
+package org.szymonrysz.metrics;
+
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder gameNotFoundFailures = new LongAdder();
+    private final LongAdder gameRulesViolationFailures = new LongAdder();
+    private final LongAdder otherFailures = new LongAdder();
+
+    public void recordSuccess(long nanos) {
+        latency.record(nanos);
+        successes.increment();
+    }
+
+    public void recordFailure(RuntimeException failure, long nanos) {
+        latency.record(nanos);
+        if (failure instanceof GameNotFoundException) {
+            gameNotFoundFailures.increment();
+        } else if (failure instanceof GameRulesViolationException) {
+            gameRulesViolationFailures.increment();
+        } else {
+            otherFailures.increment();
+        }
+    }
+
+    public OperationSnapshot snapshot() {
+        return new OperationSnapshot(
+                successes.sum(),
+                gameNotFoundFailures.sum(),
+                gameRulesViolationFailures.sum(),
+                otherFailures.sum(),
+                latency.snapshot()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package org.szymonrysz.metrics;
+
+public record OperationSnapshot(
+        long successes,
+        long gameNotFoundFailures,
+        long gameRulesViolationFailures,
+        long otherFailures,
+        HistogramSnapshot latency) {
+}
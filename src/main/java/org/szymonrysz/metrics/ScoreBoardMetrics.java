@@ -0,0 +1,151 @@
+package org.szymonrysz.metrics;
+
+import org.szymonrysz.service.SnapshotCacheStats;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics recorded by {@link InstrumentedScoreBoardService}: one {@link OperationMetrics} per
+ * operation, a gauge of the games currently on the board and the hits and misses of the board's snapshot.
+ */
+public class ScoreBoardMetrics implements ScoreBoardMetricsMXBean {
+
+    public static final String START_GAME = "startGame";
+    public static final String FINISH_GAME = "finishGame";
+    public static final String UPDATE_SCORE = "updateScore";
+    public static final String START_GAMES = "startGames";
+    public static final String UPDATE_SCORES = "updateScores";
+    public static final String GET_SUMMARY = "getSummary";
+
+    private final OperationMetrics startGame = new OperationMetrics();
+    private final OperationMetrics finishGame = new OperationMetrics();
+    private final OperationMetrics updateScore = new OperationMetrics();
+    private final OperationMetrics startGames = new OperationMetrics();
+    private final OperationMetrics updateScores = new OperationMetrics();
+    private final OperationMetrics getSummary = new OperationMetrics();
+    private final LongSupplier liveGames;
+    private final Supplier<SnapshotCacheStats> snapshotCache;
+
+    public ScoreBoardMetrics(LongSupplier liveGames, Supplier<SnapshotCacheStats> snapshotCache) {
+        this.liveGames = liveGames;
+        this.snapshotCache = snapshotCache;
+    }
+
+    public OperationMetrics startGame() {
+        return startGame;
+    }
+
+    public OperationMetrics finishGame() {
+        return finishGame;
+    }
+
+    public OperationMetrics updateScore() {
+        return updateScore;
+    }
+
+    public OperationMetrics startGames() {
+        return startGames;
+    }
+
+    public OperationMetrics updateScores() {
+        return updateScores;
+    }
+
+    public OperationMetrics getSummary() {
+        return getSummary;
+    }
+
+    public MetricsSnapshot snapshot() {
+        var operations = new LinkedHashMap<String, OperationSnapshot>();
+        operations.put(START_GAME, startGame.snapshot());
+        operations.put(FINISH_GAME, finishGame.snapshot());
+        operations.put(UPDATE_SCORE, updateScore.snapshot());
+        operations.put(START_GAMES, startGames.snapshot());
+        operations.put(UPDATE_SCORES, updateScores.snapshot());
+        operations.put(GET_SUMMARY, getSummary.snapshot());
+        return new MetricsSnapshot(liveGames.getAsLong(), snapshotCache.get(),
+                Collections.unmodifiableMap(operations));
+    }
+
+    /**
+     * Hands a fresh {@link #snapshot()} to the reporter at a fixed rate, on a daemon thread.
+     *
+     * @return the scheduler; shut it down to stop reporting
+     */
+    public ScheduledExecutorService reportPeriodically(Duration interval, Consumer<MetricsSnapshot> reporter) {
+        var scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "score-board-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var intervalNanos = interval.toNanos();
+        scheduler.scheduleAtFixedRate(() -> reporter.accept(snapshot()), intervalNanos, intervalNanos,
+                TimeUnit.NANOSECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Registers this instance in the platform MBean server under the given name.
+     */
+    public void registerMBean(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register MBean " + objectName + ".", e);
+        }
+    }
+
+    @Override
+    public long getLiveGames() {
+        return liveGames.getAsLong();
+    }
+
+    @Override
+    public long getSnapshotHits() {
+        return snapshotCache.get().hits();
+    }
+
+    @Override
+    public long getSnapshotMisses() {
+        return snapshotCache.get().misses();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        var counters = new LinkedHashMap<String, Long>();
+        snapshot().operations().forEach((operation, metrics) -> {
+            counters.put(operation + ".successes", metrics.successes());
+            counters.put(operation + ".gameNotFoundFailures", metrics.gameNotFoundFailures());
+            counters.put(operation + ".gameRulesViolationFailures", metrics.gameRulesViolationFailures());
+            counters.put(operation + ".otherFailures", metrics.otherFailures());
+        });
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+        var latencies = new LinkedHashMap<String, Long>();
+        snapshot().operations().forEach((operation, metrics) -> {
+            var latency = metrics.latency();
+            latencies.put(operation + ".count", latency.count());
+            latencies.put(operation + ".p50Nanos", latency.p50());
+            latencies.put(operation + ".p90Nanos", latency.p90());
+            latencies.put(operation + ".p99Nanos", latency.p99());
+            latencies.put(operation + ".p999Nanos", latency.p999());
+            latencies.put(operation + ".maxNanos", latency.max());
+        });
+        return latencies;
+    }
+}
@@ -0,0 +1,26 @@
+package org.szymonrysz.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ScoreBoardMetrics}. Keys are {@code <operation>.<metric>},
+ * e.g. {@code updateScore.successes} or {@code getSummary.p99Nanos}.
+ */
+public interface ScoreBoardMetricsMXBean {
+
+    long getLiveGames();
+
+    /**
+     * Summary reads answered from the published snapshot.
+     */
+    long getSnapshotHits();
+
+    /**
+     * Summary reads that had to rebuild the snapshot after a change.
+     */
+    long getSnapshotMisses();
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getLatencies();
+}
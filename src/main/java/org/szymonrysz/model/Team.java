@@ -1,4 +1,9 @@
 package org.szymonrysz.model;
 
 public record Team(String name) {
-}
\ No newline at end of file
+
+    /**
+     * Longest name, in UTF-8 bytes, that fits the journal and replication records.
+     */
+    public static final int MAX_NAME_BYTES = 1024;
+}
@@ -0,0 +1,4 @@
+package org.szymonrysz.model;
+
+public record TeamPair(Team homeTeam, Team awayTeam) {
+}
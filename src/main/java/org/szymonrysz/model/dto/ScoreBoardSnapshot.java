@@ -0,0 +1,27 @@
+package org.szymonrysz.model.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of the board in summary order. The version grows with every published change,
+ * so two snapshots with the same version hold the same games.
+ */
+public record ScoreBoardSnapshot(long version, List<GameDto> games) {
+
+    public ScoreBoardSnapshot {
+        games = List.copyOf(games);
+    }
+
+    /**
+     * Returns the 1-based position of the game in the summary, or 0 when the game is not on the board.
+     */
+    public int rankOf(UUID gameId) {
+        for (int i = 0; i < games.size(); i++) {
+            if (games.get(i).id().equals(gameId)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,216 @@
+package org.szymonrysz.replication;
+
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.journal.GameDeleted;
+import org.szymonrysz.journal.GameMutation;
+import org.szymonrysz.journal.GameSaved;
+import org.szymonrysz.journal.WriteAheadSupport;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.repository.GameIdGenerator;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.repository.TimeOrderedGameIdGenerator;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} decorator on the leader that numbers every change and keeps the most recent ones,
+ * encoded, for a {@link ReplicationLeader} to stream to followers.
+ * <p>
+ * Like the journal, every change is encoded ahead of being applied and logged once the delegate has applied
+ * it, all under one lock, so sequence numbers follow the order in which changes took effect, and a snapshot
+ * taken under the same lock matches its sequence exactly. New games get their ids here, so they can be
+ * encoded before the delegate sees them.
+ */
+public class ReplicatingGameRepository implements GameRepository {
+
+    public static final int DEFAULT_LOG_CAPACITY = 1 << 16;
+
+    private final GameRepository delegate;
+    private final Clock clock;
+    private final GameIdGenerator gameIdGenerator;
+    private final ReplicationLog log;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteBuffer frameBuffer = ByteBuffer.allocate(ReplicationProtocol.MAX_FRAME_SIZE);
+    private volatile Runnable appendListener = () -> {
+    };
+
+    public ReplicatingGameRepository(GameRepository delegate, Clock clock) {
+        this(delegate, clock, DEFAULT_LOG_CAPACITY);
+    }
+
+    /**
+     * @param logCapacity how many changes a follower may fall behind and still catch up without a snapshot
+     */
+    public ReplicatingGameRepository(GameRepository delegate, Clock clock, int logCapacity) {
+        this(delegate, clock, logCapacity, new TimeOrderedGameIdGenerator());
+    }
+
+    /**
+     * @param gameIdGenerator numbers new games before they are encoded and handed to the delegate
+     */
+    public ReplicatingGameRepository(GameRepository delegate, Clock clock, int logCapacity,
+                                     GameIdGenerator gameIdGenerator) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.gameIdGenerator = gameIdGenerator;
+        this.log = new ReplicationLog(logCapacity);
+    }
+
+    @Override
+    public Game save(Game game) {
+        if (game.getId() == null) {
+            startNewGames(List.of(game), () -> {
+                if (delegate.saveIfTeamsAvailable(game).isEmpty()) {
+                    throw new GameRulesViolationException(WriteAheadSupport.TEAM_UNAVAILABLE_MESSAGE);
+                }
+                return true;
+            });
+            return game;
+        }
+        append(List.of(new GameSaved(game)), () -> {
+            delegate.save(game);
+            return true;
+        });
+        return game;
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        var saved = startNewGames(List.of(game), () -> delegate.saveIfTeamsAvailable(game).isPresent());
+        return saved ? Optional.of(game) : Optional.empty();
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        return startNewGames(games, () -> delegate.saveAllIfTeamsAvailable(games));
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        return append(games.stream().map(GameSaved::new).toList(), () -> delegate.saveAllIfLive(games));
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        append(List.of(new GameDeleted(id)), () -> {
+            delegate.deleteById(id);
+            return true;
+        });
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int rankOf(UUID id) {
+        return delegate.rankOf(id);
+    }
+
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        return delegate.findAllInRankOrder();
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        return delegate.existsByTeamName(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        return delegate.findByTeamName(teamName);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return delegate.getTeamRegistry();
+    }
+
+    /**
+     * @return sequence of the last change, {@code 0} before the first one
+     */
+    public long getLastSequence() {
+        return log.lastSequence();
+    }
+
+    ReplicationLog getLog() {
+        return log;
+    }
+
+    void setAppendListener(Runnable appendListener) {
+        this.appendListener = appendListener;
+    }
+
+    ReplicationSnapshot snapshot() {
+        writeLock.lock();
+        try {
+            var games = delegate.findAll()
+                    .map(WriteAheadSupport::copyOf)
+                    .toList();
+            return new ReplicationSnapshot(log.lastSequence(), games);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Encodes the mutations, applies the change and logs the frames only if the change reports it was applied.
+     * Encoding first means a mutation that cannot be encoded fails before the delegate sees it, and the frames
+     * hold exactly the games handed to the delegate, whatever happens to those objects afterwards.
+     *
+     * @return whether the change was applied
+     */
+    private boolean append(List<? extends GameMutation> mutations, BooleanSupplier change) {
+        writeLock.lock();
+        try {
+            var frames = encode(mutations);
+            if (!change.getAsBoolean()) {
+                return false;
+            }
+            frames.forEach(log::append);
+        } finally {
+            writeLock.unlock();
+        }
+        appendListener.run();
+        return true;
+    }
+
+    private boolean startNewGames(List<Game> games, BooleanSupplier change) {
+        return WriteAheadSupport.startNewGames(games, gameIdGenerator, mutations -> append(mutations, change));
+    }
+
+    // Numbered from the last logged sequence: only the holder of the write lock appends.
+    private List<byte[]> encode(List<? extends GameMutation> mutations) {
+        var sequence = log.lastSequence();
+        var committedAtMillis = clock.millis();
+        var frames = new ArrayList<byte[]>(mutations.size());
+        for (var mutation : mutations) {
+            frameBuffer.clear();
+            ReplicationProtocol.writeMutation(++sequence, committedAtMillis, mutation, frameBuffer);
+            frames.add(Arrays.copyOf(frameBuffer.array(), frameBuffer.position()));
+        }
+        return frames;
+    }
+}
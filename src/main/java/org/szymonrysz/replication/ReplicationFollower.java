@@ -0,0 +1,233 @@
+package org.szymonrysz.replication;
+
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.journal.GameMutationCodec;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.GameRepository;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a local repository in sync with a {@link ReplicationLeader} and serves the summary from it.
+ * <p>
+ * A background thread applies the leader's changes in order. A change that does not directly follow the last
+ * one applied means the stream lost something: the follower drops the connection and asks again for the
+ * changes after the last one it applied, as it does after any disconnect. If the leader no longer has them,
+ * it sends the whole board, which is loaded into a fresh repository and swapped in once complete, so the
+ * summary keeps showing the previous board in the meantime. The summary is rebuilt from the local
+ * repository on the first read after a change.
+ */
+public class ReplicationFollower implements AutoCloseable {
+
+    private static final int INPUT_BUFFER_SIZE = 1 << 16;
+
+    private final InetSocketAddress leaderAddress;
+    private final Supplier<? extends GameRepository> repositoryFactory;
+    private final GameConverter gameConverter;
+    private final Clock clock;
+    private final Duration reconnectDelay;
+    private final Thread thread;
+    private final Object summaryLock = new Object();
+    private volatile boolean closed;
+    private volatile SocketChannel channel;
+    private volatile boolean connected;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lastApplyDelayMillis;
+    private volatile long snapshotsLoaded;
+    private volatile long appliedChanges;
+    private volatile GameRepository repository;
+    private GameRepository loadingRepository;
+    private long loadingSequence;
+    private long summaryVersion = -1;
+    private List<GameDto> summary = List.of();
+
+    /**
+     * @param repositoryFactory creates the empty repository the board starts from and every snapshot is loaded into
+     */
+    public ReplicationFollower(InetSocketAddress leaderAddress, Supplier<? extends GameRepository> repositoryFactory,
+                               GameConverter gameConverter, Clock clock, Duration reconnectDelay) {
+        this(leaderAddress, repositoryFactory.get(), repositoryFactory, gameConverter, clock, reconnectDelay, 0);
+    }
+
+    /**
+     * @param repository      board to resume from, holding every change up to the applied sequence
+     * @param appliedSequence last change already present in the repository
+     */
+    public ReplicationFollower(InetSocketAddress leaderAddress, GameRepository repository,
+                               Supplier<? extends GameRepository> repositoryFactory, GameConverter gameConverter,
+                               Clock clock, Duration reconnectDelay, long appliedSequence) {
+        this.leaderAddress = leaderAddress;
+        this.repository = repository;
+        this.repositoryFactory = repositoryFactory;
+        this.gameConverter = gameConverter;
+        this.clock = clock;
+        this.reconnectDelay = reconnectDelay;
+        this.appliedSequence = appliedSequence;
+        this.leaderSequence = appliedSequence;
+
+        thread = new Thread(this::replicate, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public List<GameDto> getSummary() {
+        synchronized (summaryLock) {
+            var version = appliedChanges;
+            if (version != summaryVersion) {
+                summary = repository.findAllInRankOrder()
+                        .map(gameConverter::toDto)
+                        .toList();
+                summaryVersion = version;
+            }
+            return summary;
+        }
+    }
+
+    public List<GameDto> getSummary(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be non-negative.");
+        }
+        var games = getSummary();
+        return games.subList(0, Math.min(limit, games.size()));
+    }
+
+    /**
+     * @return the repository the summary is served from; a loaded snapshot replaces it
+     */
+    public GameRepository getRepository() {
+        return repository;
+    }
+
+    public ReplicationStatus getStatus() {
+        return new ReplicationStatus(connected, appliedSequence, leaderSequence,
+                Duration.ofMillis(lastApplyDelayMillis), snapshotsLoaded);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        var currentChannel = channel;
+        if (currentChannel != null) {
+            currentChannel.close();
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replicate() {
+        while (!closed) {
+            try (var socketChannel = SocketChannel.open()) {
+                channel = socketChannel;
+                if (closed) {
+                    return;
+                }
+                socketChannel.connect(leaderAddress);
+                connected = true;
+                stream(socketChannel);
+            } catch (IOException | RuntimeException e) {
+                // connection lost or refused: retry after the delay, resuming from the last applied change
+            } finally {
+                connected = false;
+            }
+            awaitReconnect();
+        }
+    }
+
+    private void stream(SocketChannel socketChannel) throws IOException {
+        // the connection broke in the middle of a snapshot: the leader sends a new one if still needed
+        loadingRepository = null;
+        var handshake = ByteBuffer.allocate(ReplicationProtocol.HANDSHAKE_SIZE);
+        handshake.putLong(0, appliedSequence + 1);
+        while (handshake.hasRemaining()) {
+            socketChannel.write(handshake);
+        }
+
+        var input = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
+        while (socketChannel.read(input) >= 0) {
+            input.flip();
+            int frameSize;
+            while ((frameSize = ReplicationProtocol.frameSize(input)) >= 0 && input.remaining() >= frameSize) {
+                var frameEnd = input.position() + frameSize;
+                apply(input);
+                input.position(frameEnd);
+            }
+            input.compact();
+        }
+    }
+
+    private void apply(ByteBuffer frame) {
+        var type = frame.get();
+        var sequence = frame.getLong();
+        leaderSequence = Math.max(leaderSequence, sequence);
+        switch (type) {
+            case ReplicationProtocol.MUTATION -> {
+                var committedAtMillis = frame.getLong();
+                var mutation = GameMutationCodec.decode(frame);
+                if (mutation == null) {
+                    throw new IllegalStateException("Incomplete replication frame.");
+                }
+                if (loadingRepository != null) {
+                    // every game of a snapshot carries the snapshot's sequence
+                    expectSequence(loadingSequence, sequence);
+                    mutation.applyTo(loadingRepository);
+                    return;
+                }
+                expectSequence(appliedSequence + 1, sequence);
+                mutation.applyTo(repository);
+                lastApplyDelayMillis = Math.max(0, clock.millis() - committedAtMillis);
+                appliedSequence = sequence;
+            }
+            case ReplicationProtocol.SNAPSHOT_START -> {
+                // loaded aside, the board being served stays whole until the snapshot is
+                loadingRepository = repositoryFactory.get();
+                loadingSequence = sequence;
+                return;
+            }
+            case ReplicationProtocol.SNAPSHOT_END -> {
+                if (loadingRepository == null) {
+                    throw new IllegalStateException("Snapshot ended before it started.");
+                }
+                expectSequence(loadingSequence, sequence);
+                repository = loadingRepository;
+                loadingRepository = null;
+                appliedSequence = sequence;
+                snapshotsLoaded++;
+            }
+            case ReplicationProtocol.HEARTBEAT -> {
+                return;
+            }
+            default -> throw new IllegalStateException("Unknown replication frame type " + type + ".");
+        }
+        appliedChanges++;
+    }
+
+    // Thrown out of the stream, so the follower reconnects and asks for the changes after the last one applied.
+    private static void expectSequence(long expected, long actual) {
+        if (actual != expected) {
+            throw new IllegalStateException("Expected replication frame " + expected + " but got " + actual + ".");
+        }
+    }
+
+    private void awaitReconnect() {
+        if (closed) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.szymonrysz.replication;
+
+import org.szymonrysz.journal.GameSaved;
+import org.szymonrysz.model.Game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+
+/**
+ * Streams the changes of a {@link ReplicatingGameRepository} to any number of {@link ReplicationFollower}s.
+ * <p>
+ * A single thread serves all followers through one {@link Selector}, writing to each only as fast as it reads,
+ * so a slow follower falls behind on its own instead of slowing down the leader. A follower that falls
+ * further behind than the replication log reaches gets a snapshot of the board and continues from there.
+ */
+public class ReplicationLeader implements AutoCloseable {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final ReplicatingGameRepository repository;
+    private final Clock clock;
+    private final Duration heartbeatInterval;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile int followerCount;
+    private long lastHeartbeatNanos = System.nanoTime();
+
+    /**
+     * Binds the given address, port {@code 0} picking a free one, and starts serving followers.
+     */
+    public ReplicationLeader(ReplicatingGameRepository repository, InetSocketAddress address, Clock clock,
+                             Duration heartbeatInterval) throws IOException {
+        this.repository = repository;
+        this.clock = clock;
+        this.heartbeatInterval = heartbeatInterval;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        repository.setAppendListener(selector::wakeup);
+        thread = new Thread(this::serve, "replication-leader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return number of connected followers, as of the last pass over the connections
+     */
+    public int getFollowerCount() {
+        return followerCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        repository.setAppendListener(() -> {
+        });
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void serve() {
+        try (selector; serverChannel) {
+            while (!closed) {
+                selector.select(Math.max(1, heartbeatInterval.toMillis()));
+                var now = System.nanoTime();
+                var heartbeat = now - lastHeartbeatNanos >= heartbeatInterval.toNanos();
+                if (heartbeat) {
+                    lastHeartbeatNanos = now;
+                }
+
+                for (Iterator<SelectionKey> keys = selector.selectedKeys().iterator(); keys.hasNext(); ) {
+                    var key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    }
+                }
+                var followers = 0;
+                for (var key : selector.keys()) {
+                    if (key.isValid() && key.attachment() instanceof FollowerConnection) {
+                        serve(key, heartbeat);
+                        followers += key.isValid() ? 1 : 0;
+                    }
+                }
+                followerCount = followers;
+            }
+            for (var key : selector.keys()) {
+                key.channel().close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void accept() throws IOException {
+        var channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new FollowerConnection());
+        }
+    }
+
+    // A follower is dropped on any I/O error; it reconnects and resumes from its last applied sequence.
+    private void serve(SelectionKey key, boolean heartbeat) {
+        var channel = (SocketChannel) key.channel();
+        var follower = (FollowerConnection) key.attachment();
+        try {
+            if (key.isReadable() && !follower.readHandshake(channel)) {
+                key.cancel();
+                channel.close();
+                return;
+            }
+            if (!follower.isStreaming()) {
+                return;
+            }
+            follower.fill(heartbeat);
+            follower.write(channel);
+            key.interestOps(follower.hasPendingOutput()
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : SelectionKey.OP_READ);
+        } catch (IOException e) {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+        }
+    }
+
+    private class FollowerConnection {
+
+        private final ByteBuffer handshake = ByteBuffer.allocate(ReplicationProtocol.HANDSHAKE_SIZE);
+        private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+        private long nextSequence = -1;
+        private Iterator<Game> snapshotGames;
+        private long snapshotSequence;
+
+        /**
+         * @return whether the connection is still open
+         */
+        private boolean readHandshake(SocketChannel channel) throws IOException {
+            if (handshake.hasRemaining()) {
+                if (channel.read(handshake) < 0) {
+                    return false;
+                }
+                if (!handshake.hasRemaining()) {
+                    var requestedSequence = handshake.getLong(0);
+                    if (repository.getLog().canReplayFrom(requestedSequence)) {
+                        nextSequence = requestedSequence;
+                    } else {
+                        startSnapshot();
+                    }
+                }
+                return true;
+            }
+            // Followers send nothing after the handshake, reading only detects a closed connection.
+            return channel.read(ByteBuffer.allocate(1)) >= 0;
+        }
+
+        private boolean isStreaming() {
+            return !handshake.hasRemaining();
+        }
+
+        private void fill(boolean heartbeat) {
+            while (output.remaining() >= ReplicationProtocol.MAX_FRAME_SIZE) {
+                if (snapshotGames != null) {
+                    fillSnapshot();
+                } else {
+                    var copiedUpTo = repository.getLog().copyFrom(nextSequence, output);
+                    if (copiedUpTo == ReplicationLog.EVICTED) {
+                        startSnapshot();
+                    } else if (copiedUpTo == nextSequence) {
+                        break;
+                    } else {
+                        nextSequence = copiedUpTo;
+                    }
+                }
+            }
+            if (heartbeat && output.remaining() >= ReplicationProtocol.CONTROL_FRAME_SIZE) {
+                ReplicationProtocol.writeControl(ReplicationProtocol.HEARTBEAT, repository.getLastSequence(), output);
+            }
+        }
+
+        private void startSnapshot() {
+            var snapshot = repository.snapshot();
+            snapshotSequence = snapshot.sequence();
+            snapshotGames = snapshot.games().iterator();
+            ReplicationProtocol.writeControl(ReplicationProtocol.SNAPSHOT_START, snapshotSequence, output);
+        }
+
+        private void fillSnapshot() {
+            if (snapshotGames.hasNext()) {
+                ReplicationProtocol.writeMutation(snapshotSequence, clock.millis(), new GameSaved(snapshotGames.next()),
+                        output);
+                return;
+            }
+            ReplicationProtocol.writeControl(ReplicationProtocol.SNAPSHOT_END, snapshotSequence, output);
+            snapshotGames = null;
+            nextSequence = snapshotSequence + 1;
+        }
+
+        private void write(SocketChannel channel) throws IOException {
+            output.flip();
+            try {
+                channel.write(output);
+            } finally {
+                output.compact();
+            }
+        }
+
+        private boolean hasPendingOutput() {
+            return output.position() > 0 || snapshotGames != null
+                    || nextSequence <= repository.getLastSequence();
+        }
+    }
+}
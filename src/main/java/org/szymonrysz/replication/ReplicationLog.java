@@ -0,0 +1,61 @@
+package org.szymonrysz.replication;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The most recent encoded {@link ReplicationProtocol#MUTATION} frames, numbered by sequence from 1.
+ * Older frames are overwritten once the log is full; a follower asking for one of them needs a snapshot.
+ */
+class ReplicationLog {
+
+    static final long EVICTED = -1;
+
+    private final byte[][] frames;
+    private long lastSequence;
+
+    ReplicationLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of the replication log must be positive.");
+        }
+        this.frames = new byte[capacity][];
+    }
+
+    synchronized long append(byte[] frame) {
+        lastSequence++;
+        frames[(int) ((lastSequence - 1) % frames.length)] = frame;
+        return lastSequence;
+    }
+
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return whether every frame from the given sequence onwards is still in the log
+     */
+    synchronized boolean canReplayFrom(long sequence) {
+        return sequence >= 1 && sequence > lastSequence - frames.length && sequence <= lastSequence + 1;
+    }
+
+    /**
+     * Copies frames from the given sequence for as long as they fit into the target. Checked under the same lock
+     * as the copy, so a frame cannot be overwritten between the check and the copy.
+     *
+     * @return the sequence of the first frame not copied, or {@link #EVICTED} when the frame with the given
+     * sequence has been overwritten already and nothing was copied
+     */
+    synchronized long copyFrom(long sequence, ByteBuffer target) {
+        if (sequence <= lastSequence - frames.length) {
+            return EVICTED;
+        }
+        while (sequence <= lastSequence) {
+            var frame = frames[(int) ((sequence - 1) % frames.length)];
+            if (frame.length > target.remaining()) {
+                break;
+            }
+            target.put(frame);
+            sequence++;
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,63 @@
+package org.szymonrysz.replication;
+
+import org.szymonrysz.journal.GameMutation;
+import org.szymonrysz.journal.GameMutationCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Frames sent from the leader to a follower. Every frame starts with {@code [byte type][long sequence]}:
+ * <ul>
+ *     <li>{@link #MUTATION} continues with {@code [long committed at, epoch millis]} and one
+ *     {@link GameMutationCodec} record,</li>
+ *     <li>{@link #SNAPSHOT_START} and {@link #SNAPSHOT_END} enclose the mutations that rebuild the whole board
+ *     as of the sequence, sent when the follower is too far behind to catch up from the log,</li>
+ *     <li>{@link #HEARTBEAT} carries the leader's last sequence, so an idle follower still knows its lag.</li>
+ * </ul>
+ * A follower opens the stream with {@code [long sequence]}: the first sequence it has not applied yet.
+ */
+final class ReplicationProtocol {
+
+    static final byte MUTATION = 1;
+    static final byte SNAPSHOT_START = 2;
+    static final byte SNAPSHOT_END = 3;
+    static final byte HEARTBEAT = 4;
+
+    static final int CONTROL_FRAME_SIZE = Byte.BYTES + Long.BYTES;
+    static final int MUTATION_HEADER_SIZE = CONTROL_FRAME_SIZE + Long.BYTES;
+    static final int MAX_FRAME_SIZE = MUTATION_HEADER_SIZE + GameMutationCodec.HEADER_SIZE
+            + GameMutationCodec.MAX_RECORD_SIZE;
+    static final int HANDSHAKE_SIZE = Long.BYTES;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeMutation(long sequence, long committedAtMillis, GameMutation mutation, ByteBuffer target) {
+        target.put(MUTATION);
+        target.putLong(sequence);
+        target.putLong(committedAtMillis);
+        GameMutationCodec.encode(mutation, target);
+    }
+
+    static void writeControl(byte type, long sequence, ByteBuffer target) {
+        target.put(type);
+        target.putLong(sequence);
+    }
+
+    /**
+     * @return size of the frame at the buffer's position, or {@code -1} when too little of it has arrived to tell
+     */
+    static int frameSize(ByteBuffer source) {
+        var frameStart = source.position();
+        if (source.remaining() < 1) {
+            return -1;
+        }
+        if (source.get(frameStart) != MUTATION) {
+            return CONTROL_FRAME_SIZE;
+        }
+        if (source.remaining() < MUTATION_HEADER_SIZE + Integer.BYTES) {
+            return -1;
+        }
+        return MUTATION_HEADER_SIZE + GameMutationCodec.HEADER_SIZE + source.getInt(frameStart + MUTATION_HEADER_SIZE);
+    }
+}
@@ -0,0 +1,11 @@
+package org.szymonrysz.replication;
+
+import org.szymonrysz.model.Game;
+
+import java.util.List;
+
+/**
+ * Copies of all live games as of the given sequence.
+ */
+record ReplicationSnapshot(long sequence, List<Game> games) {
+}
@@ -0,0 +1,22 @@
+package org.szymonrysz.replication;
+
+import java.time.Duration;
+
+/**
+ * State of a follower.
+ *
+ * @param appliedSequence  last change applied locally, {@code 0} while a snapshot is being loaded
+ * @param leaderSequence   last change the follower knows the leader made
+ * @param lastApplyDelay   time from the leader committing the last applied change to applying it here
+ * @param snapshotsLoaded  how many times the follower was too far behind and reloaded the whole board
+ */
+public record ReplicationStatus(boolean connected, long appliedSequence, long leaderSequence,
+                                Duration lastApplyDelay, long snapshotsLoaded) {
+
+    /**
+     * @return how many changes the follower is behind the leader
+     */
+    public long lag() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+}
@@ -0,0 +1,442 @@
+package org.szymonrysz.repository;
+
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe {@link GameRepository}.
+ * <p>
+ * Team occupancy is guarded by a fixed set of striped locks keyed by team id, so reserving both teams
+ * of a new game and inserting it happens as one step. Score updates of an already live game only lock
+ * that game's entry in the map, so updates of different games do not contend with each other.
+ * <p>
+ * Single changes and rank-order reads share a read-write lock that batch updates take exclusively, so a batch
+ * of score updates is applied as one step for readers of the ranking. Moving a game within the ranking takes
+ * a second, ranking lock exclusively, so a rank-order read never catches a game between its old and new
+ * position.
+ */
+public class ConcurrentGameRepository implements GameRepository {
+
+    private static final int DEFAULT_LOCK_STRIPES = 64;
+    private static final String TEAM_UNAVAILABLE_MESSAGE = "The team must be available (not currently playing)" +
+            " to start the game.";
+
+    private final ConcurrentHashMap<UUID, Game> gamesMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, RankingKey> rankingKeys = new ConcurrentHashMap<>();
+    private final RankingIndex ranking = new RankingIndex();
+    private final TeamOccupancy teamIndex = new TeamOccupancy();
+    private final TeamRegistry teamRegistry;
+    private final GameIdGenerator gameIdGenerator;
+    private final ReentrantLock[] teamLocks;
+    private final ReentrantReadWriteLock batchLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock rankingLock = new ReentrantReadWriteLock();
+
+    public ConcurrentGameRepository() {
+        this(new TeamRegistry());
+    }
+
+    public ConcurrentGameRepository(TeamRegistry teamRegistry) {
+        this(teamRegistry, DEFAULT_LOCK_STRIPES);
+    }
+
+    public ConcurrentGameRepository(int lockStripes) {
+        this(new TeamRegistry(), lockStripes);
+    }
+
+    public ConcurrentGameRepository(TeamRegistry teamRegistry, int lockStripes) {
+        this(teamRegistry, new TimeOrderedGameIdGenerator(), lockStripes);
+    }
+
+    public ConcurrentGameRepository(TeamRegistry teamRegistry, GameIdGenerator gameIdGenerator, int lockStripes) {
+        if (lockStripes <= 0 || Integer.bitCount(lockStripes) != 1) {
+            throw new IllegalArgumentException("Number of lock stripes must be a positive power of two.");
+        }
+        this.teamRegistry = teamRegistry;
+        this.gameIdGenerator = gameIdGenerator;
+        this.teamLocks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            teamLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Saves the game. A game without an id is inserted as a new one, as long as its teams are not playing
+     * in a different game. A game with an id replaces the live game stored under it; the check that the game
+     * is still live and the replacement happen as one step, so a game deleted in the meantime stays deleted.
+     *
+     * @throws GameNotFoundException when no live game has the id
+     */
+    @Override
+    public Game save(Game game) {
+        batchLock.readLock().lock();
+        try {
+            if (game.getId() == null) {
+                game.setId(gameIdGenerator.nextId());
+                insertOrThrow(game);
+                return game;
+            }
+
+            var updatedGame = gamesMap.computeIfPresent(game.getId(), (id, previousGame) -> {
+                if (!hasSameTeams(previousGame, game)) {
+                    return previousGame;
+                }
+                updateRanking(game);
+                return game;
+            });
+            if (updatedGame == null) {
+                throw new GameNotFoundException(game.getId());
+            }
+            if (updatedGame == game) {
+                return game;
+            }
+
+            replaceWithNewTeams(game);
+            return game;
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        batchLock.readLock().lock();
+        try {
+            if (game.getId() == null) {
+                game.setId(gameIdGenerator.nextId());
+            }
+
+            return insertIfTeamsAvailable(game) ? Optional.of(game) : Optional.empty();
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reserves the teams of all games at once: either every game is inserted or none is. The stripes of all
+     * teams involved are locked in ascending order, the same order single inserts use, so batches cannot
+     * deadlock with each other or with single inserts.
+     */
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        batchLock.readLock().lock();
+        try {
+            var teamKeys = new HashSet<String>();
+            for (var game : games) {
+                if (!teamKeys.add(teamRegistry.keyOf(game.getHomeTeam().name()))
+                        || !teamKeys.add(teamRegistry.keyOf(game.getAwayTeam().name()))
+                        || isOccupied(game.getHomeTeam().name()) || isOccupied(game.getAwayTeam().name())) {
+                    return false;
+                }
+            }
+
+            // Registered only now that the batch looks startable; the stripes are keyed by the ids.
+            var teamIds = new BitSet();
+            for (var game : games) {
+                teamIds.set(teamRegistry.register(game.getHomeTeam().name()));
+                teamIds.set(teamRegistry.register(game.getAwayTeam().name()));
+            }
+
+            var stripes = lockStripesOf(teamIds);
+            try {
+                if (teamIds.stream().anyMatch(teamIndex::isOccupied)) {
+                    return false;
+                }
+                for (var game : games) {
+                    if (game.getId() == null) {
+                        game.setId(gameIdGenerator.nextId());
+                    }
+                    insert(game);
+                }
+                return true;
+            } finally {
+                unlockStripes(stripes);
+            }
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that every game is live with the same teams and replaces them all while holding the batch lock
+     * exclusively, so neither single changes nor rank-order reads interleave with the batch.
+     */
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        batchLock.writeLock().lock();
+        try {
+            for (var game : games) {
+                var storedGame = gamesMap.get(game.getId());
+                if (storedGame == null || !hasSameTeams(storedGame, game)) {
+                    return false;
+                }
+            }
+            for (var game : games) {
+                gamesMap.computeIfPresent(game.getId(), (id, previousGame) -> {
+                    updateRanking(game);
+                    return game;
+                });
+            }
+            return true;
+        } finally {
+            batchLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        return Optional.ofNullable(gamesMap.get(id));
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        batchLock.readLock().lock();
+        try {
+            remove(id);
+        } finally {
+            batchLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        return gamesMap.values().stream();
+    }
+
+    @Override
+    public long count() {
+        return gamesMap.size();
+    }
+
+    // One descent of the ranking index, which counts the games in every subtree.
+    @Override
+    public int rankOf(UUID id) {
+        batchLock.readLock().lock();
+        rankingLock.readLock().lock();
+        try {
+            var rankingKey = rankingKeys.get(id);
+            return rankingKey == null ? 0 : ranking.rankOf(rankingKey);
+        } finally {
+            rankingLock.readLock().unlock();
+            batchLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the ranking while holding off batch updates, so the copy holds all of a batch or none of it,
+     * and while holding off moves within the ranking, so it holds every live game exactly once.
+     */
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        batchLock.readLock().lock();
+        rankingLock.readLock().lock();
+        try {
+            return ranking.values().toList().stream();
+        } finally {
+            rankingLock.readLock().unlock();
+            batchLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        return isOccupied(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        var teamId = teamRegistry.findId(teamName);
+        if (teamId == TeamRegistry.NOT_REGISTERED) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(teamIndex.get(teamId))
+                .map(gamesMap::get);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return teamRegistry;
+    }
+
+    /**
+     * @return the removed game, or {@code null} when no live game had the id
+     */
+    private Game remove(UUID id) {
+        var removedGame = new Game[1];
+        gamesMap.computeIfPresent(id, (gameId, game) -> {
+            rankingLock.writeLock().lock();
+            try {
+                var rankingKey = rankingKeys.remove(gameId);
+                if (rankingKey != null) {
+                    ranking.remove(rankingKey);
+                }
+            } finally {
+                rankingLock.writeLock().unlock();
+            }
+            removedGame[0] = game;
+            return null;
+        });
+
+        // Teams are released only once the game is gone, so a team never shows up in two live games.
+        if (removedGame[0] != null) {
+            teamIndex.release(teamIdOf(removedGame[0].getHomeTeam().name()), id);
+            teamIndex.release(teamIdOf(removedGame[0].getAwayTeam().name()), id);
+        }
+        return removedGame[0];
+    }
+
+    private void insertOrThrow(Game game) {
+        if (!insertIfTeamsAvailable(game)) {
+            throw new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE);
+        }
+    }
+
+    /**
+     * Replaces the live game with one playing different teams. The stripes of the old and the new teams are
+     * held while the new teams are checked and the game is moved, so a rejected save leaves the live game
+     * as it was.
+     *
+     * @throws GameNotFoundException       when no live game has the id
+     * @throws GameRulesViolationException when a new team is playing in a different game
+     */
+    private void replaceWithNewTeams(Game game) {
+        var id = game.getId();
+        if (isOccupiedByAnotherGame(game.getHomeTeam().name(), id)
+                || isOccupiedByAnotherGame(game.getAwayTeam().name(), id)) {
+            throw new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE);
+        }
+        var previousGame = gamesMap.get(id);
+        if (previousGame == null) {
+            throw new GameNotFoundException(id);
+        }
+
+        var homeTeamId = teamRegistry.register(game.getHomeTeam().name());
+        var awayTeamId = teamRegistry.register(game.getAwayTeam().name());
+        var teamIds = new BitSet();
+        teamIds.set(homeTeamId);
+        teamIds.set(awayTeamId);
+        teamIds.set(teamIdOf(previousGame.getHomeTeam().name()));
+        teamIds.set(teamIdOf(previousGame.getAwayTeam().name()));
+        var stripes = lockStripesOf(teamIds);
+        try {
+            if (!isFreeFor(homeTeamId, id) || !isFreeFor(awayTeamId, id)) {
+                throw new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE);
+            }
+            if (remove(id) == null) {
+                throw new GameNotFoundException(id);
+            }
+            insert(game);
+        } finally {
+            unlockStripes(stripes);
+        }
+    }
+
+    // Locks in ascending stripe order, the order every insert uses, so inserts cannot deadlock with each other.
+    private int[] lockStripesOf(BitSet teamIds) {
+        var stripes = teamIds.stream()
+                .map(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (var stripe : stripes) {
+            teamLocks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlockStripes(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            teamLocks[stripes[i]].unlock();
+        }
+    }
+
+    private boolean insertIfTeamsAvailable(Game game) {
+        // A team that is playing is registered already, so a rejected start never registers a new name.
+        if (isOccupied(game.getHomeTeam().name()) || isOccupied(game.getAwayTeam().name())) {
+            return false;
+        }
+        var homeTeamId = teamRegistry.register(game.getHomeTeam().name());
+        var awayTeamId = teamRegistry.register(game.getAwayTeam().name());
+        var firstLock = teamLocks[Math.min(stripeOf(homeTeamId), stripeOf(awayTeamId))];
+        var secondLock = teamLocks[Math.max(stripeOf(homeTeamId), stripeOf(awayTeamId))];
+
+        firstLock.lock();
+        secondLock.lock();
+        try {
+            if (teamIndex.isOccupied(homeTeamId) || teamIndex.isOccupied(awayTeamId)) {
+                return false;
+            }
+            insert(game);
+            return true;
+        } finally {
+            secondLock.unlock();
+            firstLock.unlock();
+        }
+    }
+
+    // Must be called while holding the stripe locks of both teams, after checking they are available.
+    private void insert(Game game) {
+        teamIndex.occupy(teamIdOf(game.getHomeTeam().name()), game.getId());
+        teamIndex.occupy(teamIdOf(game.getAwayTeam().name()), game.getId());
+        gamesMap.compute(game.getId(), (id, previousGame) -> {
+            updateRanking(game);
+            return game;
+        });
+    }
+
+    // Must be called while holding the game's entry in gamesMap, which serializes updates of one game.
+    private void updateRanking(Game game) {
+        var rankingKey = RankingKey.of(game);
+        rankingLock.writeLock().lock();
+        try {
+            var previousRankingKey = rankingKeys.put(game.getId(), rankingKey);
+            if (previousRankingKey != null && !previousRankingKey.equals(rankingKey)) {
+                ranking.remove(previousRankingKey);
+            }
+            ranking.put(rankingKey, game);
+        } finally {
+            rankingLock.writeLock().unlock();
+        }
+    }
+
+    // Teams of a stored game are registered before it is inserted.
+    private int teamIdOf(String teamName) {
+        return teamRegistry.findId(teamName);
+    }
+
+    private boolean isOccupiedByAnotherGame(String teamName, UUID gameId) {
+        var teamId = teamRegistry.findId(teamName);
+        return teamId != TeamRegistry.NOT_REGISTERED && !isFreeFor(teamId, gameId);
+    }
+
+    private boolean isFreeFor(int teamId, UUID gameId) {
+        var occupyingGameId = teamIndex.get(teamId);
+        return occupyingGameId == null || occupyingGameId.equals(gameId);
+    }
+
+    private boolean isOccupied(String teamName) {
+        var teamId = teamRegistry.findId(teamName);
+        return teamId != TeamRegistry.NOT_REGISTERED && teamIndex.isOccupied(teamId);
+    }
+
+    // Team ids are dense, so consecutive ids spread over consecutive stripes.
+    private int stripeOf(int teamId) {
+        return teamId & (teamLocks.length - 1);
+    }
+
+    private boolean hasSameTeams(Game first, Game second) {
+        return teamRegistry.isSameTeam(first.getHomeTeam().name(), second.getHomeTeam().name())
+                && teamRegistry.isSameTeam(first.getAwayTeam().name(), second.getAwayTeam().name());
+    }
+}
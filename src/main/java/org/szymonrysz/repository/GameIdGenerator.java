@@ -0,0 +1,12 @@
+package org.szymonrysz.repository;
+
+import java.util.UUID;
+
+/**
+ * Source of ids for games saved without one.
+ */
+@FunctionalInterface
+public interface GameIdGenerator {
+
+    UUID nextId();
+}
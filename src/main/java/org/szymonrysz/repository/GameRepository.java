@@ -1,7 +1,9 @@
 package org.szymonrysz.repository;
 
 import org.szymonrysz.model.Game;
+import org.szymonrysz.team.TeamRegistry;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -9,8 +11,33 @@ import java.util.stream.Stream;
 public interface GameRepository {
 
     Game save(Game game);
+    Optional<Game> saveIfTeamsAvailable(Game game);
+    boolean saveAllIfTeamsAvailable(List<Game> games);
+
+    /**
+     * Saves every game only when all of them are live and keep their teams; otherwise saves none.
+     * Readers of the ranking see either none or all of the changes.
+     */
+    boolean saveAllIfLive(List<Game> games);
     Optional<Game> findById(UUID id);
     void deleteById(UUID id);
     Stream<Game> findAll();
+    Stream<Game> findAllInRankOrder();
+    long count();
+
+    /**
+     * Called for every game of every published event, so implementations answer it from an order-statistic
+     * index in logarithmic time rather than by counting the games ahead.
+     *
+     * @return 1-based position of the game in {@link #findAllInRankOrder()}, or {@code 0} when it is not live
+     */
+    int rankOf(UUID id);
     boolean existsByTeamName(String teamName);
+    Optional<Game> findByTeamName(String teamName);
+
+    /**
+     * @return registry deciding which names denote the same team, shared with whoever validates games for
+     * this repository
+     */
+    TeamRegistry getTeamRegistry();
 }
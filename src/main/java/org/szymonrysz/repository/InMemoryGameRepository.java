@@ -1,32 +1,92 @@
 package org.szymonrysz.repository;
 
 import org.szymonrysz.model.Game;
-import org.szymonrysz.model.Team;
+import org.szymonrysz.team.TeamRegistry;
 
+import java.util.HashSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 public class InMemoryGameRepository implements GameRepository{
 
     private final HashMap<UUID, Game> gamesMap;
+    private final Map<UUID, RankingKey> rankingKeys = new HashMap<>();
+    private final RankingIndex ranking = new RankingIndex();
+    private final TeamOccupancy teamIndex = new TeamOccupancy();
+    private final TeamRegistry teamRegistry;
+    private final GameIdGenerator gameIdGenerator;
 
     public InMemoryGameRepository(HashMap<UUID, Game> gamesMap) {
+        this(gamesMap, new TeamRegistry());
+    }
+
+    public InMemoryGameRepository(HashMap<UUID, Game> gamesMap, TeamRegistry teamRegistry) {
+        this(gamesMap, teamRegistry, new TimeOrderedGameIdGenerator());
+    }
+
+    public InMemoryGameRepository(HashMap<UUID, Game> gamesMap, TeamRegistry teamRegistry,
+                                  GameIdGenerator gameIdGenerator) {
         this.gamesMap = gamesMap;
+        this.teamRegistry = teamRegistry;
+        this.gameIdGenerator = gameIdGenerator;
     }
 
     @Override
     public Game save(Game game) {
         if (game.getId() == null) {
-            var uuid = UUID.randomUUID();
-            game.setId(uuid);
+            game.setId(gameIdGenerator.nextId());
         }
-        gamesMap.put(game.getId(), game);
+        var previousGame = gamesMap.put(game.getId(), game);
+        if (previousGame != null && previousGame != game) {
+            removeFromTeamIndex(previousGame);
+        }
+        addToTeamIndex(game);
+        updateRanking(game);
 
         return game;
     }
 
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        if (isOccupied(game.getHomeTeam().name()) || isOccupied(game.getAwayTeam().name())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(save(game));
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        var teamKeys = new HashSet<String>();
+        for (var game : games) {
+            if (!reserve(teamKeys, game.getHomeTeam().name()) || !reserve(teamKeys, game.getAwayTeam().name())) {
+                return false;
+            }
+        }
+
+        games.forEach(this::save);
+        return true;
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        for (var game : games) {
+            var storedGame = gamesMap.get(game.getId());
+            if (storedGame == null || homeTeamId(storedGame) != homeTeamId(game)
+                    || awayTeamId(storedGame) != awayTeamId(game)) {
+                return false;
+            }
+        }
+
+        games.forEach(this::save);
+        return true;
+    }
+
     @Override
     public Optional<Game> findById(UUID id) {
         return Optional.ofNullable(gamesMap.get(id));
@@ -34,7 +94,14 @@ public class InMemoryGameRepository implements GameRepository{
 
     @Override
     public void deleteById(UUID id) {
-        gamesMap.remove(id);
+        var removedGame = gamesMap.remove(id);
+        if (removedGame != null) {
+            removeFromTeamIndex(removedGame);
+        }
+        var rankingKey = rankingKeys.remove(id);
+        if (rankingKey != null) {
+            ranking.remove(rankingKey);
+        }
     }
 
     @Override
@@ -42,11 +109,80 @@ public class InMemoryGameRepository implements GameRepository{
         return gamesMap.values().stream();
     }
 
+    @Override
+    public long count() {
+        return gamesMap.size();
+    }
+
+    // One descent of the ranking index, which counts the games in every subtree.
+    @Override
+    public int rankOf(UUID id) {
+        var rankingKey = rankingKeys.get(id);
+        return rankingKey == null ? 0 : ranking.rankOf(rankingKey);
+    }
+
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        return ranking.values();
+    }
+
     @Override
     public boolean existsByTeamName(String teamName) {
-        return gamesMap.values().stream()
-                .flatMap(game -> Stream.of(game.getHomeTeam(), game.getAwayTeam()))
-                .map(Team::name)
-                .anyMatch(teamName::equals);
+        return isOccupied(teamName);
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        var teamId = teamRegistry.findId(teamName);
+        if (teamId == TeamRegistry.NOT_REGISTERED) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(teamIndex.get(teamId))
+                .map(gamesMap::get);
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return teamRegistry;
+    }
+
+    // The only place teams get registered: a game is being stored with them.
+    private void addToTeamIndex(Game game) {
+        teamIndex.occupy(teamRegistry.register(game.getHomeTeam().name()), game.getId());
+        teamIndex.occupy(teamRegistry.register(game.getAwayTeam().name()), game.getId());
+    }
+
+    private void removeFromTeamIndex(Game game) {
+        teamIndex.release(homeTeamId(game), game.getId());
+        teamIndex.release(awayTeamId(game), game.getId());
+    }
+
+    private boolean reserve(Set<String> teamKeys, String teamName) {
+        return teamKeys.add(teamRegistry.keyOf(teamName)) && !isOccupied(teamName);
+    }
+
+    private boolean isOccupied(String teamName) {
+        var teamId = teamRegistry.findId(teamName);
+        return teamId != TeamRegistry.NOT_REGISTERED && teamIndex.isOccupied(teamId);
+    }
+
+    // Teams of a stored game are registered; a name that is not never matches one of them.
+    private int homeTeamId(Game game) {
+        return teamRegistry.findId(game.getHomeTeam().name());
+    }
+
+    private int awayTeamId(Game game) {
+        return teamRegistry.findId(game.getAwayTeam().name());
+    }
+
+    // Games are mutated in place before being saved, so the previous position is looked up by id
+    // rather than recomputed from the game itself.
+    private void updateRanking(Game game) {
+        var rankingKey = RankingKey.of(game);
+        var previousRankingKey = rankingKeys.put(game.getId(), rankingKey);
+        if (previousRankingKey != null && !previousRankingKey.equals(rankingKey)) {
+            ranking.remove(previousRankingKey);
+        }
+        ranking.put(rankingKey, game);
     }
 }
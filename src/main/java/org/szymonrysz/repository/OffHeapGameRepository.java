@@ -0,0 +1,596 @@
+package org.szymonrysz.repository;
+
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} for very large boards that keeps games out of the Java heap. Every game occupies
+ * one slot in a set of columns held in direct {@link ByteBuffer}s: id halves, team ids from the
+ * {@link TeamRegistry}, both scores and the creation time as epoch nanoseconds. The heap only holds
+ * primitive arrays: the id-to-slot hash table, the team occupancy and the set of used slots.
+ * <p>
+ * {@link Game} objects are created on the way out and are copies: changing one has no effect until it is
+ * saved. The ranking is a treap threaded through three more columns, the left and right child and the size of
+ * the subtree of every slot, ordered like {@link RankingKey}. Priorities are a hash of the slot number, so they
+ * need no column. Writes that change the rank of a game move its slot in the treap, {@link #rankOf(UUID)}
+ * descends it counting subtree sizes, and {@link #findAllInRankOrder()} walks it in order, without sorting.
+ * <p>
+ * Thread-safe: writes take a write lock, lookups a read lock.
+ */
+public class OffHeapGameRepository implements GameRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_WALK_DEPTH = 64;
+
+    private final TeamRegistry teamRegistry;
+    private final GameIdGenerator gameIdGenerator;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SlotIndex slotIndex = new SlotIndex();
+    private final BitSet usedSlots = new BitSet();
+    private int[] freeSlots = new int[0];
+    private int freeSlotCount;
+    private int[] teamSlots = new int[0];
+    private int capacity;
+    private int highestSlot = -1;
+    private int rankRoot = NO_SLOT;
+
+    private ByteBuffer idMostSignificantBits;
+    private ByteBuffer idLeastSignificantBits;
+    private ByteBuffer homeTeamIds;
+    private ByteBuffer awayTeamIds;
+    private ByteBuffer homeTeamScores;
+    private ByteBuffer awayTeamScores;
+    private ByteBuffer createdAtNanos;
+    private ByteBuffer rankLeft;
+    private ByteBuffer rankRight;
+    private ByteBuffer rankSize;
+
+    public OffHeapGameRepository() {
+        this(new TeamRegistry(), new TimeOrderedGameIdGenerator());
+    }
+
+    public OffHeapGameRepository(TeamRegistry teamRegistry, GameIdGenerator gameIdGenerator) {
+        this.teamRegistry = teamRegistry;
+        this.gameIdGenerator = gameIdGenerator;
+        allocateColumns(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Saves the game. A game without an id is inserted as a new one; a game with an id replaces the live game
+     * stored under it. A new game, or one whose teams changed, is rejected if its teams are playing in
+     * a different game.
+     *
+     * @throws GameNotFoundException    when no live game has the id
+     * @throws IllegalArgumentException when the creation time does not fit in epoch nanoseconds
+     *                                  (years 1677 to 2262)
+     */
+    @Override
+    public Game save(Game game) {
+        var isNew = game.getId() == null;
+        if (isNew) {
+            game.setId(gameIdGenerator.nextId());
+        }
+
+        epochNanosOf(game.getCreatedAt());
+        lock.writeLock().lock();
+        try {
+            var slot = slotOf(game.getId());
+            if (slot == NO_SLOT && !isNew) {
+                throw new GameNotFoundException(game.getId());
+            }
+            var homeTeamId = teamRegistry.findId(game.getHomeTeam().name());
+            var awayTeamId = teamRegistry.findId(game.getAwayTeam().name());
+            if (slot != NO_SLOT && homeTeamIds.getInt(slot * Integer.BYTES) == homeTeamId
+                    && awayTeamIds.getInt(slot * Integer.BYTES) == awayTeamId) {
+                rewrite(slot, game, homeTeamId, awayTeamId);
+                return game;
+            }
+
+            // Checked before the stored game is deleted, so a rejected save leaves it live; its own teams count
+            // as available.
+            if (!isAvailable(homeTeamId, game.getId()) || !isAvailable(awayTeamId, game.getId())) {
+                throw new GameRulesViolationException("The team must be available (not currently playing)" +
+                        " to start the game.");
+            }
+            if (slot != NO_SLOT) {
+                delete(slot);
+            }
+            insert(game, teamRegistry.register(game.getHomeTeam().name()),
+                    teamRegistry.register(game.getAwayTeam().name()));
+            return game;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> saveIfTeamsAvailable(Game game) {
+        if (game.getId() == null) {
+            game.setId(gameIdGenerator.nextId());
+        }
+
+        epochNanosOf(game.getCreatedAt());
+        lock.writeLock().lock();
+        try {
+            var homeTeamName = game.getHomeTeam().name();
+            var awayTeamName = game.getAwayTeam().name();
+            if (teamRegistry.isSameTeam(homeTeamName, awayTeamName)
+                    || isOccupied(teamRegistry.findId(homeTeamName)) || isOccupied(teamRegistry.findId(awayTeamName))) {
+                return Optional.empty();
+            }
+            insert(game, teamRegistry.register(homeTeamName), teamRegistry.register(awayTeamName));
+            return Optional.of(game);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfTeamsAvailable(List<Game> games) {
+        games.forEach(game -> epochNanosOf(game.getCreatedAt()));
+        lock.writeLock().lock();
+        try {
+            var reservedTeams = new HashSet<String>();
+            for (var game : games) {
+                for (var team : List.of(game.getHomeTeam(), game.getAwayTeam())) {
+                    if (!reservedTeams.add(teamRegistry.keyOf(team.name()))
+                            || isOccupied(teamRegistry.findId(team.name()))) {
+                        return false;
+                    }
+                }
+            }
+
+            for (var game : games) {
+                if (game.getId() == null) {
+                    game.setId(gameIdGenerator.nextId());
+                }
+                insert(game, teamRegistry.register(game.getHomeTeam().name()),
+                        teamRegistry.register(game.getAwayTeam().name()));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean saveAllIfLive(List<Game> games) {
+        games.forEach(game -> epochNanosOf(game.getCreatedAt()));
+        lock.writeLock().lock();
+        try {
+            var slots = new int[games.size()];
+            for (int i = 0; i < games.size(); i++) {
+                var game = games.get(i);
+                var slot = slotOf(game.getId());
+                if (slot == NO_SLOT || !hasTeams(slot, game)) {
+                    return false;
+                }
+                slots[i] = slot;
+            }
+            for (int i = 0; i < games.size(); i++) {
+                var slot = slots[i];
+                rewrite(slot, games.get(i), homeTeamIds.getInt(slot * Integer.BYTES),
+                        awayTeamIds.getInt(slot * Integer.BYTES));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            var slot = slotOf(id);
+            return slot == NO_SLOT ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        lock.writeLock().lock();
+        try {
+            var slot = slotOf(id);
+            if (slot != NO_SLOT) {
+                delete(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Game> findAll() {
+        lock.readLock().lock();
+        try {
+            var games = new ArrayList<Game>(slotIndex.size());
+            for (int slot = usedSlots.nextSetBit(0); slot >= 0; slot = usedSlots.nextSetBit(slot + 1)) {
+                games.add(read(slot));
+            }
+            return games.stream();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return slotIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int rankOf(UUID id) {
+        lock.readLock().lock();
+        try {
+            var slot = slotOf(id);
+            if (slot == NO_SLOT) {
+                return 0;
+            }
+            // one descent of the treap, counting the games ahead; nothing is read into objects
+            var rank = 1;
+            var node = rankRoot;
+            while (true) {
+                var comparison = compareByRank(slot, node);
+                if (comparison == 0) {
+                    return rank + subtreeSize(left(node));
+                }
+                if (comparison > 0) {
+                    rank += subtreeSize(left(node)) + 1;
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the treap in order, total score descending, creation time ascending and id, the order of
+     * {@link RankingKey}, and materialises the games in that order.
+     */
+    @Override
+    public Stream<Game> findAllInRankOrder() {
+        lock.readLock().lock();
+        try {
+            var games = new ArrayList<Game>(slotIndex.size());
+            var path = new int[INITIAL_WALK_DEPTH];
+            var depth = 0;
+            var node = rankRoot;
+            while (node != NO_SLOT || depth > 0) {
+                if (node != NO_SLOT) {
+                    if (depth == path.length) {
+                        path = Arrays.copyOf(path, depth * 2);
+                    }
+                    path[depth++] = node;
+                    node = left(node);
+                } else {
+                    node = path[--depth];
+                    games.add(read(node));
+                    node = right(node);
+                }
+            }
+            return games.stream();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByTeamName(String teamName) {
+        lock.readLock().lock();
+        try {
+            return isOccupied(teamRegistry.findId(teamName));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Game> findByTeamName(String teamName) {
+        lock.readLock().lock();
+        try {
+            var teamId = teamRegistry.findId(teamName);
+            if (!isOccupied(teamId)) {
+                return Optional.empty();
+            }
+            return Optional.of(read(teamSlots[teamId] - 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return teamRegistry;
+    }
+
+    private int slotOf(UUID id) {
+        var slot = slotIndex.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return slot == SlotIndex.NOT_FOUND ? NO_SLOT : slot;
+    }
+
+    private boolean hasTeams(int slot, Game game) {
+        return homeTeamIds.getInt(slot * Integer.BYTES) == teamRegistry.findId(game.getHomeTeam().name())
+                && awayTeamIds.getInt(slot * Integer.BYTES) == teamRegistry.findId(game.getAwayTeam().name());
+    }
+
+    // Team slots are stored shifted by one, so that the zero a new array is filled with means "free".
+    // A team that is not registered has never played, so it is free.
+    private boolean isOccupied(int teamId) {
+        return teamId != TeamRegistry.NOT_REGISTERED && teamId < teamSlots.length && teamSlots[teamId] != 0;
+    }
+
+    private boolean isAvailable(int teamId, UUID gameId) {
+        if (!isOccupied(teamId)) {
+            return true;
+        }
+        var slot = teamSlots[teamId] - 1;
+        return idMostSignificantBits.getLong(slot * Long.BYTES) == gameId.getMostSignificantBits()
+                && idLeastSignificantBits.getLong(slot * Long.BYTES) == gameId.getLeastSignificantBits();
+    }
+
+    private void occupy(int teamId, int slot) {
+        if (teamId >= teamSlots.length) {
+            teamSlots = Arrays.copyOf(teamSlots, Math.max(teamId + 1, teamSlots.length * 2));
+        }
+        teamSlots[teamId] = slot + 1;
+    }
+
+    private void insert(Game game, int homeTeamId, int awayTeamId) {
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = ++highestSlot;
+            if (slot == capacity) {
+                allocateColumns(capacity * 2);
+            }
+        }
+
+        write(slot, game, homeTeamId, awayTeamId);
+        rankRoot = rankInsert(rankRoot, slot);
+        usedSlots.set(slot);
+        slotIndex.put(game.getId().getMostSignificantBits(), game.getId().getLeastSignificantBits(), slot);
+        occupy(homeTeamId, slot);
+        occupy(awayTeamId, slot);
+    }
+
+    private void delete(int slot) {
+        rankRoot = rankRemove(rankRoot, slot);
+        teamSlots[homeTeamIds.getInt(slot * Integer.BYTES)] = 0;
+        teamSlots[awayTeamIds.getInt(slot * Integer.BYTES)] = 0;
+        slotIndex.remove(idMostSignificantBits.getLong(slot * Long.BYTES),
+                idLeastSignificantBits.getLong(slot * Long.BYTES));
+        usedSlots.clear(slot);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    // Moves the slot in the treap only when its place in the ranking changes.
+    private void rewrite(int slot, Game game, int homeTeamId, int awayTeamId) {
+        var moves = game.getScore().homeTeamScore() + game.getScore().awayTeamScore() != totalScore(slot)
+                || epochNanosOf(game.getCreatedAt()) != createdAtNanos.getLong(slot * Long.BYTES);
+        if (moves) {
+            rankRoot = rankRemove(rankRoot, slot);
+        }
+        write(slot, game, homeTeamId, awayTeamId);
+        if (moves) {
+            rankRoot = rankInsert(rankRoot, slot);
+        }
+    }
+
+    private void write(int slot, Game game, int homeTeamId, int awayTeamId) {
+        var createdAtEpochNanos = epochNanosOf(game.getCreatedAt());
+        idMostSignificantBits.putLong(slot * Long.BYTES, game.getId().getMostSignificantBits());
+        idLeastSignificantBits.putLong(slot * Long.BYTES, game.getId().getLeastSignificantBits());
+        homeTeamIds.putInt(slot * Integer.BYTES, homeTeamId);
+        awayTeamIds.putInt(slot * Integer.BYTES, awayTeamId);
+        homeTeamScores.putInt(slot * Integer.BYTES, game.getScore().homeTeamScore());
+        awayTeamScores.putInt(slot * Integer.BYTES, game.getScore().awayTeamScore());
+        createdAtNanos.putLong(slot * Long.BYTES, createdAtEpochNanos);
+    }
+
+    private Game read(int slot) {
+        var createdAtEpochNanos = createdAtNanos.getLong(slot * Long.BYTES);
+        return Game.builder()
+                .id(new UUID(idMostSignificantBits.getLong(slot * Long.BYTES),
+                        idLeastSignificantBits.getLong(slot * Long.BYTES)))
+                .homeTeam(teamRegistry.teamOf(homeTeamIds.getInt(slot * Integer.BYTES)))
+                .awayTeam(teamRegistry.teamOf(awayTeamIds.getInt(slot * Integer.BYTES)))
+                .score(new Score(homeTeamScores.getInt(slot * Integer.BYTES), awayTeamScores.getInt(slot * Integer.BYTES)))
+                .createdAt(Instant.ofEpochSecond(Math.floorDiv(createdAtEpochNanos, NANOS_PER_SECOND),
+                        Math.floorMod(createdAtEpochNanos, NANOS_PER_SECOND)))
+                .build();
+    }
+
+    /**
+     * Inserts the slot into the subtree and returns the subtree's new root. The slot must hold its game already.
+     */
+    private int rankInsert(int node, int slot) {
+        if (node == NO_SLOT) {
+            setLeft(slot, NO_SLOT);
+            setRight(slot, NO_SLOT);
+            rankSize.putInt(slot * Integer.BYTES, 1);
+            return slot;
+        }
+        if (compareByRank(slot, node) < 0) {
+            setLeft(node, rankInsert(left(node), slot));
+            updateSize(node);
+            return priorityOf(left(node)) > priorityOf(node) ? rotateRight(node) : node;
+        }
+        setRight(node, rankInsert(right(node), slot));
+        updateSize(node);
+        return priorityOf(right(node)) > priorityOf(node) ? rotateLeft(node) : node;
+    }
+
+    /**
+     * Removes the slot from the subtree, which must contain it, and returns the subtree's new root. The slot
+     * must still hold its game, so that it is found where it was inserted.
+     */
+    private int rankRemove(int node, int slot) {
+        var comparison = compareByRank(slot, node);
+        if (comparison == 0) {
+            return merge(left(node), right(node));
+        }
+        if (comparison < 0) {
+            setLeft(node, rankRemove(left(node), slot));
+        } else {
+            setRight(node, rankRemove(right(node), slot));
+        }
+        updateSize(node);
+        return node;
+    }
+
+    // Joins two subtrees whose every slot on the left ranks ahead of every slot on the right.
+    private int merge(int leftNode, int rightNode) {
+        if (leftNode == NO_SLOT) {
+            return rightNode;
+        }
+        if (rightNode == NO_SLOT) {
+            return leftNode;
+        }
+        if (priorityOf(leftNode) > priorityOf(rightNode)) {
+            setRight(leftNode, merge(right(leftNode), rightNode));
+            updateSize(leftNode);
+            return leftNode;
+        }
+        setLeft(rightNode, merge(leftNode, left(rightNode)));
+        updateSize(rightNode);
+        return rightNode;
+    }
+
+    private int rotateRight(int node) {
+        var newRoot = left(node);
+        setLeft(node, right(newRoot));
+        setRight(newRoot, node);
+        updateSize(node);
+        updateSize(newRoot);
+        return newRoot;
+    }
+
+    private int rotateLeft(int node) {
+        var newRoot = right(node);
+        setRight(node, left(newRoot));
+        setLeft(newRoot, node);
+        updateSize(node);
+        updateSize(newRoot);
+        return newRoot;
+    }
+
+    private int left(int slot) {
+        return rankLeft.getInt(slot * Integer.BYTES);
+    }
+
+    private int right(int slot) {
+        return rankRight.getInt(slot * Integer.BYTES);
+    }
+
+    private void setLeft(int slot, int child) {
+        rankLeft.putInt(slot * Integer.BYTES, child);
+    }
+
+    private void setRight(int slot, int child) {
+        rankRight.putInt(slot * Integer.BYTES, child);
+    }
+
+    private int subtreeSize(int slot) {
+        return slot == NO_SLOT ? 0 : rankSize.getInt(slot * Integer.BYTES);
+    }
+
+    private void updateSize(int slot) {
+        rankSize.putInt(slot * Integer.BYTES, 1 + subtreeSize(left(slot)) + subtreeSize(right(slot)));
+    }
+
+    // The finaliser of MurmurHash3: slot numbers are dense, their hashes look random enough to balance the treap.
+    private static int priorityOf(int slot) {
+        var hash = slot;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private int compareByRank(int first, int second) {
+        var totalComparison = Integer.compare(totalScore(second), totalScore(first));
+        if (totalComparison != 0) {
+            return totalComparison;
+        }
+        var createdAtComparison = Long.compare(createdAtNanos.getLong(first * Long.BYTES),
+                createdAtNanos.getLong(second * Long.BYTES));
+        if (createdAtComparison != 0) {
+            return createdAtComparison;
+        }
+        // the same order as UUID.compareTo
+        var msbComparison = Long.compare(idMostSignificantBits.getLong(first * Long.BYTES),
+                idMostSignificantBits.getLong(second * Long.BYTES));
+        return msbComparison != 0 ? msbComparison : Long.compare(idLeastSignificantBits.getLong(first * Long.BYTES),
+                idLeastSignificantBits.getLong(second * Long.BYTES));
+    }
+
+    private int totalScore(int slot) {
+        return homeTeamScores.getInt(slot * Integer.BYTES) + awayTeamScores.getInt(slot * Integer.BYTES);
+    }
+
+    private void allocateColumns(int newCapacity) {
+        idMostSignificantBits = grow(idMostSignificantBits, newCapacity * Long.BYTES);
+        idLeastSignificantBits = grow(idLeastSignificantBits, newCapacity * Long.BYTES);
+        homeTeamIds = grow(homeTeamIds, newCapacity * Integer.BYTES);
+        awayTeamIds = grow(awayTeamIds, newCapacity * Integer.BYTES);
+        homeTeamScores = grow(homeTeamScores, newCapacity * Integer.BYTES);
+        awayTeamScores = grow(awayTeamScores, newCapacity * Integer.BYTES);
+        createdAtNanos = grow(createdAtNanos, newCapacity * Long.BYTES);
+        rankLeft = grow(rankLeft, newCapacity * Integer.BYTES);
+        rankRight = grow(rankRight, newCapacity * Integer.BYTES);
+        rankSize = grow(rankSize, newCapacity * Integer.BYTES);
+        capacity = newCapacity;
+    }
+
+    private static long epochNanosOf(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Game creation time " + instant + " is out of the supported range.", e);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer column, int bytes) {
+        var grown = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (column != null) {
+            grown.put(column.duplicate().clear());
+            grown.clear();
+        }
+        return grown;
+    }
+}
@@ -0,0 +1,14 @@
+package org.szymonrysz.repository;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs from {@link UUID#randomUUID()}, backed by a shared {@link java.security.SecureRandom}.
+ */
+public class RandomGameIdGenerator implements GameIdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
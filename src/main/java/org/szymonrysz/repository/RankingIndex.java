@@ -0,0 +1,197 @@
+package org.szymonrysz.repository;
+
+import org.szymonrysz.model.Game;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Games ordered by {@link RankingKey}, as a treap whose nodes count the size of their subtree, so the rank
+ * of a game is found in one descent instead of by counting the games ahead of it. Inserts, removals and
+ * ranks take expected logarithmic time.
+ * <p>
+ * Not thread-safe; {@link ConcurrentGameRepository} guards it with its ranking lock.
+ */
+final class RankingIndex {
+
+    private Node root;
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Adds the game under the key, or replaces the game already stored under it.
+     */
+    void put(RankingKey key, Game game) {
+        root = insert(root, key, game);
+    }
+
+    void remove(RankingKey key) {
+        root = remove(root, key);
+    }
+
+    /**
+     * @return the 1-based position of the key, or {@code 0} when no game is stored under it
+     */
+    int rankOf(RankingKey key) {
+        var ahead = 0;
+        var node = root;
+        while (node != null) {
+            var order = key.compareTo(node.key);
+            if (order == 0) {
+                return ahead + sizeOf(node.left) + 1;
+            }
+            if (order < 0) {
+                node = node.left;
+            } else {
+                ahead += sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Games in rank order. The stream walks the tree itself, so it must be consumed before the next change.
+     */
+    Stream<Game> values() {
+        return StreamSupport.stream(Spliterators.spliterator(new InOrderIterator(root), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static Node insert(Node node, RankingKey key, Game game) {
+        if (node == null) {
+            return new Node(key, game);
+        }
+        var order = key.compareTo(node.key);
+        if (order == 0) {
+            node.game = game;
+            return node;
+        }
+        if (order < 0) {
+            node.left = insert(node.left, key, game);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, key, game);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.updateSize();
+        return node;
+    }
+
+    private static Node remove(Node node, RankingKey key) {
+        if (node == null) {
+            return null;
+        }
+        var order = key.compareTo(node.key);
+        if (order == 0) {
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        node.updateSize();
+        return node;
+    }
+
+    // Every key of the left tree is ordered before every key of the right one.
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.updateSize();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.updateSize();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        var left = node.left;
+        node.left = left.right;
+        node.updateSize();
+        left.right = node;
+        left.updateSize();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        var right = node.right;
+        node.right = right.left;
+        node.updateSize();
+        right.left = node;
+        right.updateSize();
+        return right;
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final RankingKey key;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Game game;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(RankingKey key, Game game) {
+            this.key = key;
+            this.game = game;
+        }
+
+        private void updateSize() {
+            size = sizeOf(left) + sizeOf(right) + 1;
+        }
+    }
+
+    private static final class InOrderIterator implements Iterator<Game> {
+        private final ArrayDeque<Node> path = new ArrayDeque<>();
+
+        private InOrderIterator(Node root) {
+            descendLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Game next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            var node = path.pop();
+            descendLeft(node.right);
+            return node.game;
+        }
+
+        private void descendLeft(Node node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
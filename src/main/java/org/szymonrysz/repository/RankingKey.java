@@ -0,0 +1,29 @@
+package org.szymonrysz.repository;
+
+import org.szymonrysz.model.Game;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position of a game in the summary: total score descending, then creation time ascending.
+ * The id only breaks ties between games started at the same instant, so that every live game
+ * has a distinct key; with {@link TimeOrderedGameIdGenerator} such games keep the order they were saved in.
+ */
+public record RankingKey(int totalScore, Instant createdAt, UUID id) implements Comparable<RankingKey> {
+
+    private static final Comparator<RankingKey> ORDER = Comparator.comparingInt(RankingKey::totalScore)
+            .reversed()
+            .thenComparing(RankingKey::createdAt)
+            .thenComparing(RankingKey::id);
+
+    public static RankingKey of(Game game) {
+        return new RankingKey(game.getTotalScore(), game.getCreatedAt(), game.getId());
+    }
+
+    @Override
+    public int compareTo(RankingKey other) {
+        return ORDER.compare(this, other);
+    }
+}
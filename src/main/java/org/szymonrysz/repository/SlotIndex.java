@@ -0,0 +1,108 @@
+package org.szymonrysz.repository;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a game id, given as its two halves, to the slot of the game in
+ * {@link OffHeapGameRepository}. Keys and values live in primitive arrays, so no {@link java.util.UUID}
+ * or boxed slot is kept per game. Deletion shifts later entries of the probe sequence back instead of
+ * leaving tombstones.
+ */
+final class SlotIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E37_79B9_7F4A_7C15L;
+
+    private long[] mostSignificantBits = new long[INITIAL_CAPACITY];
+    private long[] leastSignificantBits = new long[INITIAL_CAPACITY];
+    private int[] slots = emptySlots(INITIAL_CAPACITY);
+    private int size;
+
+    int get(long msb, long lsb) {
+        var mask = slots.length - 1;
+        for (int i = homeOf(msb, lsb, mask); slots[i] != NOT_FOUND; i = (i + 1) & mask) {
+            if (mostSignificantBits[i] == msb && leastSignificantBits[i] == lsb) {
+                return slots[i];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    void put(long msb, long lsb, int slot) {
+        if ((size + 1) * 2 > slots.length) {
+            resize(slots.length * 2);
+        }
+        var mask = slots.length - 1;
+        var i = homeOf(msb, lsb, mask);
+        while (slots[i] != NOT_FOUND) {
+            if (mostSignificantBits[i] == msb && leastSignificantBits[i] == lsb) {
+                slots[i] = slot;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        mostSignificantBits[i] = msb;
+        leastSignificantBits[i] = lsb;
+        slots[i] = slot;
+        size++;
+    }
+
+    void remove(long msb, long lsb) {
+        var mask = slots.length - 1;
+        var i = homeOf(msb, lsb, mask);
+        while (slots[i] != NOT_FOUND
+                && (mostSignificantBits[i] != msb || leastSignificantBits[i] != lsb)) {
+            i = (i + 1) & mask;
+        }
+        if (slots[i] == NOT_FOUND) {
+            return;
+        }
+
+        slots[i] = NOT_FOUND;
+        size--;
+        for (int j = (i + 1) & mask; slots[j] != NOT_FOUND; j = (j + 1) & mask) {
+            var home = homeOf(mostSignificantBits[j], leastSignificantBits[j], mask);
+            // an entry may fill the gap unless its home lies cyclically after the gap, up to the entry itself
+            var homeAfterGap = i <= j ? home > i && home <= j : home > i || home <= j;
+            if (!homeAfterGap) {
+                mostSignificantBits[i] = mostSignificantBits[j];
+                leastSignificantBits[i] = leastSignificantBits[j];
+                slots[i] = slots[j];
+                slots[j] = NOT_FOUND;
+                i = j;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        var oldMostSignificantBits = mostSignificantBits;
+        var oldLeastSignificantBits = leastSignificantBits;
+        var oldSlots = slots;
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        slots = emptySlots(capacity);
+        size = 0;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != NOT_FOUND) {
+                put(oldMostSignificantBits[i], oldLeastSignificantBits[i], oldSlots[i]);
+            }
+        }
+    }
+
+    private static int homeOf(long msb, long lsb, int mask) {
+        var hash = (msb ^ Long.rotateLeft(lsb, 32)) * GOLDEN_RATIO;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static int[] emptySlots(int capacity) {
+        var slots = new int[capacity];
+        Arrays.fill(slots, NOT_FOUND);
+        return slots;
+    }
+}
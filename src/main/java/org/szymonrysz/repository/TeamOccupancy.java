@@ -0,0 +1,66 @@
+package org.szymonrysz.repository;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Id of the live game of every team, indexed by the dense team id from
+ * {@link org.szymonrysz.team.TeamRegistry}. Slots live in fixed-size chunks that are never copied,
+ * so growing the table does not lose concurrent writes.
+ */
+final class TeamOccupancy {
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    @SuppressWarnings("unchecked")
+    private volatile AtomicReferenceArray<UUID>[] chunks = new AtomicReferenceArray[0];
+
+    UUID get(int teamId) {
+        var currentChunks = chunks;
+        var chunk = teamId >>> CHUNK_SHIFT;
+        return chunk < currentChunks.length ? currentChunks[chunk].get(teamId & CHUNK_MASK) : null;
+    }
+
+    boolean isOccupied(int teamId) {
+        return get(teamId) != null;
+    }
+
+    void occupy(int teamId, UUID gameId) {
+        chunkOf(teamId).set(teamId & CHUNK_MASK, gameId);
+    }
+
+    /**
+     * Frees the team, but only if it is still taken by the given game.
+     */
+    void release(int teamId, UUID gameId) {
+        var chunk = chunkOf(teamId);
+        var current = chunk.get(teamId & CHUNK_MASK);
+        if (gameId.equals(current)) {
+            chunk.compareAndSet(teamId & CHUNK_MASK, current, null);
+        }
+    }
+
+    private AtomicReferenceArray<UUID> chunkOf(int teamId) {
+        var chunk = teamId >>> CHUNK_SHIFT;
+        var currentChunks = chunks;
+        if (chunk < currentChunks.length) {
+            return currentChunks[chunk];
+        }
+
+        synchronized (this) {
+            currentChunks = chunks;
+            if (chunk >= currentChunks.length) {
+                var grownChunks = Arrays.copyOf(currentChunks, Math.max(chunk + 1, currentChunks.length * 2));
+                for (int i = currentChunks.length; i < grownChunks.length; i++) {
+                    grownChunks[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+                }
+                chunks = grownChunks;
+                currentChunks = grownChunks;
+            }
+            return currentChunks[chunk];
+        }
+    }
+}
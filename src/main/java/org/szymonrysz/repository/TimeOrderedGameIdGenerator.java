@@ -0,0 +1,56 @@
+package org.szymonrysz.repository;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by a 12-bit counter and 62 random bits.
+ * <p>
+ * The timestamp and counter form one 60-bit value that is advanced with a compare-and-set, so ids from one
+ * generator are strictly increasing by {@link UUID#compareTo(UUID)}, even when the clock stands still or
+ * goes back. When more than 4096 ids are needed within a millisecond the counter carries into the timestamp,
+ * running slightly ahead of the clock until it catches up. Random bits come from {@link ThreadLocalRandom},
+ * so threads do not contend on a shared random generator.
+ */
+public class TimeOrderedGameIdGenerator implements GameIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+
+    private final Clock clock;
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedGameIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedGameIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        var timestampAndCounter = nextTimestampAndCounter();
+        var timestamp = timestampAndCounter >>> COUNTER_BITS;
+        var counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        var mostSignificantBits = (timestamp << 16) | VERSION_7 | counter;
+        var leastSignificantBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_IETF;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private long nextTimestampAndCounter() {
+        var now = clock.millis() << COUNTER_BITS;
+        while (true) {
+            var last = lastTimestampAndCounter.get();
+            var next = Math.max(now, last + 1);
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
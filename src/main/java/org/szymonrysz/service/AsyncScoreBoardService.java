@@ -0,0 +1,244 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs every mutation of the wrapped service on a single writer thread, in the order the commands were
+ * submitted. Commands wait in a bounded queue; submitters block while it is full. The writer drains
+ * whatever has queued up since its last cycle; consecutive score updates of the drained commands go to
+ * the wrapped service as one {@link BatchMode#PER_ITEM} batch, which publishes them as one change.
+ * <p>
+ * Since only the writer touches the repository, the wrapped service can use a repository without any
+ * locking, such as {@link org.szymonrysz.repository.InMemoryGameRepository}. Reads are answered from
+ * the latest published snapshot on the caller's thread and never wait for the writer.
+ */
+public class AsyncScoreBoardService implements AutoCloseable {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final ScoreBoardService scoreBoardService;
+    private final ArrayBlockingQueue<Command<?>> commands;
+    private final int maxBatchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncScoreBoardService(ScoreBoardService scoreBoardService) {
+        this(scoreBoardService, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public AsyncScoreBoardService(ScoreBoardService scoreBoardService, int queueCapacity, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive.");
+        }
+        this.scoreBoardService = scoreBoardService;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.writer = new Thread(this::runWriter, "score-board-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public CompletableFuture<GameDto> startGame(Team homeTeam, Team awayTeam) {
+        return submit(() -> scoreBoardService.startGame(homeTeam, awayTeam));
+    }
+
+    public CompletableFuture<Void> finishGame(UUID gameId) {
+        return submit(() -> {
+            scoreBoardService.finishGame(gameId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<GameDto> updateScore(UUID gameId, Score score) {
+        return submit(new Command<>(() -> scoreBoardService.updateScore(gameId, score), gameId, score));
+    }
+
+    public CompletableFuture<List<BatchItemResult>> startGames(List<TeamPair> teams, BatchMode mode) {
+        return submit(() -> scoreBoardService.startGames(teams, mode));
+    }
+
+    public CompletableFuture<Map<UUID, BatchItemResult>> updateScores(Map<UUID, Score> scores, BatchMode mode) {
+        return submit(() -> scoreBoardService.updateScores(scores, mode));
+    }
+
+    public List<GameDto> getSummary() {
+        return scoreBoardService.getSummary();
+    }
+
+    public List<GameDto> getSummary(int offset, int limit) {
+        return scoreBoardService.getSummary(offset, limit);
+    }
+
+    public ScoreBoardSnapshot getSnapshot() {
+        return scoreBoardService.getSnapshot();
+    }
+
+    public void forEachInRankOrder(SummaryVisitor visitor) {
+        scoreBoardService.forEachInRankOrder(visitor);
+    }
+
+    public void readSummary(SummaryBuffer buffer) {
+        scoreBoardService.readSummary(buffer);
+    }
+
+    /**
+     * Stops accepting commands, applies the ones already queued and waits for the writer to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join();
+        Command<?> command;
+        while ((command = commands.poll()) != null) {
+            command.reject();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> action) {
+        return submit(new Command<>(action, null, null));
+    }
+
+    private <T> CompletableFuture<T> submit(Command<T> command) {
+        if (!running) {
+            command.reject();
+            return command.future;
+        }
+
+        try {
+            commands.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.future.completeExceptionally(e);
+            return command.future;
+        }
+
+        // close() may have drained the queue between the check above and the put
+        if (!running && commands.remove(command)) {
+            command.reject();
+        }
+        return command.future;
+    }
+
+    private void runWriter() {
+        var batch = new ArrayList<Command<?>>(maxBatchSize);
+        while (running || !commands.isEmpty()) {
+            try {
+                var first = commands.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            commands.drainTo(batch, maxBatchSize - 1);
+
+            var updates = new LinkedHashMap<UUID, Command<?>>();
+            for (var command : batch) {
+                if (command.isScoreUpdate() && !updates.containsKey(command.gameId)) {
+                    updates.put(command.gameId, command);
+                    continue;
+                }
+                applyScoreUpdates(updates);
+                if (command.isScoreUpdate()) {
+                    updates.put(command.gameId, command);
+                } else {
+                    command.execute();
+                }
+            }
+            applyScoreUpdates(updates);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Applies a run of updates of distinct games as one batch. A game updated twice in a row starts a new run,
+     * so that every update is applied and answered in order. The batch reports domain failures per item; when
+     * the call itself throws, such as for a {@code null} score, the batch validates before applying anything,
+     * so the run is retried one command at a time and the failure stays with the command that caused it.
+     */
+    private void applyScoreUpdates(LinkedHashMap<UUID, Command<?>> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        if (updates.size() == 1) {
+            updates.values().iterator().next().execute();
+            updates.clear();
+            return;
+        }
+
+        var scores = new LinkedHashMap<UUID, Score>();
+        updates.forEach((gameId, command) -> scores.put(gameId, command.score));
+        Map<UUID, BatchItemResult> results;
+        try {
+            results = scoreBoardService.updateScores(scores, BatchMode.PER_ITEM);
+        } catch (Throwable e) {
+            updates.values().forEach(Command::execute);
+            updates.clear();
+            return;
+        }
+        updates.forEach((gameId, command) -> command.complete(results.get(gameId)));
+        updates.clear();
+    }
+
+    private static final class Command<T> {
+        private final Supplier<T> action;
+        private final UUID gameId;
+        private final Score score;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        /**
+         * @param gameId game whose score the command sets, or {@code null} for any other command
+         */
+        private Command(Supplier<T> action, UUID gameId, Score score) {
+            this.action = action;
+            this.gameId = gameId;
+            this.score = score;
+        }
+
+        private boolean isScoreUpdate() {
+            return gameId != null;
+        }
+
+        // Anything thrown, errors included, fails only this command; the writer thread keeps running.
+        private void execute() {
+            try {
+                future.complete(action.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        // Only score updates are completed from a batch result, and their type is GameDto.
+        @SuppressWarnings("unchecked")
+        private void complete(BatchItemResult result) {
+            if (result.isSuccess()) {
+                future.complete((T) result.game());
+            } else {
+                future.completeExceptionally(result.failure());
+            }
+        }
+
+        private void reject() {
+            future.completeExceptionally(new RejectedExecutionException("Score board service is closed."));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.model.dto.GameDto;
+
+/**
+ * Outcome of one item of a batch: the game after the change, or the reason it was not applied.
+ */
+public record BatchItemResult(GameDto game, RuntimeException failure) {
+
+    public static BatchItemResult success(GameDto game) {
+        return new BatchItemResult(game, null);
+    }
+
+    public static BatchItemResult failure(RuntimeException failure) {
+        return new BatchItemResult(null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,15 @@
+package org.szymonrysz.service;
+
+/**
+ * How a batch reacts to items that cannot be applied.
+ */
+public enum BatchMode {
+    /**
+     * The first invalid item fails the whole call with its exception and nothing is applied.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * Valid items are applied, invalid ones are reported in their {@link BatchItemResult}.
+     */
+    PER_ITEM
+}
@@ -1,18 +1,93 @@
 package org.szymonrysz.service;
 
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
 import org.szymonrysz.model.Score;
 import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
 import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+import org.szymonrysz.team.TeamRegistry;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-public interface ScoreBoardService {
+public interface ScoreBoardService extends AutoCloseable {
     GameDto startGame(Team homeTeam, Team awayTeam);
 
     void finishGame(UUID gameId);
 
     GameDto updateScore(UUID gameId, Score score);
 
+    /**
+     * Starts all games or none of them; see {@link BatchMode#ALL_OR_NOTHING}.
+     */
+    List<BatchItemResult> startGames(List<TeamPair> teams);
+
+    /**
+     * Validates every pair, including teams repeated within the batch, then starts the games in one pass
+     * and publishes them as one change.
+     *
+     * @return results in the order of the given pairs
+     */
+    List<BatchItemResult> startGames(List<TeamPair> teams, BatchMode mode);
+
+    /**
+     * Updates all scores or none of them; see {@link BatchMode#ALL_OR_NOTHING}.
+     */
+    Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores);
+
+    /**
+     * Validates every score and looks up every game, then applies the changed scores in one pass
+     * and publishes them as one change. Under {@link BatchMode#ALL_OR_NOTHING} the repository applies them
+     * as one step, so summary readers see all of them or none.
+     *
+     * @return results in the iteration order of the given map
+     */
+    Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores, BatchMode mode);
+
     List<GameDto> getSummary();
+
+    List<GameDto> getSummary(int limit);
+
+    List<GameDto> getSummary(int offset, int limit);
+
+    ScoreBoardSnapshot getSnapshot();
+
+    /**
+     * Number of games on the board, read without building a snapshot.
+     */
+    long getLiveGameCount();
+
+    /**
+     * The registry of the board's repository, which decides which team names denote the same team.
+     */
+    TeamRegistry getTeamRegistry();
+
+    /**
+     * How often summary reads reused the published snapshot and how often they rebuilt it.
+     */
+    SnapshotCacheStats getSnapshotCacheStats();
+
+    /**
+     * Walks the current summary in order without creating any objects.
+     */
+    void forEachInRankOrder(SummaryVisitor visitor);
+
+    /**
+     * Copies the current summary into the caller's buffer, allocating only when the buffer has to grow.
+     */
+    void readSummary(SummaryBuffer buffer);
+
+    Subscription subscribe(ScoreBoardListener listener);
+
+    Subscription subscribe(ScoreBoardListener listener, SubscriptionConfig config);
+
+    /**
+     * Stops delivering events to subscribers and releases the threads the board started for them.
+     */
+    @Override
+    void close();
 }
@@ -1,30 +1,75 @@
 package org.szymonrysz.service;
 
 import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.GameStartedEvent;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.ScoreBoardEventBus;
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.ScoreChangedEvent;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
 import org.szymonrysz.exception.GameNotFoundException;
 import org.szymonrysz.exception.GameRulesViolationException;
 import org.szymonrysz.model.Game;
 import org.szymonrysz.model.Score;
 import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
 import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
 import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.team.TeamRegistry;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
 
+/**
+ * Writers only invalidate the published snapshot by bumping the mutation count; the first read after
+ * a change rebuilds it, once, while concurrent readers wait for that rebuild instead of repeating it.
+ * Events take the ranks of the changed games from the repository's ranking index, so publishing them
+ * does not rebuild the snapshot either.
+ */
 public class ScoreBoardServiceImpl implements ScoreBoardService {
 
+    private static final String TEAM_UNAVAILABLE_MESSAGE = "The team must be available" +
+            " (not currently playing) to start the game.";
+
     private final GameRepository gameRepository;
     private final Clock clock;
     private final GameConverter gameConverter;
+    private final ScoreBoardEventBus eventBus;
+    private final TeamRegistry teamRegistry;
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final Object publishLock = new Object();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder snapshotMisses = new LongAdder();
+    private volatile ScoreBoardSnapshot snapshot;
 
     public ScoreBoardServiceImpl(GameRepository gameRepository, Clock clock, GameConverter gameConverter) {
+        this(gameRepository, clock, gameConverter, new ScoreBoardEventBus());
+    }
+
+    public ScoreBoardServiceImpl(GameRepository gameRepository, Clock clock, GameConverter gameConverter,
+                                 ScoreBoardEventBus eventBus) {
         this.gameRepository = gameRepository;
+        // the repository's own registry, so both always agree on which names denote the same team
+        this.teamRegistry = gameRepository.getTeamRegistry();
         this.clock = clock;
         this.gameConverter = gameConverter;
+        this.eventBus = eventBus;
+        this.snapshot = buildSnapshot(0);
     }
 
     @Override
@@ -32,20 +77,24 @@ public class ScoreBoardServiceImpl implements ScoreBoardService {
         validateTeams(homeTeam, awayTeam);
 
         var game = Game.builder()
-                .homeTeam(homeTeam)
-                .awayTeam(awayTeam)
+                .homeTeam(teamRegistry.canonical(homeTeam))
+                .awayTeam(teamRegistry.canonical(awayTeam))
                 .score(new Score(0, 0))
                 .createdAt(Instant.now(clock))
                 .build();
 
-        var savedGame = gameRepository.save(game);
-        return gameConverter.toDto(savedGame);
+        var savedGame = gameRepository.saveIfTeamsAvailable(game)
+                .orElseThrow(() -> new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE));
+        var gameDto = gameConverter.toDto(savedGame);
+        publishChange(version -> new GameStartedEvent(version, gameDto));
+        return gameDto;
     }
 
     @Override
     public void finishGame(UUID gameId) {
-        gameRepository.findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
+        var game = gameRepository.findById(gameId).orElseThrow(() -> new GameNotFoundException(gameId));
         gameRepository.deleteById(gameId);
+        publishChange(version -> new GameFinishedEvent(version, gameConverter.toDto(game)));
     }
 
     @Override
@@ -53,22 +102,313 @@ public class ScoreBoardServiceImpl implements ScoreBoardService {
         validateScore(score);
         var game = gameRepository.findById(gameId)
                 .orElseThrow(() -> new GameNotFoundException(gameId));
-        game.setScore(score);
+        var oldScore = game.getScore();
+        if (oldScore.equals(score)) {
+            return gameConverter.toDto(game);
+        }
+        var oldRank = eventBus.hasSubscribers() ? gameRepository.rankOf(gameId) : 0;
+
+        // The stored game may be shared with readers, so the repository swaps in a changed copy.
+        var savedGame = gameRepository.save(game.toBuilder().score(score).build());
+        var gameDto = gameConverter.toDto(savedGame);
+        publishChange(version -> new ScoreChangedEvent(
+                version,
+                gameDto,
+                oldScore,
+                oldRank,
+                gameRepository.rankOf(gameId)
+        ));
+        return gameDto;
+    }
+
+    @Override
+    public List<BatchItemResult> startGames(List<TeamPair> teams) {
+        return startGames(teams, BatchMode.ALL_OR_NOTHING);
+    }
+
+    @Override
+    public List<BatchItemResult> startGames(List<TeamPair> teams, BatchMode mode) {
+        var results = new BatchItemResult[teams.size()];
+        var games = new ArrayList<Game>(teams.size());
+        var resultIndexes = new ArrayList<Integer>(teams.size());
+        var teamsInBatch = new HashSet<String>();
+        for (int i = 0; i < teams.size(); i++) {
+            var pair = teams.get(i);
+            String homeTeamKey;
+            String awayTeamKey;
+            try {
+                validateTeams(pair.homeTeam(), pair.awayTeam());
+                homeTeamKey = teamRegistry.keyOf(pair.homeTeam().name());
+                awayTeamKey = teamRegistry.keyOf(pair.awayTeam().name());
+                if (teamsInBatch.contains(homeTeamKey) || teamsInBatch.contains(awayTeamKey)) {
+                    throw new GameRulesViolationException("The team cannot play in two games of one batch.");
+                }
+            } catch (GameRulesViolationException e) {
+                if (mode == BatchMode.ALL_OR_NOTHING) {
+                    throw e;
+                }
+                results[i] = BatchItemResult.failure(e);
+                continue;
+            }
+            teamsInBatch.add(homeTeamKey);
+            teamsInBatch.add(awayTeamKey);
+            games.add(Game.builder()
+                    .homeTeam(teamRegistry.canonical(pair.homeTeam()))
+                    .awayTeam(teamRegistry.canonical(pair.awayTeam()))
+                    .score(new Score(0, 0))
+                    .createdAt(Instant.now(clock))
+                    .build());
+            resultIndexes.add(i);
+        }
+
+        var startedGames = new ArrayList<GameDto>(games.size());
+        if (mode == BatchMode.ALL_OR_NOTHING && !gameRepository.saveAllIfTeamsAvailable(games)) {
+            throw new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE);
+        }
+        for (int i = 0; i < games.size(); i++) {
+            var savedGame = mode == BatchMode.ALL_OR_NOTHING
+                    ? Optional.of(games.get(i))
+                    : gameRepository.saveIfTeamsAvailable(games.get(i));
+            if (savedGame.isPresent()) {
+                var gameDto = gameConverter.toDto(savedGame.get());
+                startedGames.add(gameDto);
+                results[resultIndexes.get(i)] = BatchItemResult.success(gameDto);
+            } else {
+                results[resultIndexes.get(i)] = BatchItemResult.failure(
+                        new GameRulesViolationException(TEAM_UNAVAILABLE_MESSAGE));
+            }
+        }
 
-        var savedGame = gameRepository.save(game);
-        return gameConverter.toDto(savedGame);
+        if (!startedGames.isEmpty()) {
+            publishChanges(version -> startedGames.stream()
+                    .<ScoreBoardEvent>map(gameDto -> new GameStartedEvent(version, gameDto))
+                    .toList());
+        }
+        return List.of(results);
+    }
+
+    @Override
+    public Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores) {
+        return updateScores(scores, BatchMode.ALL_OR_NOTHING);
+    }
+
+    @Override
+    public Map<UUID, BatchItemResult> updateScores(Map<UUID, Score> scores, BatchMode mode) {
+        var results = new LinkedHashMap<UUID, BatchItemResult>();
+        var changedGames = new ArrayList<Game>(scores.size());
+        for (var entry : scores.entrySet()) {
+            try {
+                validateScore(entry.getValue());
+                var game = gameRepository.findById(entry.getKey())
+                        .orElseThrow(() -> new GameNotFoundException(entry.getKey()));
+                if (game.getScore().equals(entry.getValue())) {
+                    results.put(entry.getKey(), BatchItemResult.success(gameConverter.toDto(game)));
+                } else {
+                    // placeholder keeping the result in input order until the score is applied
+                    results.put(entry.getKey(), null);
+                    changedGames.add(game);
+                }
+            } catch (GameRulesViolationException | GameNotFoundException e) {
+                if (mode == BatchMode.ALL_OR_NOTHING) {
+                    throw e;
+                }
+                results.put(entry.getKey(), BatchItemResult.failure(e));
+            }
+        }
+        if (changedGames.isEmpty()) {
+            return Collections.unmodifiableMap(results);
+        }
+
+        var oldRanks = new int[changedGames.size()];
+        if (eventBus.hasSubscribers()) {
+            for (int i = 0; i < changedGames.size(); i++) {
+                oldRanks[i] = gameRepository.rankOf(changedGames.get(i).getId());
+            }
+        }
+        // The stored games may be shared with readers, so the repository swaps in changed copies.
+        var changedCopies = changedGames.stream()
+                .map(game -> game.toBuilder().score(scores.get(game.getId())).build())
+                .toList();
+        var updatedGames = new GameDto[changedGames.size()];
+        if (mode == BatchMode.ALL_OR_NOTHING) {
+            if (!gameRepository.saveAllIfLive(changedCopies)) {
+                throw new GameNotFoundException(firstFinished(changedGames));
+            }
+            for (int i = 0; i < updatedGames.length; i++) {
+                updatedGames[i] = gameConverter.toDto(changedCopies.get(i));
+            }
+        } else {
+            for (int i = 0; i < updatedGames.length; i++) {
+                try {
+                    updatedGames[i] = gameConverter.toDto(gameRepository.save(changedCopies.get(i)));
+                } catch (GameRulesViolationException | GameNotFoundException e) {
+                    results.put(changedGames.get(i).getId(), BatchItemResult.failure(e));
+                }
+            }
+        }
+
+        var anyUpdated = false;
+        for (var gameDto : updatedGames) {
+            if (gameDto != null) {
+                results.put(gameDto.id(), BatchItemResult.success(gameDto));
+                anyUpdated = true;
+            }
+        }
+        if (anyUpdated) {
+            publishChanges(version -> {
+                var events = new ArrayList<ScoreBoardEvent>(updatedGames.length);
+                for (int i = 0; i < updatedGames.length; i++) {
+                    if (updatedGames[i] != null) {
+                        events.add(new ScoreChangedEvent(
+                                version,
+                                updatedGames[i],
+                                changedGames.get(i).getScore(),
+                                oldRanks[i],
+                                gameRepository.rankOf(updatedGames[i].id())
+                        ));
+                    }
+                }
+                return events;
+            });
+        }
+        return Collections.unmodifiableMap(results);
     }
 
     @Override
     public List<GameDto> getSummary() {
-        return gameRepository.findAll()
-                .sorted(
-                        Comparator.comparing(Game::getTotalScore)
-                                .reversed()
-                                .thenComparing(Game::getCreatedAt)
-                )
+        return currentSnapshot().games();
+    }
+
+    @Override
+    public List<GameDto> getSummary(int limit) {
+        return getSummary(0, limit);
+    }
+
+    @Override
+    public List<GameDto> getSummary(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be non-negative.");
+        }
+
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be non-negative.");
+        }
+
+        var games = currentSnapshot().games();
+        var fromIndex = Math.min(offset, games.size());
+        var toIndex = (int) Math.min((long) fromIndex + limit, games.size());
+        return games.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public ScoreBoardSnapshot getSnapshot() {
+        return currentSnapshot();
+    }
+
+    @Override
+    public long getLiveGameCount() {
+        return gameRepository.count();
+    }
+
+    @Override
+    public TeamRegistry getTeamRegistry() {
+        return teamRegistry;
+    }
+
+    @Override
+    public void forEachInRankOrder(SummaryVisitor visitor) {
+        var games = currentSnapshot().games();
+        for (int i = 0; i < games.size(); i++) {
+            visitor.visit(i + 1, games.get(i));
+        }
+    }
+
+    @Override
+    public void readSummary(SummaryBuffer buffer) {
+        buffer.fill(currentSnapshot());
+    }
+
+    @Override
+    public SnapshotCacheStats getSnapshotCacheStats() {
+        return new SnapshotCacheStats(snapshotHits.sum(), snapshotMisses.sum());
+    }
+
+    /**
+     * Cancels all subscriptions and releases the event bus.
+     */
+    @Override
+    public void close() {
+        eventBus.close();
+    }
+
+    @Override
+    public Subscription subscribe(ScoreBoardListener listener) {
+        return subscribe(listener, SubscriptionConfig.defaults());
+    }
+
+    @Override
+    public Subscription subscribe(ScoreBoardListener listener, SubscriptionConfig config) {
+        return eventBus.subscribe(listener, config);
+    }
+
+    private void publishChange(LongFunction<ScoreBoardEvent> eventFactory) {
+        publishChanges(version -> List.of(eventFactory.apply(version)));
+    }
+
+    /**
+     * Invalidates the published snapshot. Events are only created when someone listens, and are enqueued
+     * in the order of publication, each carrying the version the board had reached when it was created.
+     * Waiting for subscribers that block writers happens after the lock is released, so readers are never
+     * held up by a slow subscriber.
+     */
+    private void publishChanges(LongFunction<List<ScoreBoardEvent>> eventsFactory) {
+        mutationCount.incrementAndGet();
+        if (eventBus.hasSubscribers()) {
+            synchronized (publishLock) {
+                eventsFactory.apply(mutationCount.get()).forEach(eventBus::publish);
+            }
+            eventBus.awaitCapacity();
+        }
+    }
+
+    /**
+     * Returns a snapshot containing every change applied so far, rebuilding it if a write has happened
+     * since it was published. Readers that queue up behind a rebuild find it done and reuse it.
+     */
+    private ScoreBoardSnapshot currentSnapshot() {
+        var current = snapshot;
+        if (current.version() == mutationCount.get()) {
+            snapshotHits.increment();
+            return current;
+        }
+        synchronized (publishLock) {
+            current = snapshot;
+            var mutation = mutationCount.get();
+            if (current.version() < mutation) {
+                snapshotMisses.increment();
+                current = buildSnapshot(mutation);
+                snapshot = current;
+            } else {
+                snapshotHits.increment();
+            }
+            return current;
+        }
+    }
+
+    private ScoreBoardSnapshot buildSnapshot(long version) {
+        var games = gameRepository.findAllInRankOrder()
                 .map(gameConverter::toDto)
                 .toList();
+        return new ScoreBoardSnapshot(version, games);
+    }
+
+    // A batch is rejected only when one of its games stopped being live after it was looked up.
+    private UUID firstFinished(List<Game> games) {
+        return games.stream()
+                .map(Game::getId)
+                .filter(id -> gameRepository.findById(id).isEmpty())
+                .findFirst()
+                .orElse(games.get(0).getId());
     }
 
     private static void validateScore(Score score) {
@@ -90,13 +430,18 @@ public class ScoreBoardServiceImpl implements ScoreBoardService {
             throw new GameRulesViolationException("Away team cannot be null nor blank.");
         }
 
-        if (homeTeam.equals(awayTeam)) {
-            throw new GameRulesViolationException("Team cannot play against itself.");
+        if (isNameTooLong(homeTeam)) {
+            throw new GameRulesViolationException("Home team name cannot be longer than " + Team.MAX_NAME_BYTES
+                    + " bytes.");
         }
 
-        if (isTeamAlreadyPlaying(homeTeam) || isTeamAlreadyPlaying(awayTeam)) {
-            throw new GameRulesViolationException("The team must be available (not currently playing)" +
-                    " to start the game.");
+        if (isNameTooLong(awayTeam)) {
+            throw new GameRulesViolationException("Away team name cannot be longer than " + Team.MAX_NAME_BYTES
+                    + " bytes.");
+        }
+
+        if (teamRegistry.isSameTeam(homeTeam.name(), awayTeam.name())) {
+            throw new GameRulesViolationException("Team cannot play against itself.");
         }
     }
 
@@ -104,7 +449,9 @@ public class ScoreBoardServiceImpl implements ScoreBoardService {
         return team == null || team.name() == null || team.name().isBlank();
     }
 
-    private boolean isTeamAlreadyPlaying(Team team) {
-        return gameRepository.existsByTeamName(team.name());
+    // Bounded so that every game fits one journal and replication record.
+    private static boolean isNameTooLong(Team team) {
+        return team.name().length() > Team.MAX_NAME_BYTES / 3
+                && team.name().getBytes(StandardCharsets.UTF_8).length > Team.MAX_NAME_BYTES;
     }
 }
@@ -0,0 +1,165 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.OverflowPolicy;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.model.Score;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies score updates carrying a per-game sequence number, for feeds where several consumers may deliver
+ * updates of one game out of order. An update whose sequence number is not higher than the last one accepted
+ * for the game is dropped after a single comparison.
+ * <p>
+ * With a non-zero coalescing window, the first accepted update of a game is held back for the window and
+ * any later ones replace it, so only the latest score reaches the board. Held updates are applied by one
+ * scheduler thread, in the order their windows close. With a zero window updates are applied right away.
+ * <p>
+ * The sequence number of a game is forgotten once the board reports the game finished, however it was finished.
+ */
+public class SequencedScoreUpdater implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    // Lossless: a missed finish would keep the game's sequence number forever.
+    private static final SubscriptionConfig SUBSCRIPTION_CONFIG = new SubscriptionConfig(1024, OverflowPolicy.BLOCK,
+            true);
+
+    private final ScoreBoardService scoreBoardService;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<UUID, GameSequence> sequences = new ConcurrentHashMap<>();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Subscription subscription;
+    private volatile boolean closed;
+
+    public SequencedScoreUpdater(ScoreBoardService scoreBoardService, Duration coalescingWindow) {
+        if (coalescingWindow.isNegative()) {
+            throw new IllegalArgumentException("Coalescing window must be non-negative.");
+        }
+        this.scoreBoardService = scoreBoardService;
+        this.windowNanos = coalescingWindow.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "score-board-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.subscription = scoreBoardService.subscribe(this::forgetFinishedGame, SUBSCRIPTION_CONFIG);
+    }
+
+    /**
+     * Accepts the score unless it is stale. Scores applied right away fail like
+     * {@link ScoreBoardService#updateScore(UUID, Score)}; failures of held-back scores are only counted.
+     *
+     * @param sequence number growing with every update of the game, assigned by the feed
+     * @throws RejectedExecutionException when the updater is closed
+     */
+    public SequencedUpdateResult updateScore(UUID gameId, long sequence, Score score) {
+        if (closed) {
+            throw new RejectedExecutionException("Score updater is closed.");
+        }
+        var gameSequence = sequences.computeIfAbsent(gameId, id -> new GameSequence());
+        synchronized (gameSequence) {
+            if (sequence <= gameSequence.lastSequence) {
+                dropped.increment();
+                return SequencedUpdateResult.STALE;
+            }
+            gameSequence.lastSequence = sequence;
+
+            if (windowNanos == 0) {
+                apply(gameId, gameSequence, score);
+                return SequencedUpdateResult.APPLIED;
+            }
+            if (gameSequence.pendingScore != null) {
+                gameSequence.pendingScore = score;
+                coalesced.increment();
+                return SequencedUpdateResult.COALESCED;
+            }
+            gameSequence.pendingScore = score;
+        }
+        try {
+            scheduler.schedule(() -> flush(gameId, gameSequence), windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed since the check above: nothing will flush the score, so later updates must not wait for it
+            synchronized (gameSequence) {
+                gameSequence.pendingScore = null;
+            }
+            throw e;
+        }
+        return SequencedUpdateResult.QUEUED;
+    }
+
+    /**
+     * Finishes the game and forgets its sequence number.
+     */
+    public void finishGame(UUID gameId) {
+        scoreBoardService.finishGame(gameId);
+        sequences.remove(gameId);
+    }
+
+    public SequencedUpdateStats getStats() {
+        return new SequencedUpdateStats(applied.sum(), coalesced.sum(), dropped.sum(), failed.sum());
+    }
+
+    /**
+     * Rejects further updates, applies the ones still held in their windows and stops the scheduler.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        subscription.cancel();
+        scheduler.shutdown();
+        scheduler.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void forgetFinishedGame(ScoreBoardEvent event) {
+        if (event instanceof GameFinishedEvent) {
+            sequences.remove(event.game().id());
+        }
+    }
+
+    private void flush(UUID gameId, GameSequence gameSequence) {
+        Score score;
+        synchronized (gameSequence) {
+            score = gameSequence.pendingScore;
+            gameSequence.pendingScore = null;
+        }
+        try {
+            apply(gameId, gameSequence, score);
+        } catch (RuntimeException e) {
+            // nobody waits for a coalesced update, the failure is only counted
+        }
+    }
+
+    private void apply(UUID gameId, GameSequence gameSequence, Score score) {
+        try {
+            scoreBoardService.updateScore(gameId, score);
+            applied.increment();
+        } catch (GameNotFoundException e) {
+            sequences.remove(gameId, gameSequence);
+            failed.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    private static final class GameSequence {
+        private long lastSequence = Long.MIN_VALUE;
+        private Score pendingScore;
+    }
+}
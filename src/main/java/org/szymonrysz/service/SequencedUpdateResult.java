@@ -0,0 +1,20 @@
+package org.szymonrysz.service;
+
+public enum SequencedUpdateResult {
+    /**
+     * The score has been applied to the board.
+     */
+    APPLIED,
+    /**
+     * The score waits for the end of the game's coalescing window.
+     */
+    QUEUED,
+    /**
+     * The score replaced one still waiting in the game's coalescing window.
+     */
+    COALESCED,
+    /**
+     * A score with the same or a higher sequence number has already been accepted; this one is dropped.
+     */
+    STALE
+}
@@ -0,0 +1,10 @@
+package org.szymonrysz.service;
+
+/**
+ * @param applied   scores that reached the board
+ * @param coalesced scores replaced by a later one within the coalescing window
+ * @param dropped   stale scores, arriving after one with a higher sequence number
+ * @param failed    scores the board rejected when they were applied, e.g. because the game had finished
+ */
+public record SequencedUpdateStats(long applied, long coalesced, long dropped, long failed) {
+}
@@ -0,0 +1,12 @@
+package org.szymonrysz.service;
+
+/**
+ * How often summary reads were answered from the published snapshot and how often they had to rebuild it.
+ */
+public record SnapshotCacheStats(long hits, long misses) {
+
+    public double hitRate() {
+        var reads = hits + misses;
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
+}
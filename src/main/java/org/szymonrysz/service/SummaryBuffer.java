@@ -0,0 +1,130 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Caller-owned, reusable copy of the summary held in primitive columns. Row {@code i} is the game ranked
+ * {@code i + 1}. Filling the buffer allocates only when the board has outgrown its capacity; team names
+ * are shared with the published snapshot, not copied.
+ * <p>
+ * Not thread-safe: meant to be reused by the thread that polls the board.
+ */
+public class SummaryBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long version = -1;
+    private int size;
+    private long[] idMostSignificantBits;
+    private long[] idLeastSignificantBits;
+    private String[] homeTeams;
+    private String[] awayTeams;
+    private int[] homeTeamScores;
+    private int[] awayTeamScores;
+
+    public SummaryBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SummaryBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative.");
+        }
+        idMostSignificantBits = new long[capacity];
+        idLeastSignificantBits = new long[capacity];
+        homeTeams = new String[capacity];
+        awayTeams = new String[capacity];
+        homeTeamScores = new int[capacity];
+        awayTeamScores = new int[capacity];
+    }
+
+    /**
+     * Version of the snapshot the buffer was last filled from, or -1 when it has never been filled.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return homeTeams.length;
+    }
+
+    public long idMostSignificantBits(int row) {
+        return idMostSignificantBits[checkRow(row)];
+    }
+
+    public long idLeastSignificantBits(int row) {
+        return idLeastSignificantBits[checkRow(row)];
+    }
+
+    /**
+     * Convenience accessor; unlike the primitive ones it creates a {@link UUID}.
+     */
+    public UUID id(int row) {
+        return new UUID(idMostSignificantBits(row), idLeastSignificantBits(row));
+    }
+
+    public String homeTeam(int row) {
+        return homeTeams[checkRow(row)];
+    }
+
+    public String awayTeam(int row) {
+        return awayTeams[checkRow(row)];
+    }
+
+    public int homeTeamScore(int row) {
+        return homeTeamScores[checkRow(row)];
+    }
+
+    public int awayTeamScore(int row) {
+        return awayTeamScores[checkRow(row)];
+    }
+
+    void fill(ScoreBoardSnapshot snapshot) {
+        var games = snapshot.games();
+        ensureCapacity(games.size());
+        for (int i = 0; i < games.size(); i++) {
+            var game = games.get(i);
+            idMostSignificantBits[i] = game.id().getMostSignificantBits();
+            idLeastSignificantBits[i] = game.id().getLeastSignificantBits();
+            homeTeams[i] = game.homeTeam().name();
+            awayTeams[i] = game.awayTeam().name();
+            homeTeamScores[i] = game.score().homeTeamScore();
+            awayTeamScores[i] = game.score().awayTeamScore();
+        }
+        if (games.size() < size) {
+            // drop references to team names of games that are no longer on the board
+            Arrays.fill(homeTeams, games.size(), size, null);
+            Arrays.fill(awayTeams, games.size(), size, null);
+        }
+        size = games.size();
+        version = snapshot.version();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity()) {
+            return;
+        }
+        var capacity = Math.max(required, capacity() * 2);
+        idMostSignificantBits = Arrays.copyOf(idMostSignificantBits, capacity);
+        idLeastSignificantBits = Arrays.copyOf(idLeastSignificantBits, capacity);
+        homeTeams = Arrays.copyOf(homeTeams, capacity);
+        awayTeams = Arrays.copyOf(awayTeams, capacity);
+        homeTeamScores = Arrays.copyOf(homeTeamScores, capacity);
+        awayTeamScores = Arrays.copyOf(awayTeamScores, capacity);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for size " + size + ".");
+        }
+        return row;
+    }
+}
@@ -0,0 +1,12 @@
+package org.szymonrysz.service;
+
+import org.szymonrysz.model.dto.GameDto;
+
+@FunctionalInterface
+public interface SummaryVisitor {
+
+    /**
+     * @param rank 1-based position of the game in the summary
+     */
+    void visit(int rank, GameDto game);
+}
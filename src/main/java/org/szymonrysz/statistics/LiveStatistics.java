@@ -0,0 +1,195 @@
+package org.szymonrysz.statistics;
+
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.GameStartedEvent;
+import org.szymonrysz.event.OverflowPolicy;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.ScoreChangedEvent;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.model.dto.ScoreBoardSnapshot;
+import org.szymonrysz.repository.RankingKey;
+import org.szymonrysz.service.ScoreBoardService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Board statistics kept up to date from the board's events instead of aggregating the summary on every read.
+ * A start adds a game, a score change applies the difference between the new and the previous score, a finish
+ * removes the game; each costs {@code O(log n)} in the number of live games or teams.
+ * <p>
+ * Events are applied by the subscription's delivery thread. Every event publishes a new immutable
+ * {@link LiveStatisticsSnapshot}, so readers never lock; building it only copies the top of the leaderboard.
+ */
+public class LiveStatistics implements ScoreBoardListener, AutoCloseable {
+
+    public static final int DEFAULT_LEADERBOARD_SIZE = 10;
+
+    // Lossless and one event per change: a dropped or merged event would make the totals drift.
+    private static final SubscriptionConfig SUBSCRIPTION_CONFIG = new SubscriptionConfig(1024, OverflowPolicy.BLOCK,
+            false);
+    private static final Comparator<TeamGoals> LEADERBOARD_ORDER = Comparator.comparingLong(TeamGoals::goals)
+            .reversed()
+            .thenComparing(teamGoals -> teamGoals.team().name());
+
+    private final int leaderboardSize;
+    private final Object updateLock = new Object();
+    private final Map<UUID, GameDto> liveGames = new HashMap<>();
+    private final NavigableMap<RankingKey, GameDto> liveGamesByRank = new TreeMap<>();
+    private final ConcurrentHashMap<Team, Long> goalsByTeam = new ConcurrentHashMap<>();
+    private final TreeSet<TeamGoals> leaderboard = new TreeSet<>(LEADERBOARD_ORDER);
+    private final List<ScoreBoardEvent> pendingEvents = new ArrayList<>();
+    private long liveGoals;
+    private long totalGoals;
+    // Version of the board state the statistics started from; -1 until then. Batches publish several events
+    // with one version, so only this bound, not the last applied version, tells which events to skip.
+    private long startVersion = -1;
+    private Subscription subscription;
+    private volatile LiveStatisticsSnapshot snapshot = new LiveStatisticsSnapshot(0, 0, 0, null, 0, List.of());
+
+    private LiveStatistics(int leaderboardSize) {
+        if (leaderboardSize < 0) {
+            throw new IllegalArgumentException("Leaderboard size must be non-negative.");
+        }
+        this.leaderboardSize = leaderboardSize;
+    }
+
+    public static LiveStatistics attach(ScoreBoardService scoreBoardService) {
+        return attach(scoreBoardService, DEFAULT_LEADERBOARD_SIZE);
+    }
+
+    /**
+     * Subscribes to the board and starts from its current state. Events published while that state is read
+     * are held back and applied after it, skipping the ones it already contains.
+     *
+     * @param leaderboardSize how many teams {@link LiveStatisticsSnapshot#topTeams()} lists
+     */
+    public static LiveStatistics attach(ScoreBoardService scoreBoardService, int leaderboardSize) {
+        var statistics = new LiveStatistics(leaderboardSize);
+        statistics.subscription = scoreBoardService.subscribe(statistics, SUBSCRIPTION_CONFIG);
+        statistics.start(scoreBoardService.getSnapshot());
+        return statistics;
+    }
+
+    public LiveStatisticsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return goals the team scored in the games live when the statistics were attached, counted in full,
+     * and in every game started after that
+     */
+    public long goalsOf(Team team) {
+        return goalsByTeam.getOrDefault(team, 0L);
+    }
+
+    @Override
+    public void onEvent(ScoreBoardEvent event) {
+        synchronized (updateLock) {
+            if (startVersion < 0) {
+                pendingEvents.add(event);
+                return;
+            }
+            if (event.version() > startVersion) {
+                apply(event);
+                publish(event.version());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        subscription.cancel();
+    }
+
+    private void start(ScoreBoardSnapshot boardSnapshot) {
+        synchronized (updateLock) {
+            boardSnapshot.games().forEach(this::update);
+            startVersion = boardSnapshot.version();
+            var publishedVersion = startVersion;
+            for (var event : pendingEvents) {
+                if (event.version() > startVersion) {
+                    apply(event);
+                    publishedVersion = event.version();
+                }
+            }
+            pendingEvents.clear();
+            publish(publishedVersion);
+        }
+    }
+
+    // Works from the scores kept here rather than the old score in the event: an event the starting state
+    // already contains then changes nothing, and the totals always match the games kept here.
+    private void apply(ScoreBoardEvent event) {
+        var game = event.game();
+        if (event instanceof GameStartedEvent) {
+            update(game);
+        } else if (event instanceof ScoreChangedEvent && liveGames.containsKey(game.id())) {
+            update(game);
+        } else if (event instanceof GameFinishedEvent) {
+            var previousGame = liveGames.remove(game.id());
+            if (previousGame != null) {
+                liveGamesByRank.remove(rankingKeyOf(previousGame));
+                liveGoals -= totalOf(previousGame.score());
+            }
+        }
+    }
+
+    private void update(GameDto game) {
+        var previousGame = liveGames.put(game.id(), game);
+        var previousScore = previousGame == null ? new Score(0, 0) : previousGame.score();
+        if (previousGame != null) {
+            liveGamesByRank.remove(rankingKeyOf(previousGame));
+        }
+        liveGamesByRank.put(rankingKeyOf(game), game);
+        addGoals(game.homeTeam(), game.score().homeTeamScore() - previousScore.homeTeamScore());
+        addGoals(game.awayTeam(), game.score().awayTeamScore() - previousScore.awayTeamScore());
+        liveGoals += totalOf(game.score()) - totalOf(previousScore);
+    }
+
+    // A team appears on the leaderboard once it has played, even without a goal.
+    private void addGoals(Team team, int goals) {
+        var previousGoals = goalsByTeam.get(team);
+        if (previousGoals != null) {
+            leaderboard.remove(new TeamGoals(team, previousGoals));
+        }
+        var teamGoals = (previousGoals == null ? 0 : previousGoals) + goals;
+        goalsByTeam.put(team, teamGoals);
+        leaderboard.add(new TeamGoals(team, teamGoals));
+        totalGoals += goals;
+    }
+
+    private void publish(long publishedVersion) {
+        var topTeams = new ArrayList<TeamGoals>(Math.min(leaderboardSize, leaderboard.size()));
+        for (var teamGoals : leaderboard) {
+            if (topTeams.size() == leaderboardSize) {
+                break;
+            }
+            topTeams.add(teamGoals);
+        }
+        var highestScoringGame = liveGamesByRank.firstEntry();
+        snapshot = new LiveStatisticsSnapshot(publishedVersion, liveGamesByRank.size(), liveGoals,
+                highestScoringGame == null ? null : highestScoringGame.getValue(), totalGoals, topTeams);
+    }
+
+    private static RankingKey rankingKeyOf(GameDto game) {
+        return new RankingKey(totalOf(game.score()), game.createdAt(), game.id());
+    }
+
+    private static int totalOf(Score score) {
+        return score.homeTeamScore() + score.awayTeamScore();
+    }
+}
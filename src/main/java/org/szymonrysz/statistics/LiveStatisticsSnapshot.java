@@ -0,0 +1,31 @@
+package org.szymonrysz.statistics;
+
+import org.szymonrysz.model.dto.GameDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Aggregates of the board at one version. Live figures cover the games currently on the board; goal totals
+ * and the team leaderboard cover every goal of the games live when the statistics were attached, scored before
+ * it or not, and of every game started since, finished games included.
+ *
+ * @param version            version of the board the figures describe
+ * @param highestScoringGame live game with the most goals, ties going to the earlier started one
+ * @param topTeams           teams with the most goals, most first, ties by team name
+ */
+public record LiveStatisticsSnapshot(long version, int liveGames, long liveGoals, GameDto highestScoringGame,
+                                     long totalGoals, List<TeamGoals> topTeams) {
+
+    public LiveStatisticsSnapshot {
+        topTeams = List.copyOf(topTeams);
+    }
+
+    public double averageGoalsPerLiveGame() {
+        return liveGames == 0 ? 0 : (double) liveGoals / liveGames;
+    }
+
+    public Optional<GameDto> getHighestScoringGame() {
+        return Optional.ofNullable(highestScoringGame);
+    }
+}
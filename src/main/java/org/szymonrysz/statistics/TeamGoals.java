@@ -0,0 +1,6 @@
+package org.szymonrysz.statistics;
+
+import org.szymonrysz.model.Team;
+
+public record TeamGoals(Team team, long goals) {
+}
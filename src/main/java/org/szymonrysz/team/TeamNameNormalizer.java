@@ -0,0 +1,38 @@
+package org.szymonrysz.team;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * Built-in rules deciding which team names denote the same team. {@link TeamRegistry} accepts
+ * any other {@link UnaryOperator} as well.
+ */
+public enum TeamNameNormalizer implements UnaryOperator<String> {
+    /**
+     * Names must match exactly.
+     */
+    EXACT {
+        @Override
+        public String apply(String name) {
+            return name;
+        }
+    },
+    /**
+     * Leading and trailing whitespace is ignored.
+     */
+    TRIMMED {
+        @Override
+        public String apply(String name) {
+            return name.strip();
+        }
+    },
+    /**
+     * Leading and trailing whitespace and letter case are ignored.
+     */
+    TRIMMED_CASE_INSENSITIVE {
+        @Override
+        public String apply(String name) {
+            return name.strip().toLowerCase(Locale.ROOT);
+        }
+    }
+}
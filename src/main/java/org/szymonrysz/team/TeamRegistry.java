@@ -0,0 +1,103 @@
+package org.szymonrysz.team;
+
+import org.szymonrysz.model.Team;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Interns team names: every distinct team, as decided by the normalizer, gets one canonical {@link Team}
+ * instance and a dense int id, starting from 0. The canonical team keeps the name the team was first
+ * registered with. Ids are never reused, so the registry grows with every team ever seen.
+ * <p>
+ * Lookups of registered names are a single hash map read; registering a new name takes a lock. Only
+ * repositories register, when they store a game, so names that only ever come up in rejected requests or
+ * queries do not grow the registry.
+ */
+public class TeamRegistry {
+
+    public static final int NOT_REGISTERED = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final UnaryOperator<String> normalizer;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Object registrationLock = new Object();
+    private volatile Team[] teams = new Team[INITIAL_CAPACITY];
+    private volatile int size;
+
+    public TeamRegistry() {
+        this(TeamNameNormalizer.EXACT);
+    }
+
+    public TeamRegistry(UnaryOperator<String> normalizer) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Returns the id of the team, registering it first if needed.
+     */
+    public int register(String teamName) {
+        var key = normalizer.apply(teamName);
+        var id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (registrationLock) {
+            id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            var newId = size;
+            if (newId == teams.length) {
+                teams = Arrays.copyOf(teams, newId * 2);
+            }
+            teams[newId] = new Team(teamName);
+            size = newId + 1;
+            // published after the team, so whoever reads the id also sees the team
+            ids.put(key, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * Returns the id of the team, or {@link #NOT_REGISTERED} if no team with that name has been seen yet.
+     */
+    public int findId(String teamName) {
+        var id = ids.get(normalizer.apply(teamName));
+        return id == null ? NOT_REGISTERED : id;
+    }
+
+    /**
+     * Returns the key the registry tells teams apart by: names with equal keys denote the same team.
+     */
+    public String keyOf(String teamName) {
+        return normalizer.apply(teamName);
+    }
+
+    public boolean isSameTeam(String firstTeamName, String secondTeamName) {
+        return firstTeamName.equals(secondTeamName) || keyOf(firstTeamName).equals(keyOf(secondTeamName));
+    }
+
+    /**
+     * Returns the canonical instance of the team, or the team itself when it has not been registered yet:
+     * its name then becomes the canonical one once a repository registers it.
+     */
+    public Team canonical(Team team) {
+        var id = findId(team.name());
+        return id == NOT_REGISTERED ? team : teamOf(id);
+    }
+
+    public Team teamOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown team id " + id + ".");
+        }
+        return teams[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,225 @@
+package org.szymonrysz.archive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.szymonrysz.SettableClock;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.InMemoryGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+import org.szymonrysz.team.TeamNameNormalizer;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameArchiveTest {
+
+    private static final Instant KICK_OFF = Instant.parse("2026-06-11T18:00:00Z");
+    private static final int REGION_SIZE = 4_300;
+
+    private final SettableClock clock = new SettableClock(KICK_OFF);
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private GameArchive sut;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // two games stay on the heap, and every region of the file holds only two records
+        file = directory.resolve("archive.bin");
+        sut = new GameArchive(file, 2, clock, REGION_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sut.close();
+    }
+
+    @Test
+    void shouldFindGamesByTeamFromHeapAndFile() {
+        //given
+        var first = sut.archive(mockGame("Poland", "Germany", new Score(1, 0)));
+        sut.archive(mockGame("France", "Spain", new Score(0, 0)));
+        var third = sut.archive(mockGame("Italy", "Poland", new Score(2, 2)));
+        sut.archive(mockGame("Austria", "Spain", new Score(3, 1)));
+        var fifth = sut.archive(mockGame("Poland", "Austria", new Score(0, 1)));
+
+        //when
+        var result = sut.findByTeam("Poland");
+
+        //then
+        assertThat(result).containsExactly(first, third, fifth);
+        assertThat(sut.findByTeam("Brazil")).isEmpty();
+        assertThat(sut.size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldFindHeadToHeadRegardlessOfWhoPlayedAtHome() {
+        //given
+        var first = sut.archive(mockGame("Poland", "Germany", new Score(1, 0)));
+        sut.archive(mockGame("Poland", "Spain", new Score(0, 0)));
+        var third = sut.archive(mockGame("Germany", "Poland", new Score(2, 2)));
+
+        //when
+        var result = sut.findHeadToHead("Germany", "Poland");
+
+        //then
+        assertThat(result).containsExactly(first, third);
+    }
+
+    @Test
+    void shouldChainNamesTheRegistryTreatsAsOneTeam() throws IOException {
+        //given
+        sut.close();
+        Files.delete(file);
+        sut = new GameArchive(file, 2, clock,
+                new TeamRegistry(TeamNameNormalizer.TRIMMED_CASE_INSENSITIVE), REGION_SIZE);
+        var first = sut.archive(mockGame("Mexico", "Canada", new Score(1, 0)));
+        var second = sut.archive(mockGame(" mexico", "Brazil", new Score(0, 0)));
+        var third = sut.archive(mockGame("CANADA", "MEXICO", new Score(2, 2)));
+
+        //when
+        var result = sut.findByTeam("mexico ");
+
+        //then
+        assertThat(result).containsExactly(first, second, third);
+        assertThat(sut.findHeadToHead("canada", "Mexico")).containsExactly(first, third);
+    }
+
+    @Test
+    void shouldFindGamesFinishedInTimeRange() {
+        //given
+        var games = new FinishedGame[5];
+        for (int i = 0; i < games.length; i++) {
+            clock.advance(Duration.ofMinutes(1));
+            games[i] = sut.archive(mockGame("Home " + i, "Away " + i, new Score(i, 0)));
+        }
+
+        //when
+        var result = sut.findFinishedBetween(games[1].finishedAt(), games[4].finishedAt());
+
+        //then
+        assertThat(result).containsExactly(games[1], games[2], games[3]);
+        assertThat(sut.findFinishedBetween(Instant.MIN, Instant.MAX)).containsExactly(games);
+    }
+
+    @Test
+    void shouldFindGamesArchivedBeforeReopening() throws IOException {
+        //given
+        var first = sut.archive(mockGame("Poland", "Germany", new Score(1, 0)));
+        var second = sut.archive(mockGame("France", "Spain", new Score(0, 0)));
+        var third = sut.archive(mockGame("Germany", "Poland", new Score(2, 2)));
+        sut.close();
+
+        //when
+        sut = new GameArchive(file, 2, clock, REGION_SIZE);
+        var fourth = sut.archive(mockGame("Poland", "Spain", new Score(0, 1)));
+
+        //then
+        assertThat(sut.size()).isEqualTo(4);
+        assertThat(sut.findByTeam("Poland")).containsExactly(first, third, fourth);
+        assertThat(sut.findHeadToHead("Poland", "Germany")).containsExactly(first, third);
+        assertThat(sut.findFinishedBetween(Instant.MIN, Instant.MAX)).containsExactly(first, second, third, fourth);
+        assertThat(fourth.finishedAt()).isAfterOrEqualTo(third.finishedAt());
+    }
+
+    @Test
+    void shouldCutOffTornRecordWhenReopening() throws IOException {
+        //given
+        var first = sut.archive(mockGame("Poland", "Germany", new Score(1, 0)));
+        var second = sut.archive(mockGame("Poland", "Spain", new Score(0, 0)));
+        sut.close();
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // 40 bytes of header and links plus the encoded game make records of 93 and 91 bytes here,
+            // so this flips the last byte of the second one
+            channel.write(ByteBuffer.wrap(new byte[]{1}), 183);
+        }
+
+        //when
+        sut = new GameArchive(file, 2, clock, REGION_SIZE);
+        var third = sut.archive(mockGame("Italy", "Poland", new Score(2, 2)));
+        sut.close();
+        sut = new GameArchive(file, 2, clock, REGION_SIZE);
+
+        //then
+        assertThat(second).isNotIn(sut.findByTeam("Poland"));
+        assertThat(sut.findByTeam("Poland")).containsExactly(first, third);
+        assertThat(sut.findByTeam("Spain")).isEmpty();
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldArchiveGamesFinishedThroughTheService() {
+        //given
+        var repository = new ArchivingGameRepository(new InMemoryGameRepository(new HashMap<>()), sut);
+        var service = new ScoreBoardServiceImpl(repository, Clock.fixed(KICK_OFF, ZoneOffset.UTC),
+                new GameConverter());
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+        service.updateScore(game.id(), new Score(2, 1));
+
+        //when
+        service.finishGame(game.id());
+
+        //then
+        assertThat(service.getSummary()).isEmpty();
+        assertThat(sut.findHeadToHead("Poland", "Germany"))
+                .singleElement()
+                .satisfies(finishedGame -> {
+                    assertThat(finishedGame.id()).isEqualTo(game.id());
+                    assertThat(finishedGame.score()).isEqualTo(new Score(2, 1));
+                    assertThat(finishedGame.createdAt()).isEqualTo(KICK_OFF);
+                });
+    }
+
+    @Test
+    void shouldKeepTheGameOnTheBoardWhenArchivingFails() {
+        //given
+        var archive = mock(GameArchive.class);
+        var failure = new UncheckedIOException(new IOException("Disk full"));
+        when(archive.archive(any())).thenThrow(failure);
+        var repository = new ArchivingGameRepository(new InMemoryGameRepository(new HashMap<>()), archive);
+        var game = repository.saveIfTeamsAvailable(mockGame("Poland", "Germany", new Score(1, 0))).orElseThrow();
+
+        //when
+        var exception = assertThrows(UncheckedIOException.class, () -> repository.deleteById(game.getId()));
+
+        //then
+        assertThat(exception).isSameAs(failure);
+        assertThat(repository.findById(game.getId())).contains(game);
+        assertThat(repository.existsByTeamName("Poland")).isTrue();
+    }
+
+    private static Game mockGame(String homeTeam, String awayTeam, Score score) {
+        return Game.builder()
+                .id(UUID.randomUUID())
+                .homeTeam(new Team(homeTeam))
+                .awayTeam(new Team(awayTeam))
+                .score(score)
+                .createdAt(KICK_OFF)
+                .build();
+    }
+}
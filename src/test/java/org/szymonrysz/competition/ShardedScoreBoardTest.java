@@ -0,0 +1,175 @@
+package org.szymonrysz.competition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.SubscriptionConfig;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.service.ScoreBoardService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedScoreBoardTest {
+
+    private final ShardedScoreBoard sut = new ShardedScoreBoard(Clock.fixed(Instant.parse("2024-06-14T19:00:00Z"),
+            ZoneOffset.UTC));
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    void shouldLetATeamPlayInDifferentCompetitionsAtOnce() {
+        //given
+        sut.startGame("Premier League", new Team("Arsenal"), new Team("Chelsea"));
+
+        //when
+        var game = sut.startGame("FA Cup", new Team("Arsenal"), new Team("Everton"));
+
+        //then
+        assertThat(sut.getSummary("FA Cup")).containsExactly(game);
+        assertThat(sut.getCompetitions()).containsExactlyInAnyOrder("Premier League", "FA Cup");
+    }
+
+    @Test
+    void shouldKeepTeamRulesWithinACompetition() {
+        //given
+        sut.startGame("Premier League", new Team("Arsenal"), new Team("Chelsea"));
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class,
+                () -> sut.startGame("Premier League", new Team("Arsenal"), new Team("Everton")));
+    }
+
+    @Test
+    void shouldRouteUpdatesAndFinishesToTheShardOfTheGame() {
+        //given
+        var game = sut.startGame("FA Cup", new Team("Arsenal"), new Team("Everton"));
+
+        //when
+        var updated = sut.updateScore(game.id(), new Score(2, 0));
+        sut.finishGame(game.id());
+
+        //then
+        assertThat(updated.score()).isEqualTo(new Score(2, 0));
+        assertThat(sut.getSummary("FA Cup")).isEmpty();
+        assertThrows(GameNotFoundException.class, () -> sut.updateScore(game.id(), new Score(3, 0)));
+    }
+
+    @Test
+    void shouldForgetTheShardOfAGameFinishedOnTheShardItself() {
+        //given
+        var shard = mock(ScoreBoardService.class);
+        var listenerCaptor = ArgumentCaptor.forClass(ScoreBoardListener.class);
+        var game = new GameDto(UUID.randomUUID(), new Team("Arsenal"), new Team("Everton"), new Score(0, 0),
+                Instant.parse("2024-06-14T19:00:00Z"));
+        when(shard.startGame(new Team("Arsenal"), new Team("Everton"))).thenReturn(game);
+        var board = new ShardedScoreBoard(competition -> shard);
+        board.startGame("FA Cup", new Team("Arsenal"), new Team("Everton"));
+        verify(shard).subscribe(listenerCaptor.capture(), any(SubscriptionConfig.class));
+
+        //when
+        listenerCaptor.getValue().onEvent(new GameFinishedEvent(2, game));
+
+        //then
+        assertThrows(GameNotFoundException.class, () -> board.updateScore(game.id(), new Score(1, 0)));
+        verify(shard, never()).updateScore(any(), any());
+    }
+
+    @Test
+    void shouldThrowWhenUpdatingAnUnknownGame() {
+        //given
+        var gameId = UUID.randomUUID();
+
+        //when
+        //then
+        assertThrows(GameNotFoundException.class, () -> sut.updateScore(gameId, new Score(1, 0)));
+        assertThrows(GameNotFoundException.class, () -> sut.finishGame(gameId));
+    }
+
+    @Test
+    void shouldMergeShardSummariesIntoTheOrderOfASingleBoard() {
+        //given
+        var random = new Random(7);
+        var games = new ArrayList<GameDto>();
+        for (int i = 0; i < 300; i++) {
+            var competition = "Competition " + random.nextInt(7);
+            var game = sut.startGame(competition, new Team("Home " + i), new Team("Away " + i));
+            games.add(sut.updateScore(game.id(), new Score(random.nextInt(5), random.nextInt(5))));
+        }
+
+        //when
+        var summary = sut.getSummary();
+
+        //then
+        games.sort(MergedSummaryIterator.RANK_ORDER);
+        assertThat(summary).containsExactlyElementsOf(games);
+    }
+
+    @Test
+    void shouldMergeOnlyTheRequestedTopOfTheSummary() {
+        //given
+        sut.startGame("Premier League", new Team("Arsenal"), new Team("Chelsea"));
+        var cupGame = sut.startGame("FA Cup", new Team("Arsenal"), new Team("Everton"));
+        var leagueGame = sut.startGame("La Liga", new Team("Barcelona"), new Team("Sevilla"));
+        sut.updateScore(cupGame.id(), new Score(3, 1));
+        sut.updateScore(leagueGame.id(), new Score(1, 1));
+
+        //when
+        var result = sut.getSummary(2);
+
+        //then
+        assertThat(result).extracting(GameDto::id).containsExactly(cupGame.id(), leagueGame.id());
+    }
+
+    @Test
+    void shouldVisitTheGlobalSummaryWithConsecutiveRanks() {
+        //given
+        sut.startGame("Premier League", new Team("Arsenal"), new Team("Chelsea"));
+        sut.startGame("FA Cup", new Team("Arsenal"), new Team("Everton"));
+        var ranks = new ArrayList<Integer>();
+        var visited = new ArrayList<GameDto>();
+
+        //when
+        sut.forEachInRankOrder((rank, game) -> {
+            ranks.add(rank);
+            visited.add(game);
+        });
+
+        //then
+        assertThat(ranks).containsExactly(1, 2);
+        assertThat(visited).containsExactlyElementsOf(sut.getSummary());
+    }
+
+    @Test
+    void shouldReturnAnEmptySummaryOfAnUnknownCompetition() {
+        //when
+        var result = sut.getSummary("Serie A");
+
+        //then
+        assertThat(result).isEqualTo(List.of());
+        assertThat(sut.getShard("Serie A")).isEmpty();
+    }
+}
@@ -0,0 +1,193 @@
+package org.szymonrysz.event;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreBoardEventBusTest {
+
+    private final ArrayDeque<Runnable> pendingTasks = new ArrayDeque<>();
+
+    private final ScoreBoardEventBus sut = new ScoreBoardEventBus(pendingTasks::add);
+
+    @Test
+    void shouldDeliverEventsInOrderOfPublication() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        sut.subscribe(received::add, SubscriptionConfig.defaults());
+        var game = mockGameDto(0, 0);
+        var started = new GameStartedEvent(1, game);
+        var finished = new GameFinishedEvent(2, game);
+
+        //when
+        sut.publish(started);
+        sut.publish(finished);
+        runPendingTasks();
+
+        //then
+        assertThat(received).containsExactly(started, finished);
+    }
+
+    @Test
+    void shouldCoalescePendingScoreChangesOfTheSameGame() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        var subscription = sut.subscribe(received::add, SubscriptionConfig.defaults());
+        var game = mockGameDto(0, 0);
+
+        //when
+        sut.publish(new ScoreChangedEvent(1, withScore(game, 1, 0), new Score(0, 0), 3, 2));
+        sut.publish(new ScoreChangedEvent(2, withScore(game, 2, 0), new Score(1, 0), 2, 1));
+        runPendingTasks();
+
+        //then
+        assertThat(received).containsExactly(
+                new ScoreChangedEvent(2, withScore(game, 2, 0), new Score(0, 0), 3, 1));
+        assertThat(subscription.coalescedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropOldestEventsWhenQueueIsFull() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        var subscription = sut.subscribe(received::add, new SubscriptionConfig(2, OverflowPolicy.DROP_OLDEST, false));
+        var events = publishStartedEvents(3);
+
+        //when
+        runPendingTasks();
+
+        //then
+        assertThat(received).containsExactly(events[1], events[2]);
+        assertThat(subscription.droppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropNewestEventsWhenQueueIsFull() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        var subscription = sut.subscribe(received::add, new SubscriptionConfig(2, OverflowPolicy.DROP_NEWEST, false));
+        var events = publishStartedEvents(3);
+
+        //when
+        runPendingTasks();
+
+        //then
+        assertThat(received).containsExactly(events[0], events[1]);
+        assertThat(subscription.droppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopDeliveringEventsAfterCancellation() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        var subscription = sut.subscribe(received::add, SubscriptionConfig.defaults());
+        publishStartedEvents(1);
+
+        //when
+        subscription.cancel();
+        publishStartedEvents(1);
+        runPendingTasks();
+
+        //then
+        assertThat(received).isEmpty();
+        assertThat(sut.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    void shouldKeepDeliveringEventsWhenListenerFails() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        sut.subscribe(event -> {
+            received.add(event);
+            throw new IllegalStateException("listener failure");
+        }, SubscriptionConfig.defaults());
+
+        //when
+        var events = publishStartedEvents(2);
+        runPendingTasks();
+
+        //then
+        assertThat(received).containsExactly(events);
+    }
+
+    @Test
+    void shouldHoldWriterOutsideOfPublishUntilBlockingSubscriberCatchesUp() throws InterruptedException {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        sut.subscribe(received::add, new SubscriptionConfig(1, OverflowPolicy.BLOCK, false));
+        var events = publishStartedEvents(3);
+        var writer = new Thread(sut::awaitCapacity);
+
+        //when
+        writer.start();
+        awaitWaiting(writer);
+        runPendingTasks();
+        writer.join(10_000);
+
+        //then
+        assertThat(writer.isAlive()).isFalse();
+        assertThat(received).containsExactly(events);
+    }
+
+    @Test
+    void shouldCancelAllSubscriptionsWhenClosed() {
+        //given
+        var received = new ArrayList<ScoreBoardEvent>();
+        sut.subscribe(received::add, SubscriptionConfig.defaults());
+        sut.subscribe(received::add, new SubscriptionConfig(1, OverflowPolicy.BLOCK, false));
+        publishStartedEvents(2);
+
+        //when
+        sut.close();
+        runPendingTasks();
+        sut.awaitCapacity();
+
+        //then
+        assertThat(received).isEmpty();
+        assertThat(sut.hasSubscribers()).isFalse();
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    private ScoreBoardEvent[] publishStartedEvents(int count) {
+        var events = new ScoreBoardEvent[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new GameStartedEvent(i + 1, mockGameDto(0, 0));
+            sut.publish(events[i]);
+        }
+        return events;
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.poll().run();
+        }
+    }
+
+    private static GameDto withScore(GameDto game, int homeTeamScore, int awayTeamScore) {
+        return new GameDto(game.id(), game.homeTeam(), game.awayTeam(),
+                new Score(homeTeamScore, awayTeamScore), game.createdAt());
+    }
+
+    private static GameDto mockGameDto(int homeTeamScore, int awayTeamScore) {
+        return new GameDto(
+                UUID.randomUUID(),
+                new Team("Poland"),
+                new Team("Germany"),
+                new Score(homeTeamScore, awayTeamScore),
+                Instant.MIN
+        );
+    }
+}
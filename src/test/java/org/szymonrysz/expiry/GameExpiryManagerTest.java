@@ -0,0 +1,163 @@
+package org.szymonrysz.expiry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.SettableClock;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.event.ScoreBoardEventBus;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameExpiryManagerTest {
+
+    private static final Instant KICK_OFF = Instant.parse("2024-06-14T19:00:00Z");
+
+    private final SettableClock clock = new SettableClock(KICK_OFF);
+    private final ScoreBoardServiceImpl service = new ScoreBoardServiceImpl(new ConcurrentGameRepository(), clock,
+            new GameConverter(), new ScoreBoardEventBus(Runnable::run));
+    // The background tick runs once a minute of wall time, so within these tests only explicit calls expire games.
+    private final ExpiryConfig config = ExpiryConfig.builder()
+            .maxGameDuration(Duration.ofMinutes(120))
+            .idleTimeout(Duration.ofMinutes(30))
+            .tick(Duration.ofMinutes(1))
+            .build();
+    private GameExpiryManager sut;
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    void shouldFinishAGameWithoutUpdatesForLongerThanTheIdleTimeout() {
+        //given
+        sut = GameExpiryManager.attach(service, clock, config);
+        var expiries = new ArrayList<GameExpiry>();
+        sut.addListener(expiries::add);
+        var idle = service.startGame(new Team("Poland"), new Team("Germany"));
+        var active = service.startGame(new Team("France"), new Team("Spain"));
+
+        //when
+        clock.advance(Duration.ofMinutes(20));
+        service.updateScore(active.id(), new Score(1, 0));
+        clock.advance(Duration.ofMinutes(15));
+        var expired = sut.expireDueGames();
+
+        //then
+        assertThat(expired).extracting(expiry -> expiry.game().id()).containsExactly(idle.id());
+        assertThat(expiries).isEqualTo(expired);
+        assertThat(expired.get(0).reason()).isEqualTo(ExpiryReason.IDLE);
+        assertThat(service.getSummary()).extracting(game -> game.id()).containsExactly(active.id());
+        assertThat(sut.getTrackedGameCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFinishAGameLastingLongerThanTheMaxDurationDespiteUpdates() {
+        //given
+        sut = GameExpiryManager.attach(service, clock, config);
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+
+        var expired = new ArrayList<GameExpiry>();
+
+        //when
+        for (int minute = 10; minute <= 120; minute += 10) {
+            clock.advance(Duration.ofMinutes(10));
+            expired.addAll(sut.expireDueGames());
+            if (expired.isEmpty()) {
+                service.updateScore(game.id(), new Score(minute / 10, 0));
+            }
+        }
+
+        //then
+        assertThat(expired).singleElement().satisfies(expiry -> {
+            assertThat(expiry.reason()).isEqualTo(ExpiryReason.MAX_DURATION);
+            assertThat(expiry.expiredAt()).isEqualTo(KICK_OFF.plus(Duration.ofMinutes(120)));
+        });
+        assertThat(service.getSummary()).isEmpty();
+    }
+
+    @Test
+    void shouldReportTheLastSeenStateAndReasonOfTheExpiredGame() {
+        //given
+        sut = GameExpiryManager.attach(service, clock, config);
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+        for (int minute = 1; minute <= 5; minute++) {
+            clock.advance(Duration.ofMinutes(25));
+            service.updateScore(game.id(), new Score(minute, 0));
+        }
+
+        //when
+        var expired = sut.expireDueGames();
+
+        //then
+        assertThat(expired).singleElement().satisfies(expiry -> {
+            assertThat(expiry.reason()).isEqualTo(ExpiryReason.MAX_DURATION);
+            assertThat(expiry.game().score()).isEqualTo(new Score(5, 0));
+            assertThat(expiry.expiredAt()).isEqualTo(clock.instant());
+        });
+    }
+
+    @Test
+    void shouldNotExpireGamesFinishedByTheirFeed() {
+        //given
+        sut = GameExpiryManager.attach(service, clock, config);
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+        service.finishGame(game.id());
+
+        //when
+        clock.advance(Duration.ofHours(3));
+        var expired = sut.expireDueGames();
+
+        //then
+        assertThat(expired).isEmpty();
+        assertThat(sut.getTrackedGameCount()).isZero();
+    }
+
+    @Test
+    void shouldTrackGamesAlreadyLiveWhenAttached() {
+        //given
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+        sut = GameExpiryManager.attach(service, clock, config);
+
+        //when
+        clock.advance(Duration.ofMinutes(31));
+        var expired = sut.expireDueGames();
+
+        //then
+        assertThat(expired).extracting(expiry -> expiry.game().id()).containsExactly(game.id());
+    }
+
+    @Test
+    void shouldExpireManyGamesWithUpdatesSpreadOverTime() {
+        //given
+        sut = GameExpiryManager.attach(service, clock, config);
+        var gameIds = new ArrayList<UUID>();
+        for (int i = 0; i < 1_000; i++) {
+            gameIds.add(service.startGame(new Team("Home " + i), new Team("Away " + i)).id());
+        }
+
+        //when
+        clock.advance(Duration.ofMinutes(10));
+        for (int i = 0; i < gameIds.size(); i += 2) {
+            service.updateScore(gameIds.get(i), new Score(1, 0));
+        }
+        clock.advance(Duration.ofMinutes(25));
+        var firstWave = sut.expireDueGames();
+        clock.advance(Duration.ofMinutes(10));
+        var secondWave = sut.expireDueGames();
+
+        //then
+        assertThat(firstWave).hasSize(500).allMatch(expiry -> expiry.reason() == ExpiryReason.IDLE);
+        assertThat(secondWave).hasSize(500);
+        assertThat(service.getSummary()).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package org.szymonrysz.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    private final TimerWheel<String> sut = new TimerWheel<>(10, 8, 0);
+
+    @Test
+    void shouldExpireItemsOnlyOnceTheirDeadlineHasPassed() {
+        //given
+        sut.schedule("early", 25);
+        sut.schedule("late", 55);
+        var expired = new ArrayList<String>();
+
+        //when
+        sut.advanceTo(20, expired::add);
+        var afterFirstAdvance = new ArrayList<>(expired);
+        sut.advanceTo(30, expired::add);
+
+        //then
+        assertThat(afterFirstAdvance).isEmpty();
+        assertThat(expired).containsExactly("early");
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepDeadlinesBeyondOneTurnOfTheWheelUntilTheirTurn() {
+        //given
+        sut.schedule("next turn", 100);
+        var expired = new ArrayList<String>();
+
+        //when
+        sut.advanceTo(50, expired::add);
+        sut.advanceTo(90, expired::add);
+        var beforeDeadline = new ArrayList<>(expired);
+        sut.advanceTo(100, expired::add);
+
+        //then
+        assertThat(beforeDeadline).isEmpty();
+        assertThat(expired).containsExactly("next turn");
+    }
+
+    @Test
+    void shouldExpireEverythingDueAfterALongPause() {
+        //given
+        for (int i = 0; i < 20; i++) {
+            sut.schedule("item " + i, i * 37L);
+        }
+        sut.schedule("future", 10_000);
+        var expired = new ArrayList<String>();
+
+        //when
+        sut.advanceTo(1_000, expired::add);
+
+        //then
+        assertThat(expired).hasSize(20);
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotExpireCancelledItems() {
+        //given
+        var cancelled = sut.schedule("cancelled", 20);
+        sut.schedule("kept", 20);
+        var expired = new ArrayList<String>();
+
+        //when
+        sut.cancel(cancelled);
+        sut.cancel(cancelled);
+        sut.advanceTo(20, expired::add);
+
+        //then
+        assertThat(expired).containsExactly("kept");
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void shouldExpireAPastDeadlineOnTheNextTick() {
+        //given
+        sut.advanceTo(50, item -> {
+        });
+        sut.schedule("overdue", 10);
+        var expired = new ArrayList<String>();
+
+        //when
+        sut.advanceTo(60, expired::add);
+
+        //then
+        assertThat(expired).containsExactly("overdue");
+    }
+}
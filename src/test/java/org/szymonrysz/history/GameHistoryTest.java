@@ -0,0 +1,180 @@
+package org.szymonrysz.history;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.SettableClock;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameHistoryTest {
+
+    private static final Instant KICK_OFF = Instant.parse("2024-06-14T19:00:00Z");
+
+    private final SettableClock clock = new SettableClock(KICK_OFF);
+
+    @Test
+    void shouldReturnTheBoardAsItWasAtTheGivenInstant() {
+        //given
+        var gameHistory = new GameHistory(clock, Duration.ofDays(1));
+        var sut = newService(gameHistory);
+        var poland = sut.startGame(new Team("Poland"), new Team("Germany"));
+        clock.advance(Duration.ofMinutes(10));
+        var france = sut.startGame(new Team("France"), new Team("Spain"));
+        clock.advance(Duration.ofMinutes(10));
+        sut.updateScore(poland.id(), new Score(1, 0));
+        var beforeFinish = clock.instant();
+        clock.advance(Duration.ofMinutes(10));
+        sut.updateScore(france.id(), new Score(2, 0));
+        sut.finishGame(poland.id());
+
+        //when
+        var atKickOff = gameHistory.getSummary(KICK_OFF);
+        var afterFirstGoal = gameHistory.getSummary(beforeFinish);
+        var now = gameHistory.getSummary(clock.instant());
+
+        //then
+        assertThat(atKickOff).containsExactly(poland);
+        assertThat(afterFirstGoal).extracting(GameDto::id, GameDto::score)
+                .containsExactly(tuple(poland.id(), new Score(1, 0)),
+                        tuple(france.id(), new Score(0, 0)));
+        assertThat(now).isEqualTo(sut.getSummary());
+        assertThat(gameHistory.getSummary(KICK_OFF.minusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    void shouldMatchTheLiveSummaryAtEveryRecordedInstantAcrossCheckpoints() {
+        //given
+        var gameHistory = new GameHistory(clock, Duration.ofDays(1), 3);
+        var sut = newService(gameHistory);
+        var random = new Random(11);
+        var liveGames = new ArrayList<UUID>();
+        Map<Instant, List<GameDto>> summaries = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            var action = random.nextInt(4);
+            if (action == 0 || liveGames.isEmpty()) {
+                liveGames.add(sut.startGame(new Team("Home " + i), new Team("Away " + i)).id());
+            } else if (action == 1) {
+                sut.finishGame(liveGames.remove(random.nextInt(liveGames.size())));
+            } else {
+                sut.updateScore(liveGames.get(random.nextInt(liveGames.size())),
+                        new Score(random.nextInt(5), random.nextInt(5)));
+            }
+            summaries.put(clock.instant(), sut.getSummary());
+        }
+
+        //when
+        //then
+        summaries.forEach((asOf, summary) -> assertThat(gameHistory.getSummary(asOf)).isEqualTo(summary));
+    }
+
+    @Test
+    void shouldDiscardHistoryOlderThanTheHorizon() {
+        //given
+        var gameHistory = new GameHistory(clock, Duration.ofMinutes(30), 2);
+        var sut = newService(gameHistory);
+        var game = sut.startGame(new Team("Poland"), new Team("Germany"));
+        for (int minute = 1; minute <= 60; minute++) {
+            clock.advance(Duration.ofMinutes(1));
+            sut.updateScore(game.id(), new Score(minute, 0));
+            sut.startGame(new Team("Home " + minute), new Team("Away " + minute));
+        }
+
+        //when
+        gameHistory.discardExpired();
+
+        //then
+        var oldest = gameHistory.getOldestQueryableInstant();
+        assertThat(oldest).isAfter(KICK_OFF).isBeforeOrEqualTo(clock.instant().minus(Duration.ofMinutes(30)));
+        assertThrows(IllegalArgumentException.class, () -> gameHistory.getSummary(KICK_OFF));
+        assertThat(gameHistory.getSummary(clock.instant().minus(Duration.ofMinutes(30))))
+                .filteredOn(summary -> summary.id().equals(game.id()))
+                .extracting(GameDto::score)
+                .containsExactly(new Score(30, 0));
+    }
+
+    @Test
+    void shouldDropOldScoresOfALongGameOnTimeWhenNoGameStartsOrFinishes() {
+        //given
+        var gameHistory = new GameHistory(clock, Duration.ofMinutes(30));
+        var sut = newService(gameHistory);
+        var game = sut.startGame(new Team("Poland"), new Team("Germany"));
+
+        //when
+        for (int minute = 1; minute <= 180; minute++) {
+            clock.advance(Duration.ofMinutes(1));
+            sut.updateScore(game.id(), new Score(minute, 0));
+        }
+
+        //then
+        var horizonStart = clock.instant().minus(Duration.ofMinutes(30));
+        assertThat(gameHistory.getOldestQueryableInstant())
+                .isBeforeOrEqualTo(horizonStart)
+                .isAfterOrEqualTo(horizonStart.minus(Duration.ofMinutes(30).dividedBy(
+                        GameHistory.DEFAULT_CHECKPOINTS_PER_HORIZON)));
+        assertThat(gameHistory.scoreVersionCount()).isLessThanOrEqualTo(31 + 4);
+        assertThat(gameHistory.getSummary(horizonStart)).extracting(GameDto::score)
+                .containsExactly(new Score(150, 0));
+    }
+
+    @Test
+    void shouldDropOldScoresOnceTheDefaultIntervalOfVersionsIsRecorded() {
+        //given
+        var gameHistory = new GameHistory(clock, Duration.ofSeconds(1), GameHistory.DEFAULT_CHECKPOINT_INTERVAL,
+                Duration.ZERO);
+        var sut = newService(gameHistory);
+        var game = sut.startGame(new Team("Poland"), new Team("Germany"));
+
+        //when
+        for (int update = 1; update <= 10 * GameHistory.DEFAULT_CHECKPOINT_INTERVAL; update++) {
+            clock.advance(Duration.ofMillis(1));
+            sut.updateScore(game.id(), new Score(update, 0));
+        }
+
+        //then
+        assertThat(gameHistory.scoreVersionCount())
+                .isLessThanOrEqualTo(1000 + 2 * GameHistory.DEFAULT_CHECKPOINT_INTERVAL);
+        assertThat(gameHistory.getOldestQueryableInstant()).isAfter(KICK_OFF);
+        assertThat(gameHistory.getSummary(clock.instant().minusSeconds(1))).extracting(GameDto::score)
+                .containsExactly(new Score(10 * GameHistory.DEFAULT_CHECKPOINT_INTERVAL - 1000, 0));
+    }
+
+    @Test
+    void shouldKeepOnlyTheVersionCurrentAtTheCutoffAndLaterOnes() {
+        //given
+        var versions = new GameVersions(UUID.randomUUID(), new Team("Poland"), new Team("Germany"), KICK_OFF);
+        versions.add(10, new Score(0, 0));
+        versions.add(20, new Score(1, 0));
+        versions.add(30, new Score(1, 1));
+        versions.add(30, new Score(1, 1));
+
+        //when
+        versions.discardBefore(25);
+
+        //then
+        assertThat(versions.size()).isEqualTo(2);
+        assertThat(versions.asOf(25).score()).isEqualTo(new Score(1, 0));
+        assertThat(versions.asOf(40).score()).isEqualTo(new Score(1, 1));
+    }
+
+    private ScoreBoardServiceImpl newService(GameHistory gameHistory) {
+        var repository = new HistoryRecordingGameRepository(new ConcurrentGameRepository(), gameHistory);
+        return new ScoreBoardServiceImpl(repository, clock, new GameConverter());
+    }
+}
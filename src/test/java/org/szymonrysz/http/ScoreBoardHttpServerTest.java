@@ -0,0 +1,291 @@
+package org.szymonrysz.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+import org.szymonrysz.team.TeamNameNormalizer;
+import org.szymonrysz.team.TeamRegistry;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreBoardHttpServerTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T18:00:00Z");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ScoreBoardServiceImpl scoreBoardService;
+    private ScoreBoardHttpServer sut;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scoreBoardService = new ScoreBoardServiceImpl(new ConcurrentGameRepository(),
+                Clock.fixed(NOW, ZoneOffset.UTC), new GameConverter());
+        sut = new ScoreBoardHttpServer(scoreBoardService,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    void shouldServeSummaryAsJsonInRankOrder() throws Exception {
+        //given
+        var poland = startGame("Poland", "Germany", new Score(1, 0));
+        var mexico = startGame("Mexico", "Canada", new Score(0, 5));
+
+        //when
+        var response = get("/summary");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/json; charset=utf-8");
+        assertThat(response.body()).isEqualTo("[" + json(mexico) + "," + json(poland) + "]");
+    }
+
+    @Test
+    void shouldServeTopGamesOfTheSummary() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+        var mexico = startGame("Mexico", "Canada", new Score(0, 5));
+
+        //when
+        var topOne = get("/summary?limit=1");
+        var topNone = get("/summary?limit=0");
+        var topTen = get("/summary?limit=10");
+
+        //then
+        assertThat(topOne.body()).isEqualTo("[" + json(mexico) + "]");
+        assertThat(topNone.body()).isEqualTo("[]");
+        assertThat(topTen.body()).isEqualTo(get("/summary").body());
+    }
+
+    @Test
+    void shouldServeGameOfTheTeam() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+        var mexico = startGame("Mexico", "Canada", new Score(0, 5));
+
+        //when
+        var response = get("/teams/Canada");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(json(mexico));
+    }
+
+    @Test
+    void shouldMatchTeamNamesTheWayTheBoardDoes() throws Exception {
+        //given
+        var board = new ScoreBoardServiceImpl(
+                new ConcurrentGameRepository(new TeamRegistry(TeamNameNormalizer.TRIMMED_CASE_INSENSITIVE)),
+                Clock.fixed(NOW, ZoneOffset.UTC), new GameConverter());
+        var mexico = board.startGame(new Team("Mexico"), new Team("Canada"));
+
+        try (var server = new ScoreBoardHttpServer(board,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+            //when
+            var lowerCase = client.send(HttpRequest.newBuilder(URI.create("http://localhost:"
+                    + server.getAddress().getPort() + "/teams/mexico")).build(), HttpResponse.BodyHandlers.ofString());
+            var padded = client.send(HttpRequest.newBuilder(URI.create("http://localhost:"
+                    + server.getAddress().getPort() + "/teams/%20CANADA")).build(), HttpResponse.BodyHandlers.ofString());
+
+            //then
+            assertThat(lowerCase.statusCode()).isEqualTo(200);
+            assertThat(lowerCase.body()).isEqualTo(json(mexico));
+            assertThat(padded.statusCode()).isEqualTo(200);
+            assertThat(padded.body()).isEqualTo(json(mexico));
+        }
+    }
+
+    @Test
+    void shouldRespondNotFoundWhenTeamIsNotPlaying() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+
+        //when
+        var response = get("/teams/Spain");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldEscapeTeamNames() throws Exception {
+        //given
+        var game = startGame("Côte \"d'Ivoire\"", "Back\\slash", new Score(0, 0));
+
+        //when
+        var response = get("/summary");
+
+        //then
+        assertThat(response.body()).isEqualTo("[" + json(game) + "]");
+        assertThat(response.body()).contains("\"homeTeam\":\"Côte \\\"d'Ivoire\\\"\"", "\"awayTeam\":\"Back\\\\slash\"");
+    }
+
+    @Test
+    void shouldRespondNotModifiedWhileBoardIsUnchanged() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+        var etag = get("/summary").headers().firstValue("ETag").orElseThrow();
+
+        //when
+        var summary = get("/summary", etag);
+        var team = get("/teams/Poland", etag);
+
+        //then
+        assertThat(summary.statusCode()).isEqualTo(304);
+        assertThat(summary.body()).isEmpty();
+        assertThat(team.statusCode()).isEqualTo(304);
+        assertThat(summary.headers().firstValue("ETag")).hasValue(etag);
+    }
+
+    @Test
+    void shouldNotMatchTagsOfAnotherServerAtTheSameVersion() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+        var etag = get("/summary").headers().firstValue("ETag").orElseThrow();
+
+        try (var restarted = new ScoreBoardHttpServer(scoreBoardService,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+            //when
+            var response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:"
+                            + restarted.getAddress().getPort() + "/summary"))
+                    .header("If-None-Match", etag)
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            //then
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(etag);
+        }
+    }
+
+    @Test
+    void shouldServeNewBodyOnceBoardChanges() throws Exception {
+        //given
+        var game = startGame("Poland", "Germany", new Score(1, 0));
+        var etag = get("/summary").headers().firstValue("ETag").orElseThrow();
+
+        //when
+        var updated = scoreBoardService.updateScore(game.id(), new Score(2, 0));
+        var response = get("/summary", etag);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("ETag")).isNotEqualTo(etag);
+        assertThat(response.body()).isEqualTo("[" + json(updated) + "]");
+    }
+
+    @Test
+    void shouldSerialiseSummaryOncePerVersion() throws Exception {
+        //given
+        startGame("Poland", "Germany", new Score(1, 0));
+        startGame("Mexico", "Canada", new Score(0, 5));
+
+        //when
+        get("/summary");
+        get("/summary?limit=1");
+        get("/teams/Canada");
+        get("/teams/Poland");
+
+        //then
+        assertThat(sut.getSerialisationCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/summary?limit=-1", "/summary?limit=ten"})
+    void shouldRejectInvalidLimit(String path) throws Exception {
+        //when
+        var response = get(path);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void shouldRejectWrites() throws Exception {
+        //given
+        var request = HttpRequest.newBuilder(uri("/summary"))
+                .POST(HttpRequest.BodyPublishers.ofString("[]"))
+                .build();
+
+        //when
+        var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(405);
+        assertThat(response.headers().firstValue("Allow")).hasValue("GET, HEAD");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"7\"", "W/\"7\"", "\"5\", \"7\"", "*"})
+    void shouldMatchCurrentEtag(String ifNoneMatch) {
+        //when
+        var result = ScoreBoardHttpServer.matches(ifNoneMatch, "\"7\"");
+
+        //then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void shouldNotMatchOtherEtags() {
+        //when
+        var result = ScoreBoardHttpServer.matches("\"6\", W/\"8\"", "\"7\"");
+
+        //then
+        assertThat(result).isFalse();
+    }
+
+    private GameDto startGame(String homeTeam, String awayTeam, Score score) {
+        var game = scoreBoardService.startGame(new Team(homeTeam), new Team(awayTeam));
+        return scoreBoardService.updateScore(game.id(), score);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws Exception {
+        var request = HttpRequest.newBuilder(uri(path))
+                .header("If-None-Match", etag)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        var address = sut.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + path);
+    }
+
+    private static String json(GameDto game) {
+        return "{\"id\":\"" + game.id() + "\",\"homeTeam\":\"" + escape(game.homeTeam().name())
+                + "\",\"awayTeam\":\"" + escape(game.awayTeam().name())
+                + "\",\"homeScore\":" + game.score().homeTeamScore()
+                + ",\"awayScore\":" + game.score().awayTeamScore()
+                + ",\"createdAt\":\"" + game.createdAt() + "\"}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,234 @@
+package org.szymonrysz.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.repository.InMemoryGameRepository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class JournalingGameRepositoryTest {
+
+    @TempDir
+    private Path directory;
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void shouldRecoverGamesFromJournalAfterRestart(FsyncPolicy fsyncPolicy) throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        Game updatedGame;
+        try (var sut = JournalingGameRepository.open(journalDirectory, newRepository(), fsyncPolicy)) {
+            updatedGame = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+            var finishedGame = sut.saveIfTeamsAvailable(mockGame("France", "Spain")).orElseThrow();
+            updatedGame.setScore(new Score(2, 1));
+            sut.save(updatedGame);
+            sut.deleteById(finishedGame.getId());
+        }
+
+        //when
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), fsyncPolicy)) {
+
+            //then
+            assertThat(recovered.findAllInRankOrder()).containsExactly(updatedGame);
+            assertThat(recovered.existsByTeamName("France")).isFalse();
+            assertThat(recovered.findByTeamName("Poland")).contains(updatedGame);
+        }
+    }
+
+    @Test
+    void shouldDropTornRecordAtTheEndOfJournal() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        Game game;
+        try (var sut = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.ALWAYS)) {
+            game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        }
+        var journalFile = JournalFiles.segment(journalDirectory, 0);
+        var intactLength = Files.size(journalFile);
+        var tornRecord = ByteBuffer.allocate(GameMutationCodec.HEADER_SIZE + GameMutationCodec.MAX_RECORD_SIZE);
+        GameMutationCodec.encode(new GameDeleted(game.getId()), tornRecord);
+        Files.write(journalFile, Arrays.copyOf(tornRecord.array(), tornRecord.position() - 3),
+                StandardOpenOption.APPEND);
+
+        //when
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.ALWAYS)) {
+            recovered.deleteById(game.getId());
+        }
+
+        //then
+        assertThat(Files.size(journalFile)).isGreaterThan(intactLength);
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.ALWAYS)) {
+            assertThat(recovered.findAll()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldSkipCorruptedRecordInTheMiddleOfJournal() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        Game corruptedGame;
+        Game laterGame;
+        try (var sut = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.ALWAYS)) {
+            corruptedGame = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+            laterGame = sut.saveIfTeamsAvailable(mockGame("France", "Spain")).orElseThrow();
+            laterGame.setScore(new Score(1, 0));
+            sut.save(laterGame);
+        }
+        var journalFile = JournalFiles.segment(journalDirectory, 0);
+        var bytes = Files.readAllBytes(journalFile);
+        bytes[GameMutationCodec.HEADER_SIZE + 20] ^= 1;
+        Files.write(journalFile, bytes);
+
+        //when
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.ALWAYS)) {
+
+            //then
+            assertThat(recovered.findById(corruptedGame.getId())).isEmpty();
+            assertThat(recovered.findAllInRankOrder()).containsExactly(laterGame);
+        }
+        assertThat(Files.size(journalFile)).isEqualTo(bytes.length);
+    }
+
+    @Test
+    void shouldNotJournalChangeRejectedByRepository() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        try (var sut = JournalingGameRepository.open(journalDirectory, new ConcurrentGameRepository(),
+                FsyncPolicy.ALWAYS)) {
+            sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+            var journalLength = Files.size(JournalFiles.segment(journalDirectory, 0));
+            var unknownGame = mockGame("France", "Spain");
+            unknownGame.setId(UUID.randomUUID());
+            var clashingGame = mockGame("Italy", "Austria");
+
+            //when
+            var thrown = catchThrowable(() -> sut.save(unknownGame));
+            var saved = sut.saveAllIfTeamsAvailable(List.of(mockGame("Austria", "Italy"), clashingGame));
+            var clashingId = clashingGame.getId();
+
+            //then
+            assertThat(thrown).isInstanceOf(GameNotFoundException.class);
+            assertThat(saved).isFalse();
+            assertThat(clashingId).isNull();
+            assertThat(Files.size(JournalFiles.segment(journalDirectory, 0))).isEqualTo(journalLength);
+        }
+    }
+
+    @Test
+    void shouldRejectUnencodableGameBeforeApplyingIt() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        var delegate = newRepository();
+        try (var sut = JournalingGameRepository.open(journalDirectory, delegate, FsyncPolicy.ALWAYS)) {
+            var game = mockGame("P".repeat(Team.MAX_NAME_BYTES + 1), "Germany");
+
+            //when
+            var thrown = catchThrowable(() -> sut.saveIfTeamsAvailable(game));
+
+            //then
+            assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+            assertThat(delegate.findAll()).isEmpty();
+            assertThat(game.getId()).isNull();
+            assertThat(Files.size(JournalFiles.segment(journalDirectory, 0))).isZero();
+        }
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotAndLaterSegmentsOnly() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        Game updatedGame;
+        Game startedGame;
+        try (var sut = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.NEVER)) {
+            updatedGame = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+            var finishedGame = sut.saveIfTeamsAvailable(mockGame("France", "Spain")).orElseThrow();
+            sut.deleteById(finishedGame.getId());
+            sut.takeSnapshot();
+            updatedGame.setScore(new Score(1, 0));
+            sut.save(updatedGame);
+            startedGame = sut.saveIfTeamsAvailable(mockGame("Italy", "Austria")).orElseThrow();
+        }
+
+        //when
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.NEVER)) {
+
+            //then
+            assertThat(recovered.findAllInRankOrder()).containsExactly(updatedGame, startedGame);
+            assertThat(JournalFiles.segmentNumbers(journalDirectory)).containsExactly(1L);
+            assertThat(JournalFiles.snapshotNumbers(journalDirectory)).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void shouldCompactOlderSnapshotsAndSegments() throws IOException {
+        //given
+        var journalDirectory = directory.resolve("journal");
+        try (var sut = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.NEVER)) {
+            var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+
+            //when
+            for (int goals = 1; goals <= 3; goals++) {
+                game.setScore(new Score(goals, 0));
+                sut.save(game);
+                sut.takeSnapshot();
+            }
+        }
+
+        //then
+        assertThat(JournalFiles.segmentNumbers(journalDirectory)).containsExactly(3L);
+        assertThat(JournalFiles.snapshotNumbers(journalDirectory)).containsExactly(3L);
+        try (var recovered = JournalingGameRepository.open(journalDirectory, newRepository(), FsyncPolicy.NEVER)) {
+            assertThat(recovered.findByTeamName("Poland").orElseThrow().getScore()).isEqualTo(new Score(3, 0));
+        }
+    }
+
+    @Test
+    void shouldEncodeAndDecodeMutations() {
+        //given
+        var game = mockGame("Poland", "Germany");
+        game.setId(UUID.randomUUID());
+        var buffer = ByteBuffer.allocate(1024);
+
+        //when
+        GameMutationCodec.encode(new GameSaved(game), buffer);
+        GameMutationCodec.encode(new GameDeleted(game.getId()), buffer);
+        buffer.flip();
+
+        //then
+        assertThat(GameMutationCodec.decode(buffer)).isEqualTo(new GameSaved(game));
+        assertThat(GameMutationCodec.decode(buffer)).isEqualTo(new GameDeleted(game.getId()));
+        assertThat(GameMutationCodec.decode(buffer)).isNull();
+    }
+
+    private static InMemoryGameRepository newRepository() {
+        return new InMemoryGameRepository(new HashMap<>());
+    }
+
+    private static Game mockGame(String homeTeam, String awayTeam) {
+        return Game.builder()
+                .score(new Score(0, 0))
+                .homeTeam(new Team(homeTeam))
+                .awayTeam(new Team(awayTeam))
+                .createdAt(Instant.parse("2026-06-11T18:00:00.123456789Z"))
+                .build();
+    }
+}
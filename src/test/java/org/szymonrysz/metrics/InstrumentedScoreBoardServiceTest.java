@@ -0,0 +1,132 @@
+package org.szymonrysz.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.InMemoryGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import javax.management.ObjectName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstrumentedScoreBoardServiceTest {
+
+    private final InstrumentedScoreBoardService sut = new InstrumentedScoreBoardService(new ScoreBoardServiceImpl(
+            new InMemoryGameRepository(new HashMap<>()),
+            Clock.systemUTC(),
+            new GameConverter()
+    ));
+
+    @Test
+    void shouldCountSuccessesAndFailuresByExceptionType() {
+        //given
+        var game = sut.startGame(new Team("Poland"), new Team("Germany"));
+        sut.updateScore(game.id(), new Score(1, 0));
+        sut.getSummary();
+        sut.getSummary(1);
+
+        //when
+        assertThrows(GameRulesViolationException.class, () -> sut.startGame(new Team("Poland"), new Team("Spain")));
+        assertThrows(GameNotFoundException.class, () -> sut.finishGame(UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> sut.getSummary(-1, 1));
+
+        //then
+        var snapshot = sut.getMetrics().snapshot();
+        assertThat(snapshot.liveGames()).isEqualTo(1);
+        assertThat(snapshot.operations().get(ScoreBoardMetrics.START_GAME))
+                .extracting(OperationSnapshot::successes, OperationSnapshot::gameRulesViolationFailures)
+                .containsExactly(1L, 1L);
+        assertThat(snapshot.operations().get(ScoreBoardMetrics.FINISH_GAME))
+                .extracting(OperationSnapshot::successes, OperationSnapshot::gameNotFoundFailures)
+                .containsExactly(0L, 1L);
+        assertThat(snapshot.operations().get(ScoreBoardMetrics.UPDATE_SCORE).successes()).isEqualTo(1);
+        assertThat(snapshot.operations().get(ScoreBoardMetrics.GET_SUMMARY))
+                .extracting(OperationSnapshot::successes, OperationSnapshot::otherFailures)
+                .containsExactly(2L, 1L);
+        assertThat(snapshot.operations().get(ScoreBoardMetrics.GET_SUMMARY).latency().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReadLiveGamesWithoutBuildingSnapshot() {
+        //given
+        var delegate = new ScoreBoardServiceImpl(new InMemoryGameRepository(new HashMap<>()), Clock.systemUTC(),
+                new GameConverter());
+        var instrumented = new InstrumentedScoreBoardService(delegate);
+        instrumented.startGame(new Team("Poland"), new Team("Germany"));
+        instrumented.startGame(new Team("France"), new Team("Spain"));
+
+        //when
+        var liveGames = instrumented.getMetrics().getLiveGames();
+
+        //then
+        assertThat(liveGames).isEqualTo(2);
+        assertThat(delegate.getSnapshotCacheStats().misses()).isZero();
+    }
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        //given
+        var histogram = new LatencyHistogram();
+
+        //when
+        LongStream.rangeClosed(1, 10_000).forEach(nanos -> histogram.record(nanos * 1_000));
+
+        //then
+        var snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(10_000);
+        assertThat((double) snapshot.p50()).isCloseTo(5_000_000, within(5_000_000 * 0.04));
+        assertThat((double) snapshot.p99()).isCloseTo(9_900_000, within(9_900_000 * 0.04));
+        assertThat(snapshot.max()).isEqualTo(10_000_000);
+        assertThat(snapshot.mean()).isEqualTo(5_000_500);
+    }
+
+    @Test
+    void shouldMapEveryValueIntoBucketCoveringIt() {
+        //given
+        var values = LongStream.concat(LongStream.range(0, 4_096), LongStream.of(1L << 40, Long.MAX_VALUE));
+
+        //when
+        //then
+        values.forEach(value -> {
+            var bucket = LatencyHistogram.bucketOf(value);
+            assertThat(LatencyHistogram.highestValueOf(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueOf(bucket - 1)).isLessThan(value);
+            }
+        });
+    }
+
+    @Test
+    void shouldExposeMetricsThroughMBean() throws Exception {
+        //given
+        var objectName = "org.szymonrysz:type=ScoreBoardMetrics,name=test";
+        sut.getMetrics().registerMBean(objectName);
+        sut.startGame(new Team("Poland"), new Team("Germany"));
+        sut.getSummary();
+        sut.getSummary();
+
+        //when
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var liveGames = server.getAttribute(new ObjectName(objectName), "LiveGames");
+        var snapshotHits = server.getAttribute(new ObjectName(objectName), "SnapshotHits");
+        var snapshotMisses = server.getAttribute(new ObjectName(objectName), "SnapshotMisses");
+
+        //then
+        assertThat(liveGames).isEqualTo(1L);
+        assertThat(snapshotHits).isEqualTo(1L);
+        assertThat(snapshotMisses).isEqualTo(1L);
+        assertThat(sut.getMetrics().getCounters()).containsEntry("startGame.successes", 1L);
+        server.unregisterMBean(new ObjectName(objectName));
+    }
+}
@@ -0,0 +1,233 @@
+package org.szymonrysz.replication;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.journal.GameSaved;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationFollowerTest {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofMillis(20);
+    private static final Duration RECONNECT_DELAY = Duration.ofMillis(20);
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final Clock clock = Clock.systemUTC();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+    }
+
+    @Test
+    void shouldReplicateStartedUpdatedAndFinishedGamesToFollowers() throws IOException {
+        //given
+        var leaderRepository = new ReplicatingGameRepository(new ConcurrentGameRepository(), clock);
+        var leaderService = new ScoreBoardServiceImpl(leaderRepository, clock, new GameConverter());
+        var leader = startLeader(leaderRepository);
+        var firstFollower = startFollower(leader.getAddress());
+        var secondFollower = startFollower(leader.getAddress());
+
+        //when
+        var poland = leaderService.startGame(new Team("Poland"), new Team("Germany"));
+        var france = leaderService.startGame(new Team("France"), new Team("Spain"));
+        leaderService.updateScore(poland.id(), new Score(2, 1));
+        leaderService.finishGame(france.id());
+
+        //then
+        awaitCaughtUp(firstFollower, leaderRepository);
+        awaitCaughtUp(secondFollower, leaderRepository);
+        assertThat(firstFollower.getSummary()).isEqualTo(leaderService.getSummary());
+        assertThat(secondFollower.getSummary()).isEqualTo(leaderService.getSummary());
+        assertThat(firstFollower.getStatus().lag()).isZero();
+        assertThat(firstFollower.getStatus().snapshotsLoaded()).isZero();
+    }
+
+    @Test
+    void shouldCatchUpFromTheLastAppliedSequenceAfterReconnecting() throws Exception {
+        //given
+        var leaderRepository = new ReplicatingGameRepository(new ConcurrentGameRepository(), clock);
+        var leaderService = new ScoreBoardServiceImpl(leaderRepository, clock, new GameConverter());
+        var leader = startLeader(leaderRepository);
+        var game = leaderService.startGame(new Team("Poland"), new Team("Germany"));
+        var follower = startFollower(leader.getAddress());
+        awaitCaughtUp(follower, leaderRepository);
+        var followerRepository = follower.getRepository();
+        var appliedSequence = follower.getStatus().appliedSequence();
+        follower.close();
+
+        //when
+        leaderService.updateScore(game.id(), new Score(1, 0));
+        leaderService.startGame(new Team("France"), new Team("Spain"));
+        var resumed = startFollower(leader.getAddress(), followerRepository, appliedSequence);
+
+        //then
+        awaitCaughtUp(resumed, leaderRepository);
+        assertThat(resumed.getSummary()).isEqualTo(leaderService.getSummary());
+        assertThat(resumed.getStatus().snapshotsLoaded()).isZero();
+    }
+
+    @Test
+    void shouldLoadASnapshotWhenTheFollowerIsBehindTheReplicationLog() throws IOException {
+        //given
+        var leaderRepository = new ReplicatingGameRepository(new ConcurrentGameRepository(), clock, 4);
+        var leaderService = new ScoreBoardServiceImpl(leaderRepository, clock, new GameConverter());
+        var leader = startLeader(leaderRepository);
+        for (int i = 0; i < 20; i++) {
+            var game = leaderService.startGame(new Team("Home " + i), new Team("Away " + i));
+            leaderService.updateScore(game.id(), new Score(i % 4, i % 3));
+        }
+
+        var staleRepository = new ConcurrentGameRepository();
+        staleRepository.save(Game.builder()
+                .homeTeam(new Team("Stale"))
+                .awayTeam(new Team("Board"))
+                .score(new Score(0, 0))
+                .createdAt(clock.instant())
+                .build());
+
+        //when
+        var follower = startFollower(leader.getAddress(), staleRepository, 1);
+        leaderService.startGame(new Team("Poland"), new Team("Germany"));
+
+        //then
+        awaitCaughtUp(follower, leaderRepository);
+        assertThat(follower.getSummary()).isEqualTo(leaderService.getSummary());
+        assertThat(follower.getStatus().snapshotsLoaded()).isEqualTo(1);
+        assertThat(follower.getRepository()).isNotSameAs(staleRepository);
+        assertThat(staleRepository.count()).as("the board served while loading stays untouched").isEqualTo(1);
+    }
+
+    @Test
+    void shouldReconnectFromTheLastAppliedSequenceWhenAChangeIsMissing() throws IOException {
+        //given
+        try (var fakeLeader = ServerSocketChannel.open()) {
+            fakeLeader.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            var follower = startFollower((InetSocketAddress) fakeLeader.getLocalAddress());
+
+            //when
+            try (var connection = fakeLeader.accept()) {
+                assertThat(readHandshake(connection)).isEqualTo(1);
+                var frames = ByteBuffer.allocate(ReplicationProtocol.MAX_FRAME_SIZE * 2);
+                ReplicationProtocol.writeMutation(1, clock.millis(), new GameSaved(mockGame("Poland", "Germany")),
+                        frames);
+                ReplicationProtocol.writeMutation(3, clock.millis(), new GameSaved(mockGame("France", "Spain")),
+                        frames);
+                frames.flip();
+                while (frames.hasRemaining()) {
+                    connection.write(frames);
+                }
+
+                //then
+                try (var reconnection = fakeLeader.accept()) {
+                    assertThat(readHandshake(reconnection)).isEqualTo(2);
+                }
+            }
+            assertThat(follower.getStatus().appliedSequence()).isEqualTo(1);
+            assertThat(follower.getRepository().existsByTeamName("Poland")).isTrue();
+            assertThat(follower.getRepository().existsByTeamName("France")).isFalse();
+        }
+    }
+
+    @Test
+    void shouldReportTheLeaderSequenceThroughHeartbeatsWhenIdle() throws IOException {
+        //given
+        var leaderRepository = new ReplicatingGameRepository(new ConcurrentGameRepository(), clock);
+        var leaderService = new ScoreBoardServiceImpl(leaderRepository, clock, new GameConverter());
+        leaderService.startGame(new Team("Poland"), new Team("Germany"));
+        var leader = startLeader(leaderRepository);
+
+        //when
+        var follower = startFollower(leader.getAddress());
+
+        //then
+        awaitCaughtUp(follower, leaderRepository);
+        var status = follower.getStatus();
+        assertThat(status.connected()).isTrue();
+        assertThat(status.leaderSequence()).isEqualTo(leaderRepository.getLastSequence());
+        assertThat(status.lag()).isZero();
+        awaitFollowerCount(leader, 1);
+    }
+
+    private ReplicationLeader startLeader(ReplicatingGameRepository repository) throws IOException {
+        var leader = new ReplicationLeader(repository, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                clock, HEARTBEAT_INTERVAL);
+        resources.add(leader);
+        return leader;
+    }
+
+    private ReplicationFollower startFollower(InetSocketAddress leaderAddress) {
+        var follower = new ReplicationFollower(leaderAddress, ConcurrentGameRepository::new, new GameConverter(),
+                clock, RECONNECT_DELAY);
+        resources.add(follower);
+        return follower;
+    }
+
+    private ReplicationFollower startFollower(InetSocketAddress leaderAddress, GameRepository repository,
+                                              long appliedSequence) {
+        var follower = new ReplicationFollower(leaderAddress, repository, ConcurrentGameRepository::new,
+                new GameConverter(), clock, RECONNECT_DELAY, appliedSequence);
+        resources.add(follower);
+        return follower;
+    }
+
+    private Game mockGame(String homeTeam, String awayTeam) {
+        return Game.builder()
+                .id(UUID.randomUUID())
+                .homeTeam(new Team(homeTeam))
+                .awayTeam(new Team(awayTeam))
+                .score(new Score(0, 0))
+                .createdAt(clock.instant())
+                .build();
+    }
+
+    private static long readHandshake(SocketChannel connection) throws IOException {
+        var handshake = ByteBuffer.allocate(ReplicationProtocol.HANDSHAKE_SIZE);
+        while (handshake.hasRemaining()) {
+            if (connection.read(handshake) < 0) {
+                throw new IOException("Follower closed the connection before the handshake.");
+            }
+        }
+        return handshake.getLong(0);
+    }
+
+    private static void awaitFollowerCount(ReplicationLeader leader, int followerCount) {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (leader.getFollowerCount() != followerCount) {
+            assertThat(System.currentTimeMillis()).as("leader saw the followers in time").isLessThan(deadline);
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    private static void awaitCaughtUp(ReplicationFollower follower, ReplicatingGameRepository leaderRepository) {
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (follower.getStatus().appliedSequence() < leaderRepository.getLastSequence()
+                || follower.getStatus().leaderSequence() < leaderRepository.getLastSequence()) {
+            assertThat(System.currentTimeMillis()).as("follower caught up in time").isLessThan(deadline);
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package org.szymonrysz.repository;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrentGameRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS_PER_THREAD = 20_000;
+    private static final int TEAMS = 16;
+
+    private final ConcurrentGameRepository sut = new ConcurrentGameRepository();
+
+    @Test
+    void shouldSaveAGameWhenItsTeamsAreAvailable() {
+        //given
+        var game = mockGame("Poland", "Germany");
+
+        //when
+        var result = sut.saveIfTeamsAvailable(game);
+
+        //then
+        assertThat(result).contains(game);
+        assertThat(game.getId()).isNotNull();
+        assertThat(sut.findByTeamName("Poland")).contains(game);
+        assertThat(sut.findByTeamName("Germany")).contains(game);
+    }
+
+    @Test
+    void shouldNotSaveAGameWhenOneOfItsTeamsIsAlreadyPlaying() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany"));
+
+        //when
+        var result = sut.saveIfTeamsAvailable(mockGame("France", "Germany"));
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(sut.existsByTeamName("France")).isFalse();
+        assertThat(sut.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shouldSaveAllGamesOnlyWhenEveryTeamIsAvailable() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany"));
+        var rejectedBatch = List.of(mockGame("France", "Spain"), mockGame("Italy", "Germany"));
+        var acceptedBatch = List.of(mockGame("France", "Spain"), mockGame("Italy", "Austria"));
+
+        //when
+        var rejected = sut.saveAllIfTeamsAvailable(rejectedBatch);
+        var accepted = sut.saveAllIfTeamsAvailable(acceptedBatch);
+
+        //then
+        assertThat(rejected).isFalse();
+        assertThat(accepted).isTrue();
+        assertThat(sut.findAll()).hasSize(3);
+        assertThat(sut.findByTeamName("Italy")).contains(acceptedBatch.get(1));
+    }
+
+    @Test
+    void shouldSaveAllGamesOnlyWhenEveryGameIsLive() {
+        //given
+        var first = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        var second = sut.saveIfTeamsAvailable(mockGame("France", "Spain")).orElseThrow();
+        sut.deleteById(second.getId());
+        var firstUpdate = first.toBuilder().score(new Score(1, 0)).build();
+
+        //when
+        var rejected = sut.saveAllIfLive(List.of(firstUpdate, second.toBuilder().score(new Score(2, 0)).build()));
+        var accepted = sut.saveAllIfLive(List.of(firstUpdate));
+
+        //then
+        assertThat(rejected).isFalse();
+        assertThat(accepted).isTrue();
+        assertThat(sut.findAllInRankOrder()).containsExactly(firstUpdate);
+    }
+
+    @Test
+    void shouldReleaseTeamsWhenGameIsDeleted() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+
+        //when
+        sut.deleteById(game.getId());
+
+        //then
+        assertThat(sut.existsByTeamName("Poland")).isFalse();
+        assertThat(sut.existsByTeamName("Germany")).isFalse();
+        assertThat(sut.findAllInRankOrder()).isEmpty();
+    }
+
+    @Test
+    void shouldReorderRankingWhenScoreIsUpdated() {
+        //given
+        var first = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        var second = sut.saveIfTeamsAvailable(mockGame("France", "Spain")).orElseThrow();
+
+        //when
+        second.setScore(new Score(1, 0));
+        sut.save(second);
+
+        //then
+        assertThat(sut.findAllInRankOrder()).containsExactly(second, first);
+        assertThat(sut.rankOf(second.getId())).isEqualTo(1);
+        assertThat(sut.rankOf(first.getId())).isEqualTo(2);
+        assertThat(sut.rankOf(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    void shouldRejectSavingAGameWhoseTeamsArePlayingInAnotherGame() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany"));
+        var game = mockGame("Poland", "France");
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> sut.save(game));
+    }
+
+    @Test
+    void shouldKeepTheLiveGameWhenSavingItWithATeamPlayingElsewhere() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        sut.saveIfTeamsAvailable(mockGame("France", "Spain"));
+        var withNewTeams = game.toBuilder().awayTeam(new Team("Spain")).build();
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> sut.save(withNewTeams));
+        assertThat(sut.findById(game.getId())).contains(game);
+        assertThat(sut.findByTeamName("Germany")).contains(game);
+        assertThat(sut.findAllInRankOrder()).hasSize(2);
+    }
+
+    @Test
+    void shouldMoveTheGameToItsNewTeamsWhenTheyAreAvailable() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        var withNewTeams = game.toBuilder().awayTeam(new Team("Spain")).build();
+
+        //when
+        sut.save(withNewTeams);
+
+        //then
+        assertThat(sut.findById(game.getId())).contains(withNewTeams);
+        assertThat(sut.findByTeamName("Poland")).contains(withNewTeams);
+        assertThat(sut.existsByTeamName("Germany")).isFalse();
+        assertThat(sut.findAllInRankOrder()).containsExactly(withNewTeams);
+    }
+
+    @Test
+    void shouldNotSaveAGameThatIsNoLongerLive() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany")).orElseThrow();
+        sut.deleteById(game.getId());
+
+        //when
+        //then
+        assertThrows(GameNotFoundException.class, () -> sut.save(game));
+        assertThat(sut.findById(game.getId())).isEmpty();
+        assertThat(sut.existsByTeamName("Poland")).isFalse();
+    }
+
+    @Test
+    void shouldNeverBringBackAGameFinishedWhileItsScoreIsUpdated() throws Exception {
+        //given
+        var service = new ScoreBoardServiceImpl(sut, Clock.systemUTC(), new GameConverter());
+        var executor = Executors.newFixedThreadPool(2);
+
+        //when
+        for (int round = 0; round < 2_000; round++) {
+            var game = service.startGame(new Team("Poland"), new Team("Germany"));
+            var barrier = new CyclicBarrier(2);
+            var updater = executor.submit(() -> {
+                barrier.await();
+                for (int goals = 1; goals <= 20; goals++) {
+                    try {
+                        service.updateScore(game.id(), new Score(goals, 0));
+                    } catch (GameNotFoundException e) {
+                        return null;
+                    }
+                }
+                return null;
+            });
+            var finisher = executor.submit(() -> {
+                barrier.await();
+                service.finishGame(game.id());
+                return null;
+            });
+            updater.get(10, TimeUnit.SECONDS);
+            finisher.get(10, TimeUnit.SECONDS);
+
+            //then
+            assertThat(sut.findById(game.id())).isEmpty();
+            assertThat(sut.existsByTeamName("Poland")).isFalse();
+            assertThat(sut.existsByTeamName("Germany")).isFalse();
+        }
+        executor.shutdown();
+        assertThat(sut.findAllInRankOrder()).isEmpty();
+    }
+
+    @Test
+    void shouldNeverShowHalfOfBatchUpdateToRankOrderReaders() throws Exception {
+        //given
+        var service = new ScoreBoardServiceImpl(sut, Clock.systemUTC(), new GameConverter());
+        var first = service.startGame(new Team("Poland"), new Team("Germany"));
+        var second = service.startGame(new Team("France"), new Team("Spain"));
+        var executor = Executors.newSingleThreadExecutor();
+
+        //when
+        var writer = executor.submit(() -> {
+            for (int goals = 1; goals <= 2_000; goals++) {
+                var scores = new LinkedHashMap<UUID, Score>();
+                scores.put(first.id(), new Score(goals, 0));
+                scores.put(second.id(), new Score(0, goals));
+                service.updateScores(scores);
+            }
+            return null;
+        });
+        while (!writer.isDone()) {
+            var totalScores = sut.findAllInRankOrder()
+                    .map(Game::getTotalScore)
+                    .distinct()
+                    .toList();
+
+            //then
+            assertThat(totalScores).hasSize(1);
+        }
+        writer.get();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldKeepEveryLiveGameInRankOrderReadsWhileScoresChange() throws Exception {
+        //given
+        var service = new ScoreBoardServiceImpl(sut, Clock.systemUTC(), new GameConverter());
+        var games = new ArrayList<UUID>();
+        for (int team = 0; team < TEAMS; team += 2) {
+            games.add(service.startGame(teamOf(team), teamOf(team + 1)).id());
+        }
+        var executor = Executors.newFixedThreadPool(THREADS / 2);
+        var writers = new ArrayList<Future<?>>();
+
+        //when
+        for (int thread = 0; thread < THREADS / 2; thread++) {
+            writers.add(executor.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                    service.updateScore(games.get(random.nextInt(games.size())),
+                            new Score(random.nextInt(10), random.nextInt(10)));
+                }
+            }));
+        }
+        while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+            //then
+            assertThat(sut.findAllInRankOrder().map(Game::getId).distinct().count()).isEqualTo(sut.count());
+            assertThat(service.getSummary()).hasSize((int) sut.count());
+        }
+        for (var writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNeverLetATeamPlayInTwoLiveGamesUnderConcurrentLoad() throws InterruptedException {
+        //given
+        var service = new ScoreBoardServiceImpl(sut, Clock.systemUTC(), new GameConverter());
+        var occupancy = new AtomicIntegerArray(TEAMS);
+        var violations = new AtomicInteger();
+        var startedGames = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var startLatch = new CountDownLatch(1);
+
+        //when
+        for (int thread = 0; thread < THREADS; thread++) {
+            executor.execute(() -> {
+                awaitQuietly(startLatch);
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                    var home = random.nextInt(TEAMS);
+                    var away = (home + 1 + random.nextInt(TEAMS - 1)) % TEAMS;
+                    try {
+                        var game = service.startGame(teamOf(home), teamOf(away));
+                        startedGames.incrementAndGet();
+                        var homeOccupancy = occupancy.incrementAndGet(home);
+                        var awayOccupancy = occupancy.incrementAndGet(away);
+                        if (homeOccupancy > 1 || awayOccupancy > 1) {
+                            violations.incrementAndGet();
+                        }
+                        service.updateScore(game.id(), new Score(random.nextInt(5), random.nextInt(5)));
+                        occupancy.decrementAndGet(home);
+                        occupancy.decrementAndGet(away);
+                        service.finishGame(game.id());
+                    } catch (GameRulesViolationException e) {
+                        // team already playing, try another pair
+                    }
+                }
+            });
+        }
+        startLatch.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(violations.get()).isZero();
+        assertThat(startedGames.get()).isPositive();
+        assertThat(sut.findAll()).isEmpty();
+        assertThat(sut.findAllInRankOrder()).isEmpty();
+        for (int team = 0; team < TEAMS; team++) {
+            assertThat(sut.existsByTeamName(teamOf(team).name())).isFalse();
+        }
+    }
+
+    @Test
+    void shouldKeepEveryTeamInAtMostOneGameWhenStartingConcurrently() throws InterruptedException {
+        //given
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var startLatch = new CountDownLatch(1);
+
+        //when
+        for (int thread = 0; thread < THREADS; thread++) {
+            executor.execute(() -> {
+                awaitQuietly(startLatch);
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < 1_000; i++) {
+                    var home = random.nextInt(TEAMS * 4);
+                    var away = (home + 1 + random.nextInt(TEAMS * 4 - 1)) % (TEAMS * 4);
+                    sut.saveIfTeamsAvailable(mockGame(teamOf(home).name(), teamOf(away).name()));
+                }
+            });
+        }
+        startLatch.countDown();
+        executor.shutdown();
+
+        //then
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        var seenTeams = new HashSet<Team>();
+        sut.findAll().forEach(game -> {
+            assertThat(seenTeams.add(game.getHomeTeam())).isTrue();
+            assertThat(seenTeams.add(game.getAwayTeam())).isTrue();
+            assertThat(sut.findByTeamName(game.getHomeTeam().name())).contains(game);
+            assertThat(sut.findByTeamName(game.getAwayTeam().name())).contains(game);
+        });
+        assertThat(sut.findAllInRankOrder()).hasSameSizeAs(sut.findAll().toList());
+    }
+
+    private static Team teamOf(int index) {
+        return new Team("Team " + index);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Game mockGame(String homeTeam, String awayTeam) {
+        return Game.builder()
+                .score(new Score(0, 0))
+                .homeTeam(new Team(homeTeam))
+                .awayTeam(new Team(awayTeam))
+                .createdAt(Instant.now())
+                .build();
+    }
+}
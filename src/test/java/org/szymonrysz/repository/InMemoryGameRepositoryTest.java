@@ -7,10 +7,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.szymonrysz.model.Game;
 import org.szymonrysz.model.Score;
 import org.szymonrysz.model.Team;
+import org.szymonrysz.team.TeamRegistry;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,6 +27,12 @@ class InMemoryGameRepositoryTest {
     @Mock
     private HashMap<UUID, Game> gamesMap;
 
+    @Spy
+    private TeamRegistry teamRegistry = new TeamRegistry();
+
+    @Spy
+    private GameIdGenerator gameIdGenerator = new TimeOrderedGameIdGenerator();
+
     @InjectMocks
     private InMemoryGameRepository sut;
 
@@ -56,6 +66,41 @@ class InMemoryGameRepositoryTest {
         assertThat(result).isEqualTo(gameToSave);
     }
 
+    @Test
+    void shouldSaveAGameWhenItsTeamsAreAvailable() {
+        //given
+        var gameToSave = mockGame();
+        gameToSave.setId(null);
+
+        //when
+        var result = sut.saveIfTeamsAvailable(gameToSave);
+
+        //then
+        verify(gamesMap).put(gameToSave.getId(), gameToSave);
+        assertThat(result).contains(gameToSave);
+    }
+
+    @Test
+    void shouldNotSaveAGameWhenOneOfItsTeamsIsAlreadyPlaying() {
+        //given
+        sut.save(mockGame());
+        var gameToSave = Game.builder()
+                .score(new Score(0, 0))
+                .homeTeam(new Team("France"))
+                .awayTeam(new Team("Germany"))
+                .createdAt(Instant.MIN)
+                .build();
+
+        //when
+        var result = sut.saveIfTeamsAvailable(gameToSave);
+
+        //then
+        verify(gamesMap, never()).put(any(), eq(gameToSave));
+        verify(teamRegistry, never()).register("France");
+        assertThat(result).isEmpty();
+        assertThat(teamRegistry.findId("France")).isEqualTo(TeamRegistry.NOT_REGISTERED);
+    }
+
     @Test
     void shouldFindGameById() {
         //given
@@ -111,6 +156,45 @@ class InMemoryGameRepositoryTest {
         assertThat(games).containsAll(savedGames);
     }
 
+    @Test
+    void shouldKeepRankingInSummaryOrderAfterRandomStartsUpdatesAndFinishes() {
+        //given
+        var repository = new InMemoryGameRepository(new HashMap<>());
+        var random = new Random(42);
+        var liveGameIds = new ArrayList<UUID>();
+        var summaryOrder = Comparator.comparing(Game::getTotalScore)
+                .reversed()
+                .thenComparing(Game::getCreatedAt)
+                .thenComparing(Game::getId);
+
+        for (int i = 0; i < 5_000; i++) {
+            //when
+            var operation = liveGameIds.isEmpty() ? 0 : random.nextInt(3);
+            switch (operation) {
+                case 0 -> {
+                    var game = Game.builder()
+                            .homeTeam(new Team("Home " + i))
+                            .awayTeam(new Team("Away " + i))
+                            .score(new Score(0, 0))
+                            .createdAt(Instant.ofEpochSecond(random.nextInt(50)))
+                            .build();
+                    liveGameIds.add(repository.save(game).getId());
+                }
+                case 1 -> {
+                    var gameId = liveGameIds.get(random.nextInt(liveGameIds.size()));
+                    var game = repository.findById(gameId).orElseThrow();
+                    game.setScore(new Score(random.nextInt(5), random.nextInt(5)));
+                    repository.save(game);
+                }
+                default -> repository.deleteById(liveGameIds.remove(random.nextInt(liveGameIds.size())));
+            }
+
+            //then
+            var expected = repository.findAll().sorted(summaryOrder).toList();
+            assertThat(repository.findAllInRankOrder().toList()).containsExactlyElementsOf(expected);
+        }
+    }
+
     private static Game mockGame() {
         return Game.builder()
                 .id(UUID.randomUUID())
@@ -124,8 +208,7 @@ class InMemoryGameRepositoryTest {
     @Test
     void shouldReturnTrueIfGameWithGivenTeamNameExists() {
         //given
-        var savedGame = mockGame();
-        when(gamesMap.values()).thenReturn(List.of(savedGame));
+        sut.save(mockGame());
 
         //when
         var result = sut.existsByTeamName("Poland");
@@ -137,8 +220,7 @@ class InMemoryGameRepositoryTest {
     @Test
     void shouldReturnTrueIfGameWithGivenTeamNameDoesNotExist() {
         //given
-        var savedGame = mockGame();
-        when(gamesMap.values()).thenReturn(List.of(savedGame));
+        sut.save(mockGame());
 
         //when
         var result = sut.existsByTeamName("France");
@@ -146,4 +228,44 @@ class InMemoryGameRepositoryTest {
         //then
         assertThat(result).isFalse();
     }
+
+    @Test
+    void shouldReturnFalseIfGameWithGivenTeamNameWasDeleted() {
+        //given
+        var savedGame = sut.save(mockGame());
+        when(gamesMap.remove(savedGame.getId())).thenReturn(savedGame);
+        sut.deleteById(savedGame.getId());
+
+        //when
+        var result = sut.existsByTeamName("Poland");
+
+        //then
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void shouldFindGameByTeamName() {
+        //given
+        var savedGame = sut.save(mockGame());
+        when(gamesMap.get(savedGame.getId())).thenReturn(savedGame);
+
+        //when
+        var result = sut.findByTeamName("Germany");
+
+        //then
+        assertThat(result).contains(savedGame);
+    }
+
+    @Test
+    void shouldReturnEmptyOptionalWhenNoGameWithGivenTeamName() {
+        //given
+        sut.save(mockGame());
+
+        //when
+        var result = sut.findByTeamName("France");
+
+        //then
+        assertThat(result).isEmpty();
+        verify(gamesMap, never()).get(any());
+    }
 }
\ No newline at end of file
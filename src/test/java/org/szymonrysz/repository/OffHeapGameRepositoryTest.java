@@ -0,0 +1,240 @@
+package org.szymonrysz.repository;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapGameRepositoryTest {
+
+    private final OffHeapGameRepository sut = new OffHeapGameRepository();
+
+    @Test
+    void shouldSaveAGameAndReadItBackAsACopy() {
+        //given
+        var game = mockGame("Poland", "Germany", Instant.parse("2024-06-14T19:00:00.123456789Z"));
+
+        //when
+        var result = sut.saveIfTeamsAvailable(game);
+        var found = sut.findById(game.getId()).orElseThrow();
+
+        //then
+        assertThat(result).contains(game);
+        assertThat(found).isEqualTo(game).isNotSameAs(game);
+        assertThat(sut.findByTeamName("Germany")).contains(game);
+    }
+
+    @Test
+    void shouldKeepAStoredGameUnchangedUntilItIsSavedAgain() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now())).orElseThrow();
+
+        //when
+        game.setScore(new Score(2, 1));
+        var beforeSave = sut.findById(game.getId()).orElseThrow();
+        sut.save(game);
+
+        //then
+        assertThat(beforeSave.getScore()).isEqualTo(new Score(0, 0));
+        assertThat(sut.findById(game.getId()).orElseThrow().getScore()).isEqualTo(new Score(2, 1));
+    }
+
+    @Test
+    void shouldNotSaveAGameWhenOneOfItsTeamsIsAlreadyPlaying() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now()));
+
+        //when
+        var result = sut.saveIfTeamsAvailable(mockGame("France", "Germany", Instant.now()));
+
+        //then
+        assertThat(result).isEmpty();
+        assertThat(sut.existsByTeamName("France")).isFalse();
+        assertThat(sut.findAll()).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectSavingAGameWhoseTeamsArePlayingInAnotherGame() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now()));
+        var game = mockGame("Poland", "France", Instant.now());
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> sut.save(game));
+    }
+
+    @Test
+    void shouldKeepTheLiveGameWhenSavingItWithATeamPlayingElsewhere() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now())).orElseThrow();
+        sut.saveIfTeamsAvailable(mockGame("France", "Spain", Instant.now()));
+        var withNewTeams = game.toBuilder().awayTeam(new Team("Spain")).build();
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> sut.save(withNewTeams));
+        assertThat(sut.findById(game.getId())).contains(game);
+        assertThat(sut.findByTeamName("Germany")).contains(game);
+        assertThat(sut.findAllInRankOrder()).hasSize(2);
+    }
+
+    @Test
+    void shouldNotSaveAGameThatIsNoLongerLive() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now())).orElseThrow();
+        sut.deleteById(game.getId());
+
+        //when
+        //then
+        assertThrows(GameNotFoundException.class, () -> sut.save(game));
+        assertThat(sut.findById(game.getId())).isEmpty();
+        assertThat(sut.existsByTeamName("Poland")).isFalse();
+    }
+
+    @Test
+    void shouldSaveAllGamesOnlyWhenEveryTeamIsAvailable() {
+        //given
+        sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now()));
+        var rejectedBatch = List.of(mockGame("France", "Spain", Instant.now()),
+                mockGame("Italy", "Germany", Instant.now()));
+        var acceptedBatch = List.of(mockGame("France", "Spain", Instant.now()),
+                mockGame("Italy", "Austria", Instant.now()));
+
+        //when
+        var rejected = sut.saveAllIfTeamsAvailable(rejectedBatch);
+        var accepted = sut.saveAllIfTeamsAvailable(acceptedBatch);
+
+        //then
+        assertThat(rejected).isFalse();
+        assertThat(accepted).isTrue();
+        assertThat(sut.findAll()).hasSize(3);
+        assertThat(sut.findByTeamName("Italy")).contains(acceptedBatch.get(1));
+    }
+
+    @Test
+    void shouldReleaseTeamsAndReuseTheSlotWhenGameIsDeleted() {
+        //given
+        var game = sut.saveIfTeamsAvailable(mockGame("Poland", "Germany", Instant.now())).orElseThrow();
+
+        //when
+        sut.deleteById(game.getId());
+        var replacement = sut.saveIfTeamsAvailable(mockGame("Poland", "France", Instant.now()));
+
+        //then
+        assertThat(sut.findById(game.getId())).isEmpty();
+        assertThat(sut.existsByTeamName("Germany")).isFalse();
+        assertThat(replacement).isPresent();
+        assertThat(sut.findAll()).containsExactly(replacement.get());
+    }
+
+    @Test
+    void shouldGrowBeyondTheInitialCapacity() {
+        //given
+        var games = new Game[5_000];
+
+        //when
+        for (int i = 0; i < games.length; i++) {
+            games[i] = sut.saveIfTeamsAvailable(mockGame("Home " + i, "Away " + i, Instant.now())).orElseThrow();
+        }
+
+        //then
+        assertThat(sut.findAll()).hasSize(games.length);
+        for (var game : games) {
+            assertThat(sut.findById(game.getId())).contains(game);
+        }
+    }
+
+    @Test
+    void shouldRankGamesLikeTheInMemoryRepository() {
+        //given
+        var random = new Random(42);
+        var reference = new InMemoryGameRepository(new HashMap<>());
+        var createdAt = Instant.parse("2024-06-14T19:00:00Z");
+        var ids = new UUID[2_000];
+        for (int i = 0; i < ids.length; i++) {
+            var game = mockGame("Home " + i, "Away " + i, createdAt.plusMillis(random.nextInt(100)));
+            game.setScore(new Score(random.nextInt(4), random.nextInt(4)));
+            ids[i] = sut.saveIfTeamsAvailable(game).orElseThrow().getId();
+            reference.save(copyOf(game));
+        }
+
+        //when
+        for (int i = 0; i < ids.length; i += 3) {
+            sut.deleteById(ids[i]);
+            reference.deleteById(ids[i]);
+        }
+        for (int i = 1; i < ids.length; i += 3) {
+            var game = sut.findById(ids[i]).orElseThrow();
+            game.setScore(new Score(random.nextInt(6), random.nextInt(6)));
+            sut.save(game);
+            reference.save(copyOf(game));
+        }
+        var batch = new ArrayList<Game>();
+        for (int i = 2; i < ids.length; i += 30) {
+            var game = sut.findById(ids[i]).orElseThrow();
+            game.setScore(new Score(game.getScore().homeTeamScore() + 1, game.getScore().awayTeamScore()));
+            batch.add(game);
+            reference.save(copyOf(game));
+        }
+        sut.saveAllIfLive(batch);
+        var reinsertedIds = new ArrayList<UUID>();
+        for (int i = 0; i < ids.length; i += 6) {
+            var game = mockGame("Again " + i, "Away again " + i, createdAt.plusMillis(random.nextInt(100)));
+            game.setScore(new Score(random.nextInt(4), 0));
+            reinsertedIds.add(sut.saveIfTeamsAvailable(game).orElseThrow().getId());
+            reference.save(copyOf(game));
+        }
+
+        //then
+        assertThat(sut.findAllInRankOrder()).containsExactlyElementsOf(reference.findAllInRankOrder().toList());
+        for (var id : ids) {
+            assertThat(sut.rankOf(id)).isEqualTo(reference.rankOf(id));
+        }
+        for (var id : reinsertedIds) {
+            assertThat(sut.rankOf(id)).isEqualTo(reference.rankOf(id));
+        }
+    }
+
+    @Test
+    void shouldRejectACreationTimeOutOfTheEpochNanosRange() {
+        //given
+        var game = mockGame("Poland", "Germany", Instant.MAX);
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> sut.saveIfTeamsAvailable(game));
+        assertThat(sut.existsByTeamName("Poland")).isFalse();
+    }
+
+    private static Game copyOf(Game game) {
+        return Game.builder()
+                .id(game.getId())
+                .score(game.getScore())
+                .homeTeam(game.getHomeTeam())
+                .awayTeam(game.getAwayTeam())
+                .createdAt(game.getCreatedAt())
+                .build();
+    }
+
+    private static Game mockGame(String homeTeam, String awayTeam, Instant createdAt) {
+        return Game.builder()
+                .score(new Score(0, 0))
+                .homeTeam(new Team(homeTeam))
+                .awayTeam(new Team(awayTeam))
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package org.szymonrysz.repository;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.model.Game;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingIndexTest {
+
+    private static final Instant KICK_OFF = Instant.parse("2024-06-14T19:00:00Z");
+
+    private final RankingIndex sut = new RankingIndex();
+
+    @Test
+    void shouldRankAndOrderGamesLikeASortedMap() {
+        //given
+        var random = new Random(7);
+        var expected = new TreeMap<RankingKey, Game>();
+        var keys = new ArrayList<RankingKey>();
+
+        //when
+        for (int i = 0; i < 5_000; i++) {
+            if (keys.isEmpty() || random.nextInt(3) > 0) {
+                var game = mockGame(random.nextInt(10), random.nextInt(100));
+                var key = RankingKey.of(game);
+                sut.put(key, game);
+                expected.put(key, game);
+                keys.add(key);
+            } else {
+                var key = keys.remove(random.nextInt(keys.size()));
+                sut.remove(key);
+                expected.remove(key);
+            }
+        }
+
+        //then
+        assertThat(sut.size()).isEqualTo(expected.size());
+        assertThat(sut.values()).containsExactlyElementsOf(expected.values());
+        for (var key : keys) {
+            assertThat(sut.rankOf(key)).isEqualTo(expected.headMap(key).size() + 1);
+        }
+    }
+
+    @Test
+    void shouldReplaceTheGameStoredUnderTheSameKey() {
+        //given
+        var game = mockGame(1, 0);
+        var key = RankingKey.of(game);
+        sut.put(key, game);
+        var sameKeyGame = game.toBuilder().build();
+
+        //when
+        sut.put(key, sameKeyGame);
+
+        //then
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(sut.values()).containsExactly(sameKeyGame);
+    }
+
+    @Test
+    void shouldReturnZeroRankForMissingKey() {
+        //given
+        var game = mockGame(1, 0);
+
+        //when
+        //then
+        assertThat(sut.rankOf(RankingKey.of(game))).isZero();
+    }
+
+    private static Game mockGame(int goals, int minute) {
+        return Game.builder()
+                .id(UUID.randomUUID())
+                .homeTeam(new Team("Poland"))
+                .awayTeam(new Team("Germany"))
+                .score(new Score(goals, 0))
+                .createdAt(KICK_OFF.plusSeconds(minute * 60L))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package org.szymonrysz.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedGameIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-11T18:00:00.123Z");
+
+    @Test
+    void shouldGenerateVersion7IdsWithTheTimestampInFront() {
+        //given
+        var sut = new TimeOrderedGameIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        //when
+        var result = sut.nextId();
+
+        //then
+        assertThat(result.version()).isEqualTo(7);
+        assertThat(result.variant()).isEqualTo(2);
+        assertThat(result.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+    }
+
+    @Test
+    void shouldGenerateIncreasingIdsWhenClockStandsStill() {
+        //given
+        var sut = new TimeOrderedGameIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        //when
+        var ids = Stream.generate(sut::nextId)
+                .limit(10_000)
+                .toList();
+
+        //then
+        assertThat(ids).isSortedAccordingTo(Comparator.naturalOrder()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldGenerateUniqueIdsConcurrently() {
+        //given
+        var sut = new TimeOrderedGameIdGenerator();
+
+        //when
+        var ids = IntStream.range(0, 100_000)
+                .parallel()
+                .mapToObj(i -> sut.nextId())
+                .map(UUID::getMostSignificantBits)
+                .toList();
+
+        //then
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,203 @@
+package org.szymonrysz.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.exception.GameRulesViolationException;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.InMemoryGameRepository;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class AsyncScoreBoardServiceTest {
+
+    private final AsyncScoreBoardService sut = new AsyncScoreBoardService(new ScoreBoardServiceImpl(
+            new InMemoryGameRepository(new HashMap<>()),
+            Clock.systemUTC(),
+            new GameConverter()
+    ));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sut.close();
+    }
+
+    @Test
+    void shouldApplyCommandsInSubmissionOrder() throws Exception {
+        //given
+        var game = sut.startGame(new Team("Poland"), new Team("Germany")).get();
+
+        //when
+        sut.updateScore(game.id(), new Score(1, 0));
+        var updatedGame = sut.updateScore(game.id(), new Score(2, 0)).get();
+
+        //then
+        assertThat(updatedGame.score()).isEqualTo(new Score(2, 0));
+        assertThat(sut.getSummary()).containsExactly(updatedGame);
+        assertThat(sut.getSnapshot().version()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCompleteFutureExceptionallyWhenCommandFails() {
+        //given
+        var gameId = UUID.randomUUID();
+
+        //when
+        var result = sut.finishGame(gameId);
+
+        //then
+        var exception = assertThrows(ExecutionException.class, result::get);
+        assertThat(exception).hasCauseInstanceOf(GameNotFoundException.class);
+    }
+
+    @Test
+    void shouldStartEveryTeamOnlyOnceWhenSubmittingConcurrently() {
+        //given
+        var futures = IntStream.range(0, 1_000)
+                .parallel()
+                .mapToObj(i -> sut.startGame(new Team("Team " + i % 100), new Team("Rival " + i % 100)))
+                .toList();
+
+        //when
+        var failures = futures.stream()
+                .map(future -> future.handle((game, failure) -> failure))
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+
+        //then
+        assertThat(sut.getSummary()).hasSize(100);
+        assertThat(failures).hasSize(900).allMatch(GameRulesViolationException.class::isInstance);
+    }
+
+    @Test
+    void shouldRejectCommandsAfterClose() throws InterruptedException {
+        //given
+        sut.close();
+
+        //when
+        var result = sut.startGame(new Team("Poland"), new Team("Germany"));
+
+        //then
+        var exception = assertThrows(ExecutionException.class, result::get);
+        assertThat(exception).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldApplyQueuedScoreUpdatesAsOneChange() throws Exception {
+        //given
+        var service = spy(new ScoreBoardServiceImpl(new InMemoryGameRepository(new HashMap<>()), Clock.systemUTC(),
+                new GameConverter()));
+        var games = IntStream.range(0, 3)
+                .mapToObj(i -> service.startGame(new Team("Team " + i), new Team("Rival " + i)))
+                .toList();
+        var writerBlocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writerBlocked.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(service).finishGame(games.get(0).id());
+
+        try (var async = new AsyncScoreBoardService(service)) {
+            var finished = async.finishGame(games.get(0).id());
+            writerBlocked.await();
+            var versionBefore = service.getSnapshot().version();
+
+            //when
+            var updates = games.stream()
+                    .skip(1)
+                    .map(game -> async.updateScore(game.id(), new Score(1, 0)))
+                    .toList();
+            var failed = async.updateScore(UUID.randomUUID(), new Score(1, 0));
+            release.countDown();
+
+            //then
+            finished.get();
+            assertThat(updates).allSatisfy(update -> assertThat(update.get().score()).isEqualTo(new Score(1, 0)));
+            var exception = assertThrows(ExecutionException.class, failed::get);
+            assertThat(exception).hasCauseInstanceOf(GameNotFoundException.class);
+            verify(service).updateScores(anyMap(), eq(BatchMode.PER_ITEM));
+            verify(service, never()).updateScore(any(), any());
+            assertThat(service.getSnapshot().version()).isEqualTo(versionBefore + 2);
+        }
+    }
+
+    @Test
+    void shouldFailOnlyTheUpdateWithANullScoreWhenQueuedWithOthers() throws Exception {
+        //given
+        var service = spy(new ScoreBoardServiceImpl(new InMemoryGameRepository(new HashMap<>()), Clock.systemUTC(),
+                new GameConverter()));
+        var games = IntStream.range(0, 3)
+                .mapToObj(i -> service.startGame(new Team("Team " + i), new Team("Rival " + i)))
+                .toList();
+        var writerBlocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writerBlocked.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(service).finishGame(games.get(0).id());
+
+        try (var async = new AsyncScoreBoardService(service)) {
+            var finished = async.finishGame(games.get(0).id());
+            writerBlocked.await();
+
+            //when
+            var valid = async.updateScore(games.get(1).id(), new Score(1, 0));
+            var invalid = async.updateScore(games.get(2).id(), null);
+            release.countDown();
+
+            //then
+            finished.get();
+            assertThat(valid.get().score()).isEqualTo(new Score(1, 0));
+            var exception = assertThrows(ExecutionException.class, invalid::get);
+            assertThat(exception).hasCauseInstanceOf(NullPointerException.class);
+            assertThat(service.getSummary()).extracting(GameDto::score)
+                    .containsExactlyInAnyOrder(new Score(1, 0), new Score(0, 0));
+        }
+    }
+
+    @Test
+    void shouldKeepWriterRunningWhenCommandThrowsError() throws Exception {
+        //given
+        var service = spy(new ScoreBoardServiceImpl(new InMemoryGameRepository(new HashMap<>()), Clock.systemUTC(),
+                new GameConverter()));
+        var gameId = UUID.randomUUID();
+        var error = new StackOverflowError();
+        doThrow(error).when(service).finishGame(gameId);
+
+        try (var async = new AsyncScoreBoardService(service)) {
+            //when
+            var failed = async.finishGame(gameId);
+            var started = async.startGame(new Team("Poland"), new Team("Germany"));
+
+            //then
+            var exception = assertThrows(ExecutionException.class, failed::get);
+            assertThat(exception).hasCause(error);
+            assertThat(started.get().homeTeam()).isEqualTo(new Team("Poland"));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.szymonrysz.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -7,22 +8,40 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.GameStartedEvent;
+import org.szymonrysz.event.OverflowPolicy;
+import org.szymonrysz.event.ScoreBoardEvent;
+import org.szymonrysz.event.ScoreBoardEventBus;
+import org.szymonrysz.event.ScoreChangedEvent;
+import org.szymonrysz.event.SubscriptionConfig;
 import org.szymonrysz.exception.GameNotFoundException;
 import org.szymonrysz.exception.GameRulesViolationException;
 import org.szymonrysz.model.Game;
 import org.szymonrysz.model.Score;
 import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
 import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.ConcurrentGameRepository;
 import org.szymonrysz.repository.GameRepository;
+import org.szymonrysz.repository.InMemoryGameRepository;
+import org.szymonrysz.team.TeamNameNormalizer;
+import org.szymonrysz.team.TeamRegistry;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,12 +60,17 @@ class ScoreBoardServiceImplTest {
     @Mock
     private GameConverter gameConverter;
 
-    @InjectMocks
     private ScoreBoardServiceImpl sut;
 
     @Captor
     private ArgumentCaptor<Game> gameCaptor;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(gameRepository.getTeamRegistry()).thenReturn(new TeamRegistry());
+        sut = new ScoreBoardServiceImpl(gameRepository, clock, gameConverter, new ScoreBoardEventBus(Runnable::run));
+    }
+
     @Test
     void shouldStartAGame() {
         //given
@@ -55,16 +79,14 @@ class ScoreBoardServiceImplTest {
         var gameFromRepository = Game.builder().build();
         var gameDto = mockGameDto();
         when(clock.instant()).thenReturn(Instant.MIN);
-        when(gameRepository.existsByTeamName("Poland")).thenReturn(false);
-        when(gameRepository.existsByTeamName("Germany")).thenReturn(false);
-        when(gameRepository.save(any(Game.class))).thenReturn(gameFromRepository);
+        when(gameRepository.saveIfTeamsAvailable(any(Game.class))).thenReturn(Optional.of(gameFromRepository));
         when(gameConverter.toDto(gameFromRepository)).thenReturn(gameDto);
 
         //when
         var result = sut.startGame(homeTeam, awayTeam);
 
         //then
-        verify(gameRepository).save(gameCaptor.capture());
+        verify(gameRepository).saveIfTeamsAvailable(gameCaptor.capture());
         var savedGame = gameCaptor.getValue();
         assertThat(savedGame.getHomeTeam()).isEqualTo(homeTeam);
         assertThat(savedGame.getAwayTeam()).isEqualTo(awayTeam);
@@ -84,9 +106,10 @@ class ScoreBoardServiceImplTest {
     }
 
     @Test
-    void shouldThrowExceptionWhenHomeTeamAlreadyPlaying() {
+    void shouldThrowExceptionWhenTeamAlreadyPlaying() {
         //given
-        when(gameRepository.existsByTeamName("France")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.MIN);
+        when(gameRepository.saveIfTeamsAvailable(any(Game.class))).thenReturn(Optional.empty());
 
         //when
         //then
@@ -96,20 +119,6 @@ class ScoreBoardServiceImplTest {
         );
     }
 
-    @Test
-    void shouldThrowExceptionWhenAwayTeamAlreadyPlaying() {
-        //given
-        when(gameRepository.existsByTeamName("France")).thenReturn(true);
-        when(gameRepository.existsByTeamName("Poland")).thenReturn(false);
-
-        //when
-        //then
-        assertThrows(
-                GameRulesViolationException.class,
-                () -> sut.startGame(new Team("Poland"), new Team("France"))
-        );
-    }
-
     @Test
     void shouldFinishAGame() {
         //given
@@ -146,7 +155,7 @@ class ScoreBoardServiceImplTest {
         var gameDto = mockGameDto();
         var newScore = new Score(1, 0);
         when(gameRepository.findById(gameId)).thenReturn(Optional.of(gameToUpdate));
-        when(gameRepository.save(gameToUpdate)).thenReturn(gameFromRepository);
+        when(gameRepository.save(any(Game.class))).thenReturn(gameFromRepository);
         when(gameConverter.toDto(gameFromRepository)).thenReturn(gameDto);
 
         //when
@@ -156,8 +165,10 @@ class ScoreBoardServiceImplTest {
         verify(gameRepository).save(gameCaptor.capture());
         var updatedGame = gameCaptor.getValue();
         var updatedGameScore = updatedGame.getScore();
+        assertThat(updatedGame.getId()).isEqualTo(gameId);
         assertThat(updatedGameScore.homeTeamScore()).isEqualTo(1);
         assertThat(updatedGameScore.awayTeamScore()).isEqualTo(0);
+        assertThat(gameToUpdate.getScore()).isEqualTo(new Score(0, 0));
         assertThat(result).isEqualTo(gameDto);
     }
 
@@ -227,11 +238,12 @@ class ScoreBoardServiceImplTest {
                 new Team("Denmark"),
                 game4.getScore(),
                 game4.getCreatedAt());
-        when(gameRepository.findAll()).thenReturn(Stream.of(game1, game2, game3, game4));
+        when(gameRepository.findAllInRankOrder()).thenReturn(Stream.of(game4, game3, game2, game1));
         when(gameConverter.toDto(game1)).thenReturn(gameDto1);
         when(gameConverter.toDto(game2)).thenReturn(gameDto2);
         when(gameConverter.toDto(game3)).thenReturn(gameDto3);
         when(gameConverter.toDto(game4)).thenReturn(gameDto4);
+        setUp();
 
         //when
         var result = sut.getSummary();
@@ -240,13 +252,465 @@ class ScoreBoardServiceImplTest {
         assertThat(result).containsExactly(gameDto4, gameDto3, gameDto2, gameDto1);
     }
 
+    @Test
+    void shouldPublishNewSnapshotVersionAfterMutation() {
+        //given
+        var gameId = UUID.randomUUID();
+        var gameDto = mockGameDto();
+        var game = Game.builder().build();
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(game));
+        var initialSnapshot = sut.getSnapshot();
+        when(gameRepository.findAllInRankOrder()).thenReturn(Stream.of(game));
+        when(gameConverter.toDto(game)).thenReturn(gameDto);
+
+        //when
+        sut.finishGame(gameId);
+
+        //then
+        var snapshot = sut.getSnapshot();
+        assertThat(initialSnapshot.version()).isZero();
+        assertThat(snapshot.version()).isEqualTo(1);
+        assertThat(snapshot.games()).containsExactly(gameDto);
+    }
+
+    @Test
+    void shouldReturnTheSameSummaryUntilTheBoardChanges() {
+        //given
+        var firstSummary = sut.getSummary();
+
+        //when
+        var secondSummary = sut.getSummary();
+
+        //then
+        assertThat(secondSummary).isSameAs(firstSummary);
+        assertThat(sut.getSnapshot().version()).isZero();
+        verify(gameRepository, times(1)).findAllInRankOrder();
+    }
+
+    @Test
+    void shouldRebuildSummaryOnlyOnceAfterChange() {
+        //given
+        var gameId = UUID.randomUUID();
+        var gameDto = mockGameDto();
+        var game = Game.builder().id(gameId).build();
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(game));
+        when(gameRepository.findAllInRankOrder()).thenReturn(Stream.of(game));
+        when(gameConverter.toDto(game)).thenReturn(gameDto);
+        sut.finishGame(gameId);
+
+        //when
+        var firstSummary = sut.getSummary();
+        var secondSummary = sut.getSummary();
+
+        //then
+        assertThat(secondSummary).isSameAs(firstSummary).containsExactly(gameDto);
+        verify(gameRepository, times(2)).findAllInRankOrder();
+        assertThat(sut.getSnapshotCacheStats()).isEqualTo(new SnapshotCacheStats(1, 1));
+    }
+
+    @Test
+    void shouldRebuildSummaryOnceWhenManyThreadsReadAfterChange() throws InterruptedException {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = new ScoreBoardServiceImpl(
+                new InMemoryGameRepository(new HashMap<>()),
+                clock,
+                new GameConverter(),
+                new ScoreBoardEventBus(Runnable::run));
+        service.startGame(new Team("Poland"), new Team("Germany"));
+        var start = new CountDownLatch(1);
+        var readers = IntStream.range(0, 8)
+                .mapToObj(i -> new Thread(() -> {
+                    awaitQuietly(start);
+                    service.getSummary();
+                }))
+                .toList();
+        readers.forEach(Thread::start);
+
+        //when
+        start.countDown();
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        //then
+        assertThat(service.getSnapshotCacheStats()).isEqualTo(new SnapshotCacheStats(7, 1));
+    }
+
+    @Test
+    void shouldNotInvalidateSummaryWhenScoreIsUnchanged() {
+        //given
+        var gameId = UUID.randomUUID();
+        var game = Game.builder()
+                .id(gameId)
+                .score(new Score(1, 0))
+                .build();
+        var gameDto = mockGameDto();
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(game));
+        when(gameConverter.toDto(game)).thenReturn(gameDto);
+        var summary = sut.getSummary();
+
+        //when
+        var result = sut.updateScore(gameId, new Score(1, 0));
+
+        //then
+        assertThat(result).isEqualTo(gameDto);
+        assertThat(sut.getSummary()).isSameAs(summary);
+        verify(gameRepository, never()).save(any());
+        assertThat(sut.getSnapshotCacheStats().misses()).isZero();
+    }
+
+    @Test
+    void shouldReturnTopGamesOfTheSummary() {
+        //given
+        var games = mockRankedGames(5);
+        setUp();
+
+        //when
+        var result = sut.getSummary(2);
+
+        //then
+        assertThat(result).containsExactlyElementsOf(games.subList(0, 2));
+    }
+
+    @Test
+    void shouldReturnPageOfTheSummary() {
+        //given
+        var games = mockRankedGames(5);
+        setUp();
+
+        //when
+        var middlePage = sut.getSummary(2, 2);
+        var lastPage = sut.getSummary(4, 2);
+        var pageAfterTheEnd = sut.getSummary(10, 2);
+
+        //then
+        assertThat(middlePage).containsExactlyElementsOf(games.subList(2, 4));
+        assertThat(lastPage).containsExactlyElementsOf(games.subList(4, 5));
+        assertThat(pageAfterTheEnd).isEmpty();
+    }
+
+    @Test
+    void shouldVisitGamesInSummaryOrder() {
+        //given
+        var games = mockRankedGames(3);
+        setUp();
+        var ranks = new ArrayList<Integer>();
+        var visitedGames = new ArrayList<GameDto>();
+
+        //when
+        sut.forEachInRankOrder((rank, game) -> {
+            ranks.add(rank);
+            visitedGames.add(game);
+        });
+
+        //then
+        assertThat(ranks).containsExactly(1, 2, 3);
+        assertThat(visitedGames).containsExactlyElementsOf(games);
+    }
+
+    @Test
+    void shouldFillSummaryBufferAndReuseItWhenBoardShrinks() {
+        //given
+        var games = mockRankedGames(3);
+        setUp();
+        var buffer = new SummaryBuffer(1);
+        sut.readSummary(buffer);
+        var capacity = buffer.capacity();
+        when(gameRepository.findAllInRankOrder()).thenReturn(Stream.empty());
+        setUp();
+
+        //when
+        var filledSize = buffer.size();
+        var filledIds = List.of(buffer.id(0), buffer.id(1), buffer.id(2));
+        sut.readSummary(buffer);
+
+        //then
+        assertThat(filledSize).isEqualTo(3);
+        assertThat(filledIds).containsExactlyElementsOf(games.stream().map(GameDto::id).toList());
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.capacity()).isEqualTo(capacity);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.homeTeamScore(0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideIncorrectPages")
+    void shouldThrowExceptionWhenPageIsIncorrect(int offset, int limit) {
+        //given
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> sut.getSummary(offset, limit));
+    }
+
+    @Test
+    void shouldNotifySubscriberAboutBoardChanges() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH, Instant.EPOCH.plusSeconds(1));
+        var service = new ScoreBoardServiceImpl(
+                new InMemoryGameRepository(new HashMap<>()),
+                clock,
+                new GameConverter(),
+                new ScoreBoardEventBus(Runnable::run));
+        var events = new ArrayList<ScoreBoardEvent>();
+        service.subscribe(events::add);
+        var firstGame = service.startGame(new Team("Poland"), new Team("Germany"));
+        var secondGame = service.startGame(new Team("France"), new Team("Spain"));
+
+        //when
+        service.updateScore(secondGame.id(), new Score(1, 0));
+        service.finishGame(firstGame.id());
+
+        //then
+        assertThat(events).hasSize(4);
+        assertThat(events.get(0)).isEqualTo(new GameStartedEvent(1, firstGame));
+        assertThat(events.get(1)).isEqualTo(new GameStartedEvent(2, secondGame));
+        var scoreChangedEvent = (ScoreChangedEvent) events.get(2);
+        assertThat(scoreChangedEvent.version()).isEqualTo(3);
+        assertThat(scoreChangedEvent.oldScore()).isEqualTo(new Score(0, 0));
+        assertThat(scoreChangedEvent.game().score()).isEqualTo(new Score(1, 0));
+        assertThat(scoreChangedEvent.newRank()).isEqualTo(1);
+        assertThat(scoreChangedEvent.oldRank()).isEqualTo(2);
+        assertThat(events.get(3)).isInstanceOf(GameFinishedEvent.class);
+        assertThat(events.get(3).game().id()).isEqualTo(firstGame.id());
+        assertThat(events.get(3).version()).isEqualTo(4);
+        assertThat(service.getSnapshotCacheStats().misses()).isZero();
+    }
+
+    @Test
+    void shouldServeReadsWhileWriterWaitsForBlockingSubscriber() throws InterruptedException {
+        //given
+        var pendingTasks = new ConcurrentLinkedQueue<Runnable>();
+        var service = new ScoreBoardServiceImpl(
+                new ConcurrentGameRepository(),
+                Clock.systemUTC(),
+                new GameConverter(),
+                new ScoreBoardEventBus(pendingTasks::add));
+        service.subscribe(event -> {
+        }, new SubscriptionConfig(1, OverflowPolicy.BLOCK, false));
+        service.startGame(new Team("Poland"), new Team("Germany"));
+        var writer = new Thread(() -> service.startGame(new Team("France"), new Team("Spain")));
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+
+        //when
+        var summary = service.getSummary();
+        pendingTasks.forEach(Runnable::run);
+        writer.join(10_000);
+
+        //then
+        assertThat(summary).hasSize(2);
+        assertThat(writer.isAlive()).isFalse();
+    }
+
+    @Test
+    void shouldNotCreateEventsWithoutSubscribers() {
+        //given
+        var gameId = UUID.randomUUID();
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(Game.builder().build()));
+
+        //when
+        sut.finishGame(gameId);
+
+        //then
+        verify(gameConverter, never()).toDto(any());
+    }
+
+    private List<GameDto> mockRankedGames(int count) {
+        var games = Stream.generate(() -> Game.builder().id(UUID.randomUUID()).build())
+                .limit(count)
+                .toList();
+        var gameDtos = games.stream()
+                .map(game -> {
+                    var gameDto = mockGameDto();
+                    when(gameConverter.toDto(game)).thenReturn(gameDto);
+                    return gameDto;
+                })
+                .toList();
+        when(gameRepository.findAllInRankOrder()).thenReturn(games.stream());
+        return gameDtos;
+    }
+
+    @Test
+    void shouldStartAllGamesOfBatchAsOneChange() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = newServiceWithRepository();
+        var teams = List.of(
+                new TeamPair(new Team("Poland"), new Team("Germany")),
+                new TeamPair(new Team("France"), new Team("Spain"))
+        );
+
+        //when
+        var results = service.startGames(teams);
+
+        //then
+        assertThat(results).allMatch(BatchItemResult::isSuccess);
+        assertThat(results).extracting(result -> result.game().homeTeam())
+                .containsExactly(new Team("Poland"), new Team("France"));
+        assertThat(service.getSnapshot().version()).isEqualTo(1);
+        assertThat(service.getSummary()).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenTeamPlaysTwice() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = newServiceWithRepository();
+        var teams = List.of(
+                new TeamPair(new Team("Poland"), new Team("Germany")),
+                new TeamPair(new Team("France"), new Team("Poland"))
+        );
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> service.startGames(teams));
+        assertThat(service.getSummary()).isEmpty();
+    }
+
+    @Test
+    void shouldReportPerItemResultsOfBatchStart() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = newServiceWithRepository();
+        service.startGame(new Team("Italy"), new Team("Austria"));
+        var teams = List.of(
+                new TeamPair(new Team("Poland"), new Team("Germany")),
+                new TeamPair(new Team("France"), new Team("Poland")),
+                new TeamPair(new Team("Austria"), new Team("Spain")),
+                new TeamPair(new Team("Portugal"), new Team("Portugal"))
+        );
+
+        //when
+        var results = service.startGames(teams, BatchMode.PER_ITEM);
+
+        //then
+        assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, false, false, false);
+        assertThat(results.subList(1, 4)).allMatch(result -> result.failure() instanceof GameRulesViolationException);
+        assertThat(service.getSummary()).hasSize(2);
+    }
+
+    @Test
+    void shouldUpdateAllScoresOfBatchOrNone() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = newServiceWithRepository();
+        var firstGame = service.startGame(new Team("Poland"), new Team("Germany"));
+        var secondGame = service.startGame(new Team("France"), new Team("Spain"));
+        var scores = new LinkedHashMap<UUID, Score>();
+        scores.put(secondGame.id(), new Score(2, 0));
+        scores.put(firstGame.id(), new Score(1, 0));
+        var scoresWithMissingGame = new LinkedHashMap<>(scores);
+        scoresWithMissingGame.put(UUID.randomUUID(), new Score(3, 0));
+
+        //when
+        assertThrows(GameNotFoundException.class, () -> service.updateScores(scoresWithMissingGame));
+        var versionAfterRejectedBatch = service.getSnapshot().version();
+        var results = service.updateScores(scores);
+
+        //then
+        assertThat(versionAfterRejectedBatch).isEqualTo(2);
+        assertThat(results.keySet()).containsExactly(secondGame.id(), firstGame.id());
+        assertThat(results.values()).allMatch(BatchItemResult::isSuccess);
+        assertThat(service.getSnapshot().version()).isEqualTo(3);
+        assertThat(service.getSummary()).extracting(GameDto::score).containsExactly(new Score(2, 0), new Score(1, 0));
+    }
+
+    @Test
+    void shouldRejectBatchUpdateWhenGameFinishesBeforeItIsApplied() {
+        //given
+        var firstId = UUID.randomUUID();
+        var secondId = UUID.randomUUID();
+        var first = Game.builder().id(firstId).score(new Score(0, 0)).build();
+        var second = Game.builder().id(secondId).score(new Score(0, 0)).build();
+        when(gameRepository.findById(firstId)).thenReturn(Optional.of(first));
+        when(gameRepository.findById(secondId)).thenReturn(Optional.of(second)).thenReturn(Optional.empty());
+        when(gameRepository.saveAllIfLive(anyList())).thenReturn(false);
+        var scores = new LinkedHashMap<UUID, Score>();
+        scores.put(firstId, new Score(1, 0));
+        scores.put(secondId, new Score(0, 1));
+
+        //when
+        var thrown = assertThrows(GameNotFoundException.class, () -> sut.updateScores(scores));
+
+        //then
+        assertThat(thrown.getMessage()).contains(secondId.toString());
+        verify(gameRepository, never()).save(any());
+        assertThat(sut.getSnapshot().version()).isZero();
+    }
+
+    @Test
+    void shouldReportPerItemResultsOfBatchUpdate() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var service = newServiceWithRepository();
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+        var missingGameId = UUID.randomUUID();
+        var scores = new LinkedHashMap<UUID, Score>();
+        scores.put(missingGameId, new Score(1, 0));
+        scores.put(game.id(), new Score(1, 1));
+
+        //when
+        var results = service.updateScores(scores, BatchMode.PER_ITEM);
+
+        //then
+        assertThat(results.get(missingGameId).failure()).isInstanceOf(GameNotFoundException.class);
+        assertThat(results.get(game.id()).game().score()).isEqualTo(new Score(1, 1));
+    }
+
+    @Test
+    void shouldCompareTeamsByNormalizedNames() {
+        //given
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        var teamRegistry = new TeamRegistry(TeamNameNormalizer.TRIMMED_CASE_INSENSITIVE);
+        var service = new ScoreBoardServiceImpl(
+                new InMemoryGameRepository(new HashMap<>(), teamRegistry),
+                clock,
+                new GameConverter(),
+                new ScoreBoardEventBus(Runnable::run));
+        var game = service.startGame(new Team("Poland"), new Team("Germany"));
+
+        //when
+        //then
+        assertThrows(GameRulesViolationException.class, () -> service.startGame(new Team("Spain"), new Team(" spain")));
+        assertThrows(GameRulesViolationException.class, () -> service.startGame(new Team("POLAND"), new Team("Spain")));
+        assertThat(service.startGame(new Team("france "), new Team("Spain")).homeTeam()).isEqualTo(new Team("france "));
+        assertThat(game.homeTeam()).isEqualTo(new Team("Poland"));
+    }
+
+    private ScoreBoardServiceImpl newServiceWithRepository() {
+        return new ScoreBoardServiceImpl(
+                new InMemoryGameRepository(new HashMap<>()),
+                clock,
+                new GameConverter(),
+                new ScoreBoardEventBus(Runnable::run));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Stream<Arguments> provideIncorrectPages() {
+        return Stream.of(
+                Arguments.of(-1, 10),
+                Arguments.of(0, -1)
+        );
+    }
+
     private static Stream<Arguments> provideIncorrectTeams() {
         return Stream.of(
                 Arguments.of(new Team("Poland"), null),
                 Arguments.of(null, new Team("Poland")),
                 Arguments.of(new Team("Poland"), new Team("Poland")),
                 Arguments.of(new Team(""), new Team("Poland")),
-                Arguments.of(new Team("Poland"), new Team(""))
+                Arguments.of(new Team("Poland"), new Team("")),
+                Arguments.of(new Team("P".repeat(Team.MAX_NAME_BYTES + 1)), new Team("Poland")),
+                Arguments.of(new Team("Poland"), new Team("ó".repeat(Team.MAX_NAME_BYTES / 2 + 1)))
         );
     }
 
@@ -0,0 +1,135 @@
+package org.szymonrysz.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.szymonrysz.event.GameFinishedEvent;
+import org.szymonrysz.event.ScoreBoardListener;
+import org.szymonrysz.event.Subscription;
+import org.szymonrysz.exception.GameNotFoundException;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.dto.GameDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SequencedScoreUpdaterTest {
+
+    @Mock
+    private ScoreBoardService scoreBoardService;
+
+    @Mock
+    private Subscription subscription;
+
+    @Captor
+    private ArgumentCaptor<ScoreBoardListener> listenerCaptor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(scoreBoardService.subscribe(listenerCaptor.capture(), any())).thenReturn(subscription);
+    }
+
+    @Test
+    void shouldDropUpdatesOlderThanTheLastAccepted() throws InterruptedException {
+        //given
+        var gameId = UUID.randomUUID();
+        var sut = new SequencedScoreUpdater(scoreBoardService, Duration.ZERO);
+        sut.updateScore(gameId, 2, new Score(2, 0));
+
+        //when
+        var olderResult = sut.updateScore(gameId, 1, new Score(1, 0));
+        var repeatedResult = sut.updateScore(gameId, 2, new Score(2, 0));
+        sut.close();
+
+        //then
+        assertThat(olderResult).isEqualTo(SequencedUpdateResult.STALE);
+        assertThat(repeatedResult).isEqualTo(SequencedUpdateResult.STALE);
+        verify(scoreBoardService, never()).updateScore(gameId, new Score(1, 0));
+        assertThat(sut.getStats()).isEqualTo(new SequencedUpdateStats(1, 0, 2, 0));
+    }
+
+    @Test
+    void shouldApplyOnlyTheLatestUpdateWithinTheWindow() throws InterruptedException {
+        //given
+        var gameId = UUID.randomUUID();
+        var sut = new SequencedScoreUpdater(scoreBoardService, Duration.ofSeconds(1));
+
+        //when
+        var firstResult = sut.updateScore(gameId, 1, new Score(1, 0));
+        var secondResult = sut.updateScore(gameId, 3, new Score(2, 1));
+        var staleResult = sut.updateScore(gameId, 2, new Score(2, 0));
+        sut.close();
+
+        //then
+        assertThat(firstResult).isEqualTo(SequencedUpdateResult.QUEUED);
+        assertThat(secondResult).isEqualTo(SequencedUpdateResult.COALESCED);
+        assertThat(staleResult).isEqualTo(SequencedUpdateResult.STALE);
+        verify(scoreBoardService).updateScore(gameId, new Score(2, 1));
+        verify(scoreBoardService, never()).updateScore(gameId, new Score(1, 0));
+        assertThat(sut.getStats()).isEqualTo(new SequencedUpdateStats(1, 1, 1, 0));
+    }
+
+    @Test
+    void shouldForgetSequenceOfGameThatDoesNotExist() throws InterruptedException {
+        //given
+        var gameId = UUID.randomUUID();
+        var sut = new SequencedScoreUpdater(scoreBoardService, Duration.ZERO);
+        when(scoreBoardService.updateScore(any(), any())).thenThrow(new GameNotFoundException(gameId));
+
+        //when
+        assertThrows(GameNotFoundException.class, () -> sut.updateScore(gameId, 5, new Score(1, 0)));
+        assertThrows(GameNotFoundException.class, () -> sut.updateScore(gameId, 1, new Score(1, 0)));
+        sut.close();
+
+        //then
+        assertThat(sut.getStats()).isEqualTo(new SequencedUpdateStats(0, 0, 0, 2));
+    }
+
+    @Test
+    void shouldForgetSequenceOfGameFinishedOnTheBoard() throws InterruptedException {
+        //given
+        var gameId = UUID.randomUUID();
+        var sut = new SequencedScoreUpdater(scoreBoardService, Duration.ZERO);
+        sut.updateScore(gameId, 5, new Score(1, 0));
+
+        //when
+        listenerCaptor.getValue().onEvent(new GameFinishedEvent(2, new GameDto(gameId, new Team("Poland"),
+                new Team("Germany"), new Score(1, 0), Instant.EPOCH)));
+        var result = sut.updateScore(gameId, 1, new Score(2, 0));
+        sut.close();
+
+        //then
+        assertThat(result).isEqualTo(SequencedUpdateResult.APPLIED);
+    }
+
+    @Test
+    void shouldRejectUpdatesOnceClosed() throws InterruptedException {
+        //given
+        var gameId = UUID.randomUUID();
+        var sut = new SequencedScoreUpdater(scoreBoardService, Duration.ofSeconds(1));
+        sut.close();
+
+        //when
+        //then
+        assertThrows(RejectedExecutionException.class, () -> sut.updateScore(gameId, 1, new Score(1, 0)));
+        verify(subscription).cancel();
+        verify(scoreBoardService, never()).updateScore(any(), any());
+        assertThat(sut.getStats()).isEqualTo(new SequencedUpdateStats(0, 0, 0, 0));
+    }
+}
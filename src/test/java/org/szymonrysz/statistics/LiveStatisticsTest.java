@@ -0,0 +1,149 @@
+package org.szymonrysz.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.converter.GameConverter;
+import org.szymonrysz.event.ScoreBoardEventBus;
+import org.szymonrysz.model.Score;
+import org.szymonrysz.model.Team;
+import org.szymonrysz.model.TeamPair;
+import org.szymonrysz.model.dto.GameDto;
+import org.szymonrysz.repository.ConcurrentGameRepository;
+import org.szymonrysz.service.ScoreBoardServiceImpl;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveStatisticsTest {
+
+    private final ScoreBoardServiceImpl service = new ScoreBoardServiceImpl(new ConcurrentGameRepository(),
+            Clock.systemUTC(), new GameConverter(), new ScoreBoardEventBus(Runnable::run));
+
+    @Test
+    void shouldUpdateAggregatesOnStartScoreChangeAndFinish() {
+        //given
+        var sut = LiveStatistics.attach(service);
+        var poland = service.startGame(new Team("Poland"), new Team("Germany"));
+        var france = service.startGame(new Team("France"), new Team("Spain"));
+
+        //when
+        service.updateScore(poland.id(), new Score(2, 1));
+        var highest = service.updateScore(france.id(), new Score(3, 1));
+        service.finishGame(poland.id());
+
+        //then
+        var snapshot = sut.getSnapshot();
+        assertThat(snapshot.liveGames()).isEqualTo(1);
+        assertThat(snapshot.liveGoals()).isEqualTo(4);
+        assertThat(snapshot.averageGoalsPerLiveGame()).isEqualTo(4.0);
+        assertThat(snapshot.getHighestScoringGame()).contains(highest);
+        assertThat(snapshot.totalGoals()).isEqualTo(7);
+        assertThat(snapshot.version()).isEqualTo(service.getSnapshot().version());
+    }
+
+    @Test
+    void shouldKeepTeamGoalsAfterTheirGameIsFinishedAndRankTeamsByGoals() {
+        //given
+        var sut = LiveStatistics.attach(service, 2);
+        var poland = service.startGame(new Team("Poland"), new Team("Germany"));
+        service.updateScore(poland.id(), new Score(2, 1));
+        service.finishGame(poland.id());
+        var france = service.startGame(new Team("France"), new Team("Poland"));
+
+        //when
+        service.updateScore(france.id(), new Score(2, 1));
+
+        //then
+        assertThat(sut.goalsOf(new Team("Poland"))).isEqualTo(3);
+        assertThat(sut.goalsOf(new Team("Spain"))).isZero();
+        assertThat(sut.getSnapshot().topTeams()).containsExactly(
+                new TeamGoals(new Team("Poland"), 3),
+                new TeamGoals(new Team("France"), 2));
+    }
+
+    @Test
+    void shouldStartFromTheBoardItIsAttachedTo() {
+        //given
+        var poland = service.startGame(new Team("Poland"), new Team("Germany"));
+        service.updateScore(poland.id(), new Score(1, 1));
+
+        //when
+        var sut = LiveStatistics.attach(service);
+        service.startGame(new Team("France"), new Team("Spain"));
+
+        //then
+        var snapshot = sut.getSnapshot();
+        assertThat(snapshot.liveGames()).isEqualTo(2);
+        assertThat(snapshot.liveGoals()).isEqualTo(2);
+        assertThat(sut.goalsOf(new Team("Germany"))).isEqualTo(1);
+    }
+
+    @Test
+    void shouldApplyEveryEventOfABatch() {
+        //given
+        var sut = LiveStatistics.attach(service);
+        var games = service.startGames(List.of(
+                new TeamPair(new Team("Poland"), new Team("Germany")),
+                new TeamPair(new Team("France"), new Team("Spain"))));
+
+        //when
+        service.updateScores(Map.of(
+                games.get(0).game().id(), new Score(1, 0),
+                games.get(1).game().id(), new Score(0, 2)));
+
+        //then
+        assertThat(sut.getSnapshot().liveGames()).isEqualTo(2);
+        assertThat(sut.getSnapshot().liveGoals()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldMatchFiguresAggregatedFromTheSummary() {
+        //given
+        var sut = LiveStatistics.attach(service);
+        var random = new Random(3);
+        var liveGames = new ArrayList<UUID>();
+
+        //when
+        for (int i = 0; i < 500; i++) {
+            var action = random.nextInt(4);
+            if (action == 0 || liveGames.isEmpty()) {
+                liveGames.add(service.startGame(new Team("Home " + i), new Team("Away " + i)).id());
+            } else if (action == 1) {
+                service.finishGame(liveGames.remove(random.nextInt(liveGames.size())));
+            } else {
+                service.updateScore(liveGames.get(random.nextInt(liveGames.size())),
+                        new Score(random.nextInt(6), random.nextInt(6)));
+            }
+        }
+
+        //then
+        var summary = service.getSummary();
+        var snapshot = sut.getSnapshot();
+        assertThat(snapshot.liveGames()).isEqualTo(summary.size());
+        assertThat(snapshot.liveGoals()).isEqualTo(summary.stream().mapToLong(LiveStatisticsTest::totalOf).sum());
+        assertThat(snapshot.getHighestScoringGame()).isEqualTo(summary.stream().findFirst());
+    }
+
+    @Test
+    void shouldStopUpdatingOnceClosed() {
+        //given
+        var sut = LiveStatistics.attach(service);
+        service.startGame(new Team("Poland"), new Team("Germany"));
+
+        //when
+        sut.close();
+        service.startGame(new Team("France"), new Team("Spain"));
+
+        //then
+        assertThat(sut.getSnapshot().liveGames()).isEqualTo(1);
+    }
+
+    private static long totalOf(GameDto game) {
+        return game.score().homeTeamScore() + game.score().awayTeamScore();
+    }
+}
@@ -0,0 +1,90 @@
+package org.szymonrysz.team;
+
+import org.junit.jupiter.api.Test;
+import org.szymonrysz.model.Team;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TeamRegistryTest {
+
+    @Test
+    void shouldHandOutDenseIdsOncePerTeam() {
+        //given
+        var sut = new TeamRegistry();
+
+        //when
+        var polandId = sut.register("Poland");
+        var germanyId = sut.register("Germany");
+        var polandAgainId = sut.register("Poland");
+
+        //then
+        assertThat(polandId).isZero();
+        assertThat(germanyId).isEqualTo(1);
+        assertThat(polandAgainId).isEqualTo(polandId);
+        assertThat(sut.findId("Spain")).isEqualTo(TeamRegistry.NOT_REGISTERED);
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTreatNamesEqualAfterNormalizationAsOneTeam() {
+        //given
+        var sut = new TeamRegistry(TeamNameNormalizer.TRIMMED_CASE_INSENSITIVE);
+        var poland = sut.teamOf(sut.register("Poland"));
+
+        //when
+        var result = sut.canonical(new Team("  POLAND "));
+
+        //then
+        assertThat(result).isSameAs(poland);
+        assertThat(sut.findId("poland")).isEqualTo(sut.findId("Poland"));
+        assertThat(sut.isSameTeam("Poland", " poland")).isTrue();
+        assertThat(sut.isSameTeam("Poland", "Germany")).isFalse();
+    }
+
+    @Test
+    void shouldNotRegisterTeamsWhileLookingThemUp() {
+        //given
+        var sut = new TeamRegistry();
+        var spain = new Team("Spain");
+
+        //when
+        var result = sut.canonical(spain);
+
+        //then
+        assertThat(result).isSameAs(spain);
+        assertThat(sut.isSameTeam("Spain", "Germany")).isFalse();
+        assertThat(sut.findId("Spain")).isEqualTo(TeamRegistry.NOT_REGISTERED);
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void shouldRejectUnknownTeamId() {
+        //given
+        var sut = new TeamRegistry();
+
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> sut.teamOf(0));
+    }
+
+    @Test
+    void shouldAssignUniqueIdsWhenRegisteringConcurrently() {
+        //given
+        var sut = new TeamRegistry();
+
+        //when
+        IntStream.range(0, 10_000)
+                .parallel()
+                .forEach(i -> sut.register("Team " + i % 1_000));
+
+        //then
+        assertThat(sut.size()).isEqualTo(1_000);
+        assertThat(IntStream.range(0, 1_000).map(i -> sut.findId("Team " + i)))
+                .doesNotHaveDuplicates()
+                .allMatch(id -> id >= 0 && id < 1_000);
+        assertThat(IntStream.range(0, 1_000)).allMatch(id -> sut.findId(sut.teamOf(id).name()) == id);
+    }
+}